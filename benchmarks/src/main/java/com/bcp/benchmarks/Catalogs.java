@@ -0,0 +1,75 @@
+package com.bcp.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Generador de catálogos deterministas para los benchmarks.
+ * Los nombres y categorías se toman de un conjunto pequeño para que el costo
+ * en memoria lo dominen los productos y sus precios, como en los ejemplos.
+ */
+public final class Catalogs {
+
+    public static final String[] NAMES = {
+        "Laptop", "Mouse", "Keyboard", "Monitor", "Headphones", "Tablet",
+        "Coffee", "Tea", "Juice", "Pizza", "Burger", "Salad"
+    };
+
+    public static final String[] CATEGORIES = {
+        "Electrónica", "Electrónica", "Electrónica", "Electrónica", "Electrónica", "Electrónica",
+        "Bebida", "Bebida", "Bebida", "Comida", "Comida", "Comida"
+    };
+
+    private static final long SEED = 42L;
+
+    private Catalogs() {
+    }
+
+    /**
+     * Precios en centavos entre 0.01 y 1500.00, reproducibles entre ejecuciones
+     */
+    public static long[] priceCents(int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        long[] cents = new long[size];
+        for (int i = 0; i < size; i++) {
+            cents[i] = 1 + random.nextLong(150_000);
+        }
+        return cents;
+    }
+
+    /**
+     * Crea un catálogo de tamaño fijo; la fábrica recibe índice, nombre, categoría y precio
+     */
+    public static <T> List<T> generate(int size, Factory<T> factory) {
+        long[] cents = priceCents(size);
+        List<T> catalog = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int slot = i % NAMES.length;
+            catalog.add(factory.create(i, NAMES[slot], CATEGORIES[slot], BigDecimal.valueOf(cents[i], 2)));
+        }
+        return catalog;
+    }
+
+    /**
+     * Variante con nombres únicos para pipelines que usan el nombre como clave
+     */
+    public static <T> List<T> generateUnique(int size, Factory<T> factory) {
+        return generate(size, (i, name, category, price) -> factory.create(i, name + "-" + i, category, price));
+    }
+
+    public static <T, R> List<R> map(List<T> catalog, Function<T, R> mapper) {
+        List<R> mapped = new ArrayList<>(catalog.size());
+        for (T item : catalog) {
+            mapped.add(mapper.apply(item));
+        }
+        return mapped;
+    }
+
+    @FunctionalInterface
+    public interface Factory<T> {
+        T create(int index, String name, String category, BigDecimal price);
+    }
+}
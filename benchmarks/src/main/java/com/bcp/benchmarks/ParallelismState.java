@@ -0,0 +1,42 @@
+package com.bcp.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Estado compartido que fija el número de hilos de los pipelines.
+ * parallelism = 0 ejecuta el stream secuencial en el hilo del benchmark.
+ */
+@State(Scope.Benchmark)
+public class ParallelismState {
+
+    @Param({"0", "1", "2", "4", "8", "16"})
+    public int parallelism;
+
+    public ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = Pools.create(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Pools.shutdown(pool);
+    }
+
+    public boolean isSequential() {
+        return parallelism == Pools.SEQUENTIAL;
+    }
+
+    public <T> Stream<T> configure(Stream<T> stream) {
+        return isSequential() ? stream.sequential() : stream.parallel();
+    }
+}
@@ -0,0 +1,42 @@
+package com.bcp.benchmarks;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta pipelines paralelos dentro de un ForkJoinPool con un número fijo de hilos.
+ * Un stream paralelo invocado desde un hilo del pool usa ese pool en lugar del común,
+ * lo que permite variar el paralelismo sin tocar java.util.concurrent.ForkJoinPool.common.parallelism.
+ */
+public final class Pools {
+
+    /**
+     * Valor del parámetro de paralelismo que indica un stream secuencial
+     */
+    public static final int SEQUENTIAL = 0;
+
+    private Pools() {
+    }
+
+    public static ForkJoinPool create(int parallelism) {
+        return parallelism == SEQUENTIAL ? null : new ForkJoinPool(parallelism);
+    }
+
+    public static <T> T run(ForkJoinPool pool, Supplier<T> task) {
+        return pool == null ? task.get() : pool.submit(task::get).join();
+    }
+
+    public static void execute(ForkJoinPool pool, Runnable task) {
+        if (pool == null) {
+            task.run();
+        } else {
+            pool.submit(task).join();
+        }
+    }
+
+    public static void shutdown(ForkJoinPool pool) {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+}
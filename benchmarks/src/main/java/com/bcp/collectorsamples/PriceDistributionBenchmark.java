@@ -0,0 +1,162 @@
+package com.bcp.collectorsamples;
+
+import com.bcp.benchmarks.Catalogs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+
+/**
+ * Mediana y p99 de los precios: ordenar todos los precios contra PriceDistribution (sketch KLL),
+ * para todo el catálogo, por categoría y sobre un double[] de precios log-normales sin boxing.
+ * Al terminar cada tamaño se imprime el error en rango del sketch para p50, p95 y p99.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class PriceDistributionBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    private List<Product> catalog;
+    private double[] prices;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = Catalogs.generate(size, (i, name, category, price) -> new Product(name, price, category));
+        SplittableRandom random = new SplittableRandom(42);
+        prices = new double[size];
+        for (int i = 0; i < size; i++) {
+            prices[i] = Math.round(Math.exp(3 + random.nextGaussian()) * 100) / 100.0;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void printAccuracy() {
+        PriceDistribution sketch = sketchOf(Arrays.stream(prices).parallel());
+        double[] sorted = prices.clone();
+        Arrays.sort(sorted);
+        StringBuilder line = new StringBuilder(String.format("%nError en rango con %d precios (sketch de %d valores):",
+                size, sketch.retained()));
+        for (double q : new double[]{0.5, 0.95, 0.99}) {
+            double rankError = Math.abs(rankOf(sorted, sketch.quantile(q)) - q);
+            line.append(String.format(" p%.0f %.3f%%", q * 100, rankError * 100));
+        }
+        line.append(String.format(" (esperado ±%.2f%%)", sketch.normalizedRankError() * 100));
+        System.out.println(line);
+    }
+
+    @Benchmark
+    public double sortedMedianAndP99() {
+        double[] prices = catalog.stream().mapToDouble(p -> p.getPrice().doubleValue()).sorted().toArray();
+        return prices[(prices.length - 1) / 2] + prices[(int) Math.floor(0.99 * (prices.length - 1))];
+    }
+
+    @Benchmark
+    public double sketchMedianAndP99() {
+        PriceDistribution distribution = catalog.stream().collect(PriceDistribution.ofPrices());
+        return distribution.median() + distribution.quantile(0.99);
+    }
+
+    @Benchmark
+    public double sortedMedianAndP99Parallel() {
+        double[] prices = catalog.parallelStream().mapToDouble(p -> p.getPrice().doubleValue()).sorted().toArray();
+        return prices[(prices.length - 1) / 2] + prices[(int) Math.floor(0.99 * (prices.length - 1))];
+    }
+
+    @Benchmark
+    public double sketchMedianAndP99Parallel() {
+        PriceDistribution distribution = catalog.parallelStream().collect(PriceDistribution.ofPrices());
+        return distribution.median() + distribution.quantile(0.99);
+    }
+
+    @Benchmark
+    public Map<String, Double> sortedMedianPerCategory() {
+        return catalog.stream().collect(Collectors.groupingBy(Product::getCategory,
+                Collectors.collectingAndThen(Collectors.toList(), products -> {
+                    double[] prices = products.stream().mapToDouble(p -> p.getPrice().doubleValue()).toArray();
+                    Arrays.sort(prices);
+                    return prices[(prices.length - 1) / 2];
+                })));
+    }
+
+    @Benchmark
+    public Map<String, Double> sketchMedianPerCategory() {
+        return catalog.stream().collect(Collectors.groupingBy(Product::getCategory,
+                Collectors.collectingAndThen(PriceDistribution.ofPrices(), PriceDistribution::median)));
+    }
+
+    @Benchmark
+    public double sortedArrayMedianAndP99() {
+        double[] sorted = prices.clone();
+        Arrays.sort(sorted);
+        return sorted[(sorted.length - 1) / 2] + sorted[(int) Math.floor(0.99 * (sorted.length - 1))];
+    }
+
+    @Benchmark
+    public double sketchArrayMedianAndP99() {
+        PriceDistribution distribution = sketchOf(Arrays.stream(prices));
+        return distribution.median() + distribution.quantile(0.99);
+    }
+
+    @Benchmark
+    public double sortedArrayMedianAndP99Parallel() {
+        double[] sorted = prices.clone();
+        Arrays.parallelSort(sorted);
+        return sorted[(sorted.length - 1) / 2] + sorted[(int) Math.floor(0.99 * (sorted.length - 1))];
+    }
+
+    @Benchmark
+    public double sketchArrayMedianAndP99Parallel() {
+        PriceDistribution distribution = sketchOf(Arrays.stream(prices).parallel());
+        return distribution.median() + distribution.quantile(0.99);
+    }
+
+    // DoubleStream.collect acumula el double directo en el sketch, sin boxed()
+    private static PriceDistribution sketchOf(DoubleStream prices) {
+        return prices.collect(() -> new KllSketch(KllSketch.DEFAULT_K), KllSketch::add, KllSketch::merge)
+                .toDistribution();
+    }
+
+    // Posición real de value entre los valores ordenados (la mitad de los iguales cuenta como debajo)
+    private static double rankOf(double[] sorted, double value) {
+        int below = lowerBound(sorted, value);
+        int equal = lowerBound(sorted, Math.nextUp(value)) - below;
+        return (below + equal / 2.0) / sorted.length;
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,92 @@
+package com.bcp.columnar;
+
+import com.bcp.benchmarks.Catalogs;
+import com.bcp.partitioninggrouping.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Consultas de PartitioningGroupingExample sobre List<Product> contra ProductTable
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@State(Scope.Benchmark)
+public class ProductTableBenchmark {
+
+    private static final BigDecimal THRESHOLD = BigDecimal.valueOf(100);
+    private static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    private List<Product> catalog;
+    private ProductTable table;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = Catalogs.generate(size, (i, name, category, price) ->
+                new Product(name, price, category, TODAY.plusDays(i % 30)));
+        table = ProductTable.from(catalog,
+                Product::getName, Product::getPrice, Product::getCategory, Product::getBestBefore);
+    }
+
+    @Benchmark
+    public Map<String, Double> listSumByCategory() {
+        return catalog.stream()
+                .collect(Collectors.groupingBy(Product::getCategory,
+                        Collectors.summingDouble(p -> p.getPrice().doubleValue())));
+    }
+
+    @Benchmark
+    public CategoryAggregates tableGroupByCategory() {
+        return table.groupByCategory();
+    }
+
+    @Benchmark
+    public CategoryAggregates tableGroupByCategoryParallel() {
+        return table.groupByCategoryParallel();
+    }
+
+    @Benchmark
+    public Map<Boolean, List<Product>> listPartitionByPrice() {
+        return catalog.stream()
+                .collect(Collectors.partitioningBy(p -> p.getPrice().compareTo(THRESHOLD) > 0));
+    }
+
+    @Benchmark
+    public Partition tablePartitionByPrice() {
+        return table.partitionByPriceAbove(THRESHOLD);
+    }
+
+    @Benchmark
+    public Map<Boolean, Long> listCountExpiring() {
+        LocalDate limit = TODAY.plusDays(7);
+        return catalog.stream()
+                .collect(Collectors.partitioningBy(p -> p.getBestBefore().isBefore(limit), Collectors.counting()));
+    }
+
+    @Benchmark
+    public int tableCountExpiring() {
+        return table.whereExpiresBefore(TODAY.plusDays(7)).size();
+    }
+}
@@ -0,0 +1,112 @@
+package com.bcp.concurrentcollection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mezcla de lecturas (recorrer la lista) y ráfagas de escritura (batch altas + una baja masiva)
+ * sobre CopyOnWriteArrayList y BatchingCopyOnWriteList.
+ * writePercent fija la proporción de operaciones que son ráfagas de escritura.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BatchingCopyOnWriteListBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Lists {
+
+        @Param({"100", "10000"})
+        public int size;
+
+        @Param({"1", "100"})
+        public int batch;
+
+        @Param({"1", "10", "50"})
+        public int writePercent;
+
+        List<Product> base;
+        Product[] burst;
+        CopyOnWriteArrayList<Product> copyOnWrite;
+        BatchingCopyOnWriteList<Product> batching;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            base = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                base.add(new Food("Item_" + i));
+            }
+            // Las ráfagas usan Drink para poder quitarlas con un solo removeIf
+            burst = new Product[batch];
+            for (int i = 0; i < batch; i++) {
+                burst[i] = new Drink("Burst_" + i);
+            }
+            copyOnWrite = new CopyOnWriteArrayList<>(base);
+            batching = new BatchingCopyOnWriteList<>(base);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Dice {
+
+        private final SplittableRandom random = new SplittableRandom();
+
+        boolean write(Lists lists) {
+            return random.nextInt(100) < lists.writePercent;
+        }
+    }
+
+    @Benchmark
+    public int copyOnWriteArrayList(Lists lists, Dice dice) {
+        CopyOnWriteArrayList<Product> list = lists.copyOnWrite;
+        if (dice.write(lists)) {
+            for (Product product : lists.burst) {
+                list.add(product);
+            }
+            list.removeIf(p -> p instanceof Drink);
+            return list.size();
+        }
+        return read(list);
+    }
+
+    @Benchmark
+    public int batchingCopyOnWriteList(Lists lists, Dice dice) {
+        BatchingCopyOnWriteList<Product> list = lists.batching;
+        if (dice.write(lists)) {
+            list.mutate(l -> {
+                for (Product product : lists.burst) {
+                    l.add(product);
+                }
+            });
+            list.removeIf(p -> p instanceof Drink);
+            return list.size();
+        }
+        return read(list);
+    }
+
+    private static int read(List<Product> list) {
+        int length = 0;
+        for (Product product : list) {
+            length += product.getName().length();
+        }
+        return length;
+    }
+}
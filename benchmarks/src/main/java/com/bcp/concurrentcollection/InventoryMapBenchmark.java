@@ -0,0 +1,109 @@
+package com.bcp.concurrentcollection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ajustes de stock concurrentes: synchronizedMap, ConcurrentHashMap.merge e InventoryMap.
+ * El número de hilos se elige con la opción -t de JMH (ver benchmarks/README.md).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class InventoryMapBenchmark {
+
+    private static final int INITIAL_STOCK = 1_000_000_000;
+
+    @State(Scope.Benchmark)
+    public static class Inventories {
+
+        /**
+         * Potencia de dos: Operation elige el producto con una máscara
+         */
+        @Param({"16", "1024"})
+        public int products;
+
+        Product[] catalog;
+        Map<Product, Integer> synchronizedMap;
+        ConcurrentHashMap<Product, Long> concurrentMap;
+        InventoryMap<Product> inventoryMap;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            catalog = new Product[products];
+            synchronizedMap = Collections.synchronizedMap(new HashMap<>());
+            concurrentMap = new ConcurrentHashMap<>();
+            inventoryMap = new InventoryMap<>();
+            for (int i = 0; i < products; i++) {
+                catalog[i] = i % 2 == 0 ? new Food("Item_" + i) : new Drink("Item_" + i);
+                synchronizedMap.put(catalog[i], INITIAL_STOCK);
+                concurrentMap.put(catalog[i], (long) INITIAL_STOCK);
+                inventoryMap.adjust(catalog[i], INITIAL_STOCK);
+            }
+        }
+    }
+
+    /**
+     * Secuencia de operaciones por hilo sin Level.Invocation (su costo es comparable al de la operación):
+     * recorre los productos con un salto impar y alterna +1 / -1
+     */
+    @State(Scope.Thread)
+    public static class Operation {
+
+        private int cursor = new SplittableRandom().nextInt();
+        private int sequence;
+
+        Product product(Inventories inventories) {
+            cursor += 0x9E3779B9;
+            return inventories.catalog[(cursor >>> 16) & (inventories.catalog.length - 1)];
+        }
+
+        int delta() {
+            return (sequence++ & 1) == 0 ? 1 : -1;
+        }
+    }
+
+    @Benchmark
+    public Integer synchronizedMapMerge(Inventories inventories, Operation op) {
+        return inventories.synchronizedMap.merge(op.product(inventories), op.delta(), Integer::sum);
+    }
+
+    @Benchmark
+    public Long concurrentHashMapMerge(Inventories inventories, Operation op) {
+        return inventories.concurrentMap.merge(op.product(inventories), (long) op.delta(), Long::sum);
+    }
+
+    @Benchmark
+    public long inventoryMapAdjust(Inventories inventories, Operation op) {
+        return inventories.inventoryMap.adjust(op.product(inventories), op.delta());
+    }
+
+    @Benchmark
+    public int synchronizedMapSize(Inventories inventories) {
+        return inventories.synchronizedMap.size();
+    }
+
+    @Benchmark
+    public long inventoryMapSize(Inventories inventories) {
+        return inventories.inventoryMap.size();
+    }
+}
@@ -0,0 +1,86 @@
+package com.bcp.concurrentstreams;
+
+import com.bcp.benchmarks.Catalogs;
+import com.bcp.benchmarks.Pools;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * groupingBy / groupingByConcurrent por categoría contra CategoryCollectors en streams paralelos
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class CategoryCollectorsBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    @Param({"1", "4", "16", "32"})
+    public int parallelism;
+
+    private List<Product> catalog;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = Catalogs.generate(size, (i, name, category, price) -> new Product(name, price, category));
+        pool = Pools.create(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Pools.shutdown(pool);
+    }
+
+    @Benchmark
+    public Map<String, Long> groupingByCounting() {
+        return Pools.run(pool, () -> catalog.parallelStream()
+                .collect(Collectors.groupingBy(Product::getCategory, Collectors.counting())));
+    }
+
+    @Benchmark
+    public Map<String, Long> groupingByConcurrentCounting() {
+        return Pools.run(pool, () -> catalog.parallelStream()
+                .collect(Collectors.groupingByConcurrent(Product::getCategory, Collectors.counting())));
+    }
+
+    @Benchmark
+    public Map<String, Long> categoryCounting() {
+        return Pools.run(pool, () -> catalog.parallelStream()
+                .collect(CategoryCollectors.counting(Product::getCategory)));
+    }
+
+    @Benchmark
+    public Map<String, Double> groupingByConcurrentSummingDouble() {
+        return Pools.run(pool, () -> catalog.parallelStream()
+                .collect(Collectors.groupingByConcurrent(Product::getCategory,
+                        Collectors.summingDouble(p -> p.getPrice().doubleValue()))));
+    }
+
+    @Benchmark
+    public Map<String, Double> categorySummingDouble() {
+        return Pools.run(pool, () -> catalog.parallelStream()
+                .collect(CategoryCollectors.summingDouble(Product::getCategory, p -> p.getPrice().doubleValue())));
+    }
+}
@@ -0,0 +1,84 @@
+package com.bcp.concurrentstreams;
+
+import com.bcp.benchmarks.Catalogs;
+import com.bcp.benchmarks.ParallelismState;
+import com.bcp.benchmarks.Pools;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Reproduce los pipelines de ConcurrentStreamsExample con JMH
+ * (map(getPrice), toConcurrentMap, groupingByConcurrent, summingDouble)
+ * para encontrar el punto real en que el stream paralelo supera al secuencial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ConcurrentStreamsBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class CatalogState {
+
+        @Param({"10", "1000", "100000", "10000000"})
+        public int size;
+
+        public List<Product> catalog;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            catalog = Catalogs.generateUnique(size, (i, name, category, price) -> new Product(name, price, category));
+        }
+    }
+
+    @Benchmark
+    public List<BigDecimal> mapPrices(CatalogState state, ParallelismState threads) {
+        return Pools.run(threads.pool, () -> threads.configure(state.catalog.stream())
+                .map(p -> p.getPrice())
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> toConcurrentMapByName(CatalogState state, ParallelismState threads) {
+        return Pools.run(threads.pool, () -> threads.configure(state.catalog.stream())
+                .collect(Collectors.toConcurrentMap(p -> p.getName(), p -> p.getPrice())));
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> toConcurrentMapSumByCategory(CatalogState state, ParallelismState threads) {
+        return Pools.run(threads.pool, () -> threads.configure(state.catalog.stream())
+                .collect(Collectors.toConcurrentMap(
+                        p -> p.getCategory(),
+                        p -> p.getPrice(),
+                        (existing, replacement) -> existing.add(replacement))));
+    }
+
+    @Benchmark
+    public Map<String, List<Product>> groupingByConcurrent(CatalogState state, ParallelismState threads) {
+        return Pools.run(threads.pool, () -> threads.configure(state.catalog.stream())
+                .collect(Collectors.groupingByConcurrent(p -> p.getCategory())));
+    }
+
+    @Benchmark
+    public double summingDouble(CatalogState state, ParallelismState threads) {
+        return Pools.run(threads.pool, () -> threads.configure(state.catalog.stream())
+                .collect(Collectors.summingDouble(p -> p.getPrice().doubleValue())));
+    }
+}
@@ -0,0 +1,90 @@
+package com.bcp.concurrentstreams;
+
+import com.bcp.benchmarks.Catalogs;
+import com.bcp.benchmarks.Pools;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Análisis por categoría de ConcurrentStreamsExample: toList() + un stream por estadística
+ * contra PriceStatistics en una sola pasada
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class PriceStatisticsBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    @Param({"1", "4", "16"})
+    public int parallelism;
+
+    private List<Product> catalog;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = Catalogs.generate(size, (i, name, category, price) -> new Product(name, price, category));
+        pool = Pools.create(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Pools.shutdown(pool);
+    }
+
+    @Benchmark
+    public Map<String, Map<String, Object>> listThenStreams() {
+        return Pools.run(pool, () -> catalog.parallelStream()
+                .collect(Collectors.groupingByConcurrent(Product::getCategory,
+                        Collectors.collectingAndThen(Collectors.toList(), products -> {
+                            Map<String, Object> stats = new ConcurrentHashMap<>();
+                            stats.put("count", products.size());
+                            stats.put("totalPrice", products.stream()
+                                    .mapToDouble(p -> p.getPrice().doubleValue()).sum());
+                            stats.put("avgPrice", products.stream()
+                                    .mapToDouble(p -> p.getPrice().doubleValue()).average().orElse(0.0));
+                            return stats;
+                        }))));
+    }
+
+    @Benchmark
+    public Map<String, PriceStatistics> groupingByConcurrentStatistics() {
+        return Pools.run(pool, () -> catalog.parallelStream()
+                .collect(Collectors.groupingByConcurrent(Product::getCategory, PriceStatistics.ofPrices())));
+    }
+
+    @Benchmark
+    public Map<String, PriceStatistics> groupingByStatistics() {
+        return Pools.run(pool, () -> catalog.parallelStream()
+                .collect(Collectors.groupingBy(Product::getCategory, PriceStatistics.ofPrices())));
+    }
+
+    @Benchmark
+    public Map<String, PriceStatistics> groupingByStatisticsWithPercentiles() {
+        return Pools.run(pool, () -> catalog.parallelStream()
+                .collect(Collectors.groupingBy(Product::getCategory, PriceStatistics.ofPrices(0.01))));
+    }
+}
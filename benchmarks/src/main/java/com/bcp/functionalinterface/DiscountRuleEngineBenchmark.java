@@ -0,0 +1,106 @@
+package com.bcp.functionalinterface;
+
+import com.bcp.benchmarks.Catalogs;
+import com.bcp.functionalinterface.CustomFunctionalInterfaces.DiscountCalculator;
+import com.bcp.functionalinterface.CustomFunctionalInterfaces.ProductValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara los bucles separados de CustomFunctionalInterfaces (un recorrido por validador y
+ * por descuento) con DiscountRuleEngine en una sola pasada, secuencial y paralelo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class DiscountRuleEngineBenchmark {
+
+    private static final BigDecimal EXPENSIVE = BigDecimal.valueOf(100);
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private List<Product> catalog;
+    private ProductValidator nameValidator;
+    private ProductValidator expensiveValidator;
+    private DiscountCalculator vipDiscount;
+    private DiscountCalculator bulkDiscount;
+    private DiscountCalculator seasonalDiscount;
+    private DiscountRuleEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = Catalogs.generate(size, (i, name, category, price) -> new Product(name, price));
+        nameValidator = product -> product.getName().length() > 5;
+        expensiveValidator = product -> product.getPrice().compareTo(BigDecimal.valueOf(100)) > 0;
+        vipDiscount = product -> product.getPrice().multiply(BigDecimal.valueOf(0.15));
+        bulkDiscount = product -> product.getPrice().multiply(BigDecimal.valueOf(0.20));
+        seasonalDiscount = product -> product.getPrice().multiply(BigDecimal.valueOf(0.25));
+        engine = DiscountRuleEngine.builder()
+                .validator("nombre-largo", nameValidator)
+                .percentOffAbove("vip", 10, EXPENSIVE, 0.15)
+                .percentOff("bulk", 5, 0.20)
+                .percentOff("seasonal", 1, 0.25)
+                .policy(DiscountRuleEngine.Policy.BEST_DISCOUNT)
+                .build();
+    }
+
+    @Benchmark
+    public BigDecimal separateLoops() {
+        // Un recorrido por interfaz, como en el demo: validar, y luego cada descuento por separado
+        boolean[] valid = new boolean[catalog.size()];
+        for (int i = 0; i < valid.length; i++) {
+            valid[i] = nameValidator.isValid(catalog.get(i));
+        }
+        BigDecimal[] best = new BigDecimal[catalog.size()];
+        for (int i = 0; i < best.length; i++) {
+            Product product = catalog.get(i);
+            best[i] = valid[i] && expensiveValidator.isValid(product)
+                    ? vipDiscount.calculateDiscount(product) : BigDecimal.ZERO;
+        }
+        for (DiscountCalculator calculator : List.of(bulkDiscount, seasonalDiscount)) {
+            for (int i = 0; i < best.length; i++) {
+                if (valid[i]) {
+                    best[i] = best[i].max(calculator.calculateDiscount(catalog.get(i)));
+                }
+            }
+        }
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal discount : best) {
+            total = total.add(discount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal engineSequential() {
+        return engine.totalDiscount(catalog, false);
+    }
+
+    @Benchmark
+    public BigDecimal engineParallel() {
+        return engine.totalDiscount(catalog, true);
+    }
+
+    @Benchmark
+    public List<DiscountRuleEngine.Decision> engineDecisionsParallel() {
+        return engine.evaluateAll(catalog, true);
+    }
+}
@@ -0,0 +1,69 @@
+package com.bcp.idgen;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generación concurrente de ids: contador con synchronized, AtomicLong.incrementAndGet,
+ * BlockIdAllocator y TimeOrderedIdGenerator.
+ * El número de hilos productores se elige con la opción -t de JMH (ver benchmarks/README.md).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class IdGeneratorBenchmark {
+
+    @Param({"64", "1024"})
+    public int blockSize;
+
+    private final Object lock = new Object();
+    private long synchronizedCounter;
+    private AtomicLong atomicCounter;
+    private BlockIdAllocator blockAllocator;
+    private TimeOrderedIdGenerator timeOrdered;
+
+    @Setup
+    public void setUp() {
+        synchronizedCounter = 0;
+        atomicCounter = new AtomicLong();
+        blockAllocator = new BlockIdAllocator(1, blockSize);
+        timeOrdered = new TimeOrderedIdGenerator(1);
+    }
+
+    @Benchmark
+    public long synchronizedIncrement() {
+        synchronized (lock) {
+            return ++synchronizedCounter;
+        }
+    }
+
+    @Benchmark
+    public long atomicIncrement() {
+        return atomicCounter.incrementAndGet();
+    }
+
+    @Benchmark
+    public long blockAllocator() {
+        return blockAllocator.nextId();
+    }
+
+    @Benchmark
+    public long timeOrdered() {
+        return timeOrdered.nextId();
+    }
+}
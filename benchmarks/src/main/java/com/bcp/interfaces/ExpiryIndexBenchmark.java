@@ -0,0 +1,90 @@
+package com.bcp.interfaces;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * "Qué vence en 7 días" sobre size productos con vencimientos repartidos en un año:
+ * partitioningBy recorriendo todo contra ExpiryIndex, más el costo de un cambio de stock
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ExpiryIndexBenchmark {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+
+    @Param({"10000000"})
+    public int size;
+
+    private List<Food> stock;
+    private ExpiryIndex<Food> index;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDate[] days = new LocalDate[365];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = TODAY.plusDays(i);
+        }
+        BigDecimal price = BigDecimal.valueOf(2.50);
+        SplittableRandom seed = new SplittableRandom(42);
+        stock = new ArrayList<>(size);
+        index = new ExpiryIndex<>(Food::getBestBefore, TODAY);
+        for (int i = 0; i < size; i++) {
+            Food food = new Food("food-" + (i % 1000), price, days[seed.nextInt(days.length)]);
+            stock.add(food);
+            index.add(food);
+        }
+        random = new SplittableRandom(7);
+    }
+
+    @Benchmark
+    public Map<Boolean, List<Food>> fullScanPartition() {
+        LocalDate limit = TODAY.plusDays(7);
+        return stock.stream().collect(Collectors.partitioningBy(p -> p.getBestBefore().isBefore(limit)));
+    }
+
+    @Benchmark
+    public List<Food> fullScanFilter() {
+        LocalDate limit = TODAY.plusDays(7);
+        return stock.stream().filter(p -> p.getBestBefore().isBefore(limit)).toList();
+    }
+
+    @Benchmark
+    public List<Food> indexExpiringBefore() {
+        return index.expiringBefore(TODAY.plusDays(7));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean indexRemoveAndAdd() {
+        // Un cambio de stock: sale un producto y vuelve a entrar
+        Food food = stock.get(random.nextInt(stock.size()));
+        boolean removed = index.remove(food);
+        index.add(food);
+        return removed;
+    }
+}
@@ -0,0 +1,125 @@
+package com.bcp.interfaces;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.SplittableRandom;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Programar y cancelar el vencimiento de un producto con size vencimientos pendientes
+ * repartidos en 30 días: PerishScheduler (O(1)) contra ScheduledThreadPoolExecutor
+ * (heap, O(log n)), y el costo de programar size vencimientos desde cero
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class PerishSchedulerBenchmark {
+
+    private static final long HORIZON_MILLIS = Duration.ofDays(30).toMillis();
+
+    @Param({"1000000"})
+    public int size;
+
+    private Food[] stock;
+    private long[] delays;
+    private Instant[] deadlines;
+    private PerishScheduler<Food> wheel;
+    private ScheduledThreadPoolExecutor executor;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom seed = new SplittableRandom(42);
+        stock = new Food[size];
+        delays = new long[size];
+        deadlines = new Instant[size];
+        Instant now = Instant.now();
+        for (int i = 0; i < size; i++) {
+            stock[i] = new Food("food-" + (i % 1000), BigDecimal.ONE);
+            // Al menos un minuto: nada vence durante la medición
+            delays[i] = 60_000 + seed.nextLong(HORIZON_MILLIS);
+            deadlines[i] = now.plusMillis(delays[i]);
+        }
+        wheel = new PerishScheduler<>(Clock.systemUTC(), Duration.ofSeconds(1));
+        wheel.start();
+        executor = newExecutor();
+        for (int i = 0; i < size; i++) {
+            wheel.schedule(stock[i], deadlines[i]);
+            executor.schedule(stock[i]::perish, delays[i], TimeUnit.MILLISECONDS);
+        }
+        random = new SplittableRandom(7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        wheel.close();
+        executor.shutdownNow();
+    }
+
+    private static ScheduledThreadPoolExecutor newExecutor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        // Sin esto los cancelados quedan en la cola hasta su vencimiento
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    @Benchmark
+    public boolean wheelScheduleCancel() {
+        int i = random.nextInt(size);
+        PerishScheduler.Timeout<Food> timeout = wheel.schedule(stock[i], deadlines[i]);
+        return timeout.cancel();
+    }
+
+    @Benchmark
+    public boolean executorScheduleCancel() {
+        int i = random.nextInt(size);
+        ScheduledFuture<?> future = executor.schedule(stock[i]::perish, delays[i], TimeUnit.MILLISECONDS);
+        return future.cancel(false);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int wheelScheduleAll() {
+        try (PerishScheduler<Food> scheduler = new PerishScheduler<>(Clock.systemUTC(), Duration.ofSeconds(1))) {
+            for (int i = 0; i < size; i++) {
+                scheduler.schedule(stock[i], deadlines[i]);
+            }
+            return scheduler.pendingCount();
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int executorScheduleAll() {
+        ScheduledThreadPoolExecutor scheduler = newExecutor();
+        try {
+            for (int i = 0; i < size; i++) {
+                scheduler.schedule(stock[i]::perish, delays[i], TimeUnit.MILLISECONDS);
+            }
+            return scheduler.getQueue().size();
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.bcp.localinnerclass;
+
+import com.bcp.benchmarks.Catalogs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el cálculo de OrderTaxManager (switch y new BigDecimal por item, sin los println)
+ * con TaxCalculator secuencial y en paralelo sobre muchas órdenes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class TaxCalculatorBenchmark {
+
+    private static final String LOCATION = "California";
+    private static final String[] CATEGORIES = {"Electronics", "Food", "Luxury", "General"};
+    private static final int ITEMS_PER_ORDER = 5;
+
+    @Param({"1000", "100000"})
+    public int orders;
+
+    private List<Order> orderList;
+    private TaxCalculator calculator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Order.addItem imprime cada item; se silencia mientras se arma el lote
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            List<Product> products = Catalogs.generate(orders * ITEMS_PER_ORDER, (i, name, category, price) ->
+                    new Product(name, price.doubleValue(), CATEGORIES[i % CATEGORIES.length]));
+            orderList = new ArrayList<>(orders);
+            for (int o = 0; o < orders; o++) {
+                Order order = new Order();
+                for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                    order.addItem(products.get(o * ITEMS_PER_ORDER + i), 1 + i);
+                }
+                orderList.add(order);
+            }
+        } finally {
+            System.setOut(out);
+        }
+        calculator = new TaxCalculator();
+    }
+
+    private static BigDecimal findRate(String saleLocation, Product product) {
+        BigDecimal rate;
+        switch (saleLocation.toLowerCase()) {
+            case "california" -> rate = new BigDecimal("0.0825");
+            case "new york" -> rate = new BigDecimal("0.0875");
+            case "texas" -> rate = new BigDecimal("0.0625");
+            default -> rate = new BigDecimal("0.0600");
+        }
+        if ("Food".equals(product.getCategory())) {
+            rate = rate.multiply(new BigDecimal("0.5"));
+        } else if ("Luxury".equals(product.getCategory())) {
+            rate = rate.multiply(new BigDecimal("1.5"));
+        }
+        return rate;
+    }
+
+    @Benchmark
+    public BigDecimal orderTaxManager() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Order order : orderList) {
+            BigDecimal totalTax = BigDecimal.ZERO;
+            for (Item item : order.getItems()) {
+                BigDecimal rate = findRate(LOCATION, item.getProduct());
+                totalTax = totalTax.add(new BigDecimal(item.getSubtotal()).multiply(rate));
+            }
+            total = total.add(totalTax.setScale(2, RoundingMode.HALF_UP));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal taxCalculator() {
+        return calculator.totalTax(orderList, LOCATION, false);
+    }
+
+    @Benchmark
+    public BigDecimal taxCalculatorParallel() {
+        return calculator.totalTax(orderList, LOCATION, true);
+    }
+}
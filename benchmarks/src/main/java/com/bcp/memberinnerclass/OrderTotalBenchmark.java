@@ -0,0 +1,88 @@
+package com.bcp.memberinnerclass;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecturas del carrito: getTotal() mantenido en O(1) y getItems() como vista, contra el recálculo
+ * con stream y la copia del HashSet que hacían antes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class OrderTotalBenchmark {
+
+    @Param({"100", "10000"})
+    public int lines;
+
+    private Order order;
+    private List<Order.Item> items;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // addItem imprime cada item; se silencia mientras se arma la orden
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            order = new Order();
+            for (int i = 0; i < lines; i++) {
+                order.addItem(i % 2 == 0 ? new Food("Food_" + i, 1 + i % 50) : new Drink("Drink_" + i), 1 + i % 5);
+            }
+        } finally {
+            System.setOut(out);
+        }
+        items = new ArrayList<>(order.getItems());
+    }
+
+    @Benchmark
+    public double streamedTotal() {
+        return order.getItems().stream()
+                .mapToDouble(item -> item.getProduct().getPrice() * item.getQuantity())
+                .sum();
+    }
+
+    @Benchmark
+    public double maintainedTotal() {
+        return order.getTotal();
+    }
+
+    @Benchmark
+    public double setQuantityThenTotal() {
+        Order.Item item = items.get(next++ % items.size());
+        item.setQuantity(item.getQuantity() % 5 + 1);
+        return order.getTotal();
+    }
+
+    @Benchmark
+    public int copiedItems() {
+        Set<Order.Item> copy = new HashSet<>(order.getItems());
+        return copy.size();
+    }
+
+    @Benchmark
+    public int itemsView() {
+        return order.getItems().size();
+    }
+}
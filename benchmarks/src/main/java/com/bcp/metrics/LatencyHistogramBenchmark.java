@@ -0,0 +1,75 @@
+package com.bcp.metrics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de medir una operación: el par currentTimeMillis() de los ejemplos y el par
+ * nanoTime() como referencia, contra LatencyHistogram.record() y LatencyTimer.start() +
+ * stop(). El histograma es compartido por todos los hilos; el número de hilos se elige con
+ * la opción -t de JMH (ver benchmarks/README.md).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LatencyHistogramBenchmark {
+
+    private static final int VALUES = 1 << 16;
+
+    private LatencyHistogram histogram;
+    private LatencyTimer timer;
+    // Latencias entre ~1 µs y ~10 ms para repartir las muestras en varios buckets
+    private long[] values;
+
+    @Setup
+    public void setUp() {
+        histogram = new LatencyHistogram();
+        timer = new LatencyRegistry().timer("bench");
+        values = new long[VALUES];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < VALUES; i++) {
+            values[i] = (long) Math.exp(7 + random.nextDouble() * 9);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public long currentTimeMillisPair() {
+        long start = System.currentTimeMillis();
+        return System.currentTimeMillis() - start;
+    }
+
+    @Benchmark
+    public long nanoTimePair() {
+        long start = System.nanoTime();
+        return System.nanoTime() - start;
+    }
+
+    @Benchmark
+    public void record(Cursor cursor) {
+        histogram.record(values[cursor.next++ & (VALUES - 1)]);
+    }
+
+    @Benchmark
+    public long timerStartStop() {
+        return timer.stop(timer.start());
+    }
+}
@@ -0,0 +1,98 @@
+package com.bcp.metrics;
+
+import com.bcp.concurrentstreams.CategoryCollectors;
+import com.bcp.concurrentstreams.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Costo de reportar métricas desde el camino caliente:
+ * - incrementar un Counter del registry (LongAdder) contra un AtomicLong y un contador
+ *   synchronized compartidos por todos los hilos (opción -t de JMH, ver benchmarks/README.md)
+ * - collect paralelo de CategoryCollectors.counting con y sin MetricsRegistry.instrument
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsRegistryBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Counters {
+        Counter counter;
+        final AtomicLong atomic = new AtomicLong();
+        long locked;
+
+        @Setup
+        public void setUp() {
+            counter = new MetricsRegistry().counter("bench.counter");
+        }
+
+        synchronized void incrementLocked() {
+            locked++;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Products {
+        @Param({"1000000"})
+        public int size;
+
+        List<Product> products;
+        MetricsRegistry metrics;
+
+        @Setup
+        public void setUp() {
+            String[] categories = {"Electrónica", "Bebida", "Comida", "Hogar", "Limpieza", "Mascotas"};
+            products = IntStream.range(0, size)
+                    .mapToObj(i -> new Product("P" + i, BigDecimal.valueOf(i % 500), categories[i % categories.length]))
+                    .toList();
+            metrics = new MetricsRegistry();
+        }
+    }
+
+    @Benchmark
+    public void counterIncrement(Counters counters) {
+        counters.counter.increment();
+    }
+
+    @Benchmark
+    public long atomicLongIncrement(Counters counters) {
+        return counters.atomic.incrementAndGet();
+    }
+
+    @Benchmark
+    public void synchronizedIncrement(Counters counters) {
+        counters.incrementLocked();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<String, Long> collectPlain(Products state) {
+        return state.products.parallelStream().collect(CategoryCollectors.counting(Product::getCategory));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<String, Long> collectInstrumented(Products state) {
+        return state.products.parallelStream()
+                .collect(state.metrics.instrument("bench.byCategory", CategoryCollectors.counting(Product::getCategory)));
+    }
+}
@@ -0,0 +1,106 @@
+package com.bcp.spliteratorexamples;
+
+import com.bcp.benchmarks.Catalogs;
+import com.bcp.benchmarks.Pools;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Stream paralelo sobre fuentes enlazadas o paginadas: Spliterator de tamaño desconocido
+ * contra BatchingSpliterator, ChunkedSpliterator y ArraySpliterator.
+ * Cada elemento calcula el precio con impuesto para que haya trabajo que repartir.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class SpliteratorBenchmark {
+
+    private static final BigDecimal TAX = new BigDecimal("1.0825");
+    private static final int PAGE_SIZE = 5_000;
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"1", "4", "16"})
+    public int parallelism;
+
+    private LinkedList<Product> linked;
+    private List<List<Product>> pages;
+    private Product[] array;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Product> catalog = Catalogs.generate(size, (i, name, category, price) -> new Product(name, price, category));
+        linked = new LinkedList<>(catalog);
+        pages = new ArrayList<>();
+        for (int from = 0; from < size; from += PAGE_SIZE) {
+            pages.add(new ArrayList<>(catalog.subList(from, Math.min(size, from + PAGE_SIZE))));
+        }
+        array = catalog.toArray(new Product[0]);
+        pool = Pools.create(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Pools.shutdown(pool);
+    }
+
+    private double total(Stream<Product> products) {
+        return Pools.run(pool, () -> products
+                .mapToDouble(p -> p.getPrice().multiply(TAX).setScale(2, RoundingMode.HALF_UP).doubleValue())
+                .sum());
+    }
+
+    @Benchmark
+    public double unknownSizeIterator() {
+        Spliterator<Product> spliterator = Spliterators.spliteratorUnknownSize(linked.iterator(), Spliterator.ORDERED);
+        return total(StreamSupport.stream(spliterator, true));
+    }
+
+    @Benchmark
+    public double linkedListParallelStream() {
+        return total(linked.parallelStream());
+    }
+
+    @Benchmark
+    public double batchingIterator() {
+        return total(CatalogSpliterators.batching(linked.iterator(), true));
+    }
+
+    @Benchmark
+    public double chunkedPages() {
+        return total(CatalogSpliterators.chunked(pages, true));
+    }
+
+    @Benchmark
+    public double arraySpliterator() {
+        return total(CatalogSpliterators.stream(array, true));
+    }
+}
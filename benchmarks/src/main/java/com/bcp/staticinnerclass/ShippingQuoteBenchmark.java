@@ -0,0 +1,91 @@
+package com.bcp.staticinnerclass;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cotizaciones de envío: un ShippingMode nuevo con el switch sobre toLowerCase() por llamada
+ * (como antes) contra la tabla compartida de Order, también mientras otro hilo la recarga.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ShippingQuoteBenchmark {
+
+    private static final String[] REQUESTS = {"Fast", "normal", "ECONOMY", "Economy", "fast", "Express", "Normal", "FAST"};
+    private static final Map<String, Double> COSTS = Map.of("Fast", 15.99, "Normal", 8.99, "Economy", 4.99);
+
+    /**
+     * Copia del ShippingMode anterior (mutable, un objeto por llamada) sin el println del constructor
+     */
+    static final class PerCallShippingMode {
+        private final String description;
+        private final double cost;
+
+        PerCallShippingMode(String description) {
+            this.description = description;
+            switch (description.toLowerCase()) {
+                case "fast" -> this.cost = 15.99;
+                case "normal" -> this.cost = 8.99;
+                case "economy" -> this.cost = 4.99;
+                default -> this.cost = 10.00;
+            }
+        }
+
+        double getCost() {
+            return cost;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Requests {
+        private int next;
+
+        String next() {
+            return REQUESTS[next++ & (REQUESTS.length - 1)];
+        }
+    }
+
+    @Benchmark
+    public double perCallObject(Requests requests) {
+        return new PerCallShippingMode(requests.next()).getCost();
+    }
+
+    @Benchmark
+    public double flyweightQuote(Requests requests) {
+        return Order.quoteShipping(requests.next());
+    }
+
+    @Benchmark
+    public Object flyweightMode(Requests requests) {
+        return Order.getShippingMode(requests.next());
+    }
+
+    @Benchmark
+    @Group("reload")
+    @GroupThreads(3)
+    public double quoteDuringReload(Requests requests) {
+        return Order.quoteShipping(requests.next());
+    }
+
+    @Benchmark
+    @Group("reload")
+    @GroupThreads(1)
+    public void reload() {
+        Order.reloadShippingCosts(COSTS, 10.00);
+    }
+}
@@ -0,0 +1,72 @@
+package com.bcp.streamssamples;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cantidad de nombres distintos: distinct().count() / toSet() contra HyperLogLog.approxDistinct()
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ApproxDistinctBenchmark {
+
+    @Param({"10000000"})
+    public int size;
+
+    @Param({"1000", "1000000"})
+    public int distinct;
+
+    private List<String> names;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Mismos String repetidos, como nombres leídos de un catálogo
+        List<String> pool = new ArrayList<>(distinct);
+        for (int i = 0; i < distinct; i++) {
+            pool.add("product-" + i);
+        }
+        names = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            names.add(pool.get((int) ((i * 0x9E3779B97F4A7C15L >>> 1) % distinct)));
+        }
+    }
+
+    @Benchmark
+    public long distinctCount() {
+        return names.stream().distinct().count();
+    }
+
+    @Benchmark
+    public int toSetSize() {
+        return names.parallelStream().collect(Collectors.toSet()).size();
+    }
+
+    @Benchmark
+    public long approxDistinct() {
+        return names.stream().collect(HyperLogLog.approxDistinct()).estimate();
+    }
+
+    @Benchmark
+    public long approxDistinctParallel() {
+        return names.parallelStream().collect(HyperLogLog.approxDistinct()).estimate();
+    }
+}
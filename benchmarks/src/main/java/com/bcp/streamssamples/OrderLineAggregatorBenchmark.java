@@ -0,0 +1,111 @@
+package com.bcp.streamssamples;
+
+import com.bcp.benchmarks.Catalogs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Total de "Tea", total por producto y productos únicos sobre órdenes anidadas:
+ * tres pasadas con flatMap contra una pasada de OrderLineAggregator, secuencial y paralela.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class OrderLineAggregatorBenchmark {
+
+    private static final int ITEMS_PER_ORDER = 5;
+
+    @Param({"10000", "1000000"})
+    public int orders;
+
+    private List<AlternativeToFlatMapExample.Order> orderList;
+    private OrderLineAggregator<AlternativeToFlatMapExample.Order, Product> aggregator;
+    private OrderLineAggregator.Aggregate<Double> teaTotal;
+    private OrderLineAggregator.Aggregate<Map<String, Double>> totalsByProduct;
+    private OrderLineAggregator.Aggregate<List<String>> uniqueProducts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Product> products = Catalogs.generate(orders * ITEMS_PER_ORDER, (i, name, category, price) -> new Product(name, price));
+        orderList = new ArrayList<>(orders);
+        for (int o = 0; o < orders; o++) {
+            AlternativeToFlatMapExample.Order order = new AlternativeToFlatMapExample.Order("Order " + o);
+            // Desfase por orden para que no todas tengan los mismos productos
+            for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                order.addItem(products.get((o * 7 + i) % products.size()));
+            }
+            orderList.add(order);
+        }
+
+        OrderLineAggregator.Builder<AlternativeToFlatMapExample.Order, Product> builder =
+                OrderLineAggregator.forIterable(AlternativeToFlatMapExample.Order::getItems);
+        teaTotal = builder.aggregate(item -> "Tea".equals(item.getName()),
+                Collectors.summingDouble(item -> item.getPrice().doubleValue()));
+        totalsByProduct = builder.aggregate(Collectors.groupingBy(Product::getName,
+                Collectors.summingDouble(item -> item.getPrice().doubleValue())));
+        uniqueProducts = builder.aggregate(Collectors.collectingAndThen(
+                Collectors.mapping(Product::getName, Collectors.toSet()), List::copyOf));
+        aggregator = builder.build();
+    }
+
+    @Benchmark
+    public void flatMapThreePasses(Blackhole blackhole) {
+        blackhole.consume(orderList.stream()
+                .flatMap(order -> order.getItems().stream())
+                .filter(item -> "Tea".equals(item.getName()))
+                .mapToDouble(item -> item.getPrice().doubleValue())
+                .sum());
+        blackhole.consume(orderList.stream()
+                .flatMap(order -> order.getItems().stream())
+                .collect(Collectors.groupingBy(Product::getName,
+                        Collectors.summingDouble(item -> item.getPrice().doubleValue()))));
+        blackhole.consume(orderList.stream()
+                .flatMap(order -> order.getItems().stream())
+                .map(Product::getName)
+                .distinct()
+                .toList());
+    }
+
+    @Benchmark
+    public void aggregatorOnePass(Blackhole blackhole) {
+        OrderLineAggregator<AlternativeToFlatMapExample.Order, Product>.Results results = aggregator.run(orderList);
+        blackhole.consume(results.get(teaTotal));
+        blackhole.consume(results.get(totalsByProduct));
+        blackhole.consume(results.get(uniqueProducts));
+    }
+
+    @Benchmark
+    public void aggregatorParallel(Blackhole blackhole) {
+        OrderLineAggregator<AlternativeToFlatMapExample.Order, Product>.Results results =
+                orderList.parallelStream().collect(aggregator.collector());
+        blackhole.consume(results.get(teaTotal));
+        blackhole.consume(results.get(totalsByProduct));
+        blackhole.consume(results.get(uniqueProducts));
+    }
+
+    @Benchmark
+    public double aggregatorIterator() {
+        // Solo el iterador: mismo recorrido que al leer órdenes de un archivo
+        return aggregator.run(orderList.iterator()).get(teaTotal);
+    }
+}
@@ -0,0 +1,100 @@
+package com.bcp.streamssamples;
+
+import com.bcp.benchmarks.Catalogs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara los pipelines BigDecimal de ReduceExamples / StreamVsLoopExample con PricePipeline.
+ * Con el profiler de GC, gc.alloc.rate.norm muestra los bytes por operación de cada camino.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class PricePipelineBenchmark {
+
+    private static final BigDecimal THRESHOLD = BigDecimal.valueOf(10);
+    private static final double DISCOUNT = 0.2;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private List<Product> catalog;
+    private PricePipeline pipeline;
+    private long threshold;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = Catalogs.generate(size, (i, name, category, price) -> new Product(name, price));
+        pipeline = PricePipeline.of(catalog);
+        threshold = pipeline.unscaled(THRESHOLD);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalSumAbove() {
+        return catalog.stream()
+                .filter(p -> p.getPrice().compareTo(BigDecimal.valueOf(10)) > 0)
+                .map(Product::getPrice)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public long fixedPointSumAbove() {
+        return pipeline.sumAbove(threshold);
+    }
+
+    @Benchmark
+    public long longStreamSumAbove() {
+        return pipeline.above(threshold).sum();
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalSumDiscountedAbove() {
+        BigDecimal factor = BigDecimal.ONE.subtract(BigDecimal.valueOf(DISCOUNT));
+        return catalog.stream()
+                .filter(p -> p.getPrice().compareTo(THRESHOLD) > 0)
+                .map(p -> p.getPrice().multiply(factor).setScale(2, RoundingMode.HALF_EVEN))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public long fixedPointSumDiscountedAbove() {
+        return pipeline.sumDiscountedAbove(threshold, DISCOUNT);
+    }
+
+    @Benchmark
+    public long longStreamSumDiscountedAbove() {
+        return pipeline.discountedAbove(threshold, DISCOUNT).sum();
+    }
+
+    @Benchmark
+    public List<Product> bigDecimalApplyDiscount() {
+        catalog.stream()
+                .filter(p -> p.getPrice().compareTo(BigDecimal.valueOf(10)) > 0)
+                .forEach(p -> p.setDiscount(DISCOUNT));
+        return catalog;
+    }
+
+    @Benchmark
+    public int fixedPointApplyDiscount() {
+        return pipeline.applyDiscountAbove(catalog, threshold, DISCOUNT);
+    }
+}
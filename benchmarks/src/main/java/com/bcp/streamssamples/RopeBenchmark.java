@@ -0,0 +1,124 @@
+package com.bcp.streamssamples;
+
+import com.bcp.benchmarks.Catalogs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compara la concatenación con reduce de ReduceExamples (O(n²) en caracteres copiados)
+ * contra Collectors.joining y Rope, secuencial y paralelo.
+ * La concatenación con reduce solo se mide hasta 10000 nombres: con más no termina en tiempo razonable.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class RopeBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Names {
+        @Param({"1000", "100000", "1000000", "10000000"})
+        public int size;
+
+        public List<Product> catalog;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            catalog = Catalogs.generate(size, (i, name, category, price) -> new Product(name, price));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class FewNames {
+        @Param({"1000", "10000"})
+        public int size;
+
+        public List<Product> catalog;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            catalog = Catalogs.generate(size, (i, name, category, price) -> new Product(name, price));
+        }
+    }
+
+    @Benchmark
+    public String stringReduce(FewNames names) {
+        return names.catalog.stream()
+                .map(Product::getName)
+                .reduce("", (s1, s2) -> s1 + " " + s2);
+    }
+
+    @Benchmark
+    public String stringReduceParallel(FewNames names) {
+        return names.catalog.stream()
+                .parallel()
+                .reduce("", (s, p) -> s + " " + p.getName(), (s1, s2) -> s1 + s2);
+    }
+
+    @Benchmark
+    public String joining(Names names) {
+        return names.catalog.stream()
+                .map(Product::getName)
+                .collect(Collectors.joining(" "));
+    }
+
+    @Benchmark
+    public String joiningParallel(Names names) {
+        return names.catalog.stream()
+                .parallel()
+                .map(Product::getName)
+                .collect(Collectors.joining(" "));
+    }
+
+    @Benchmark
+    public String ropeCollector(Names names) {
+        return names.catalog.stream()
+                .map(Product::getName)
+                .collect(Rope.collector())
+                .join(" ");
+    }
+
+    @Benchmark
+    public String ropeCollectorParallel(Names names) {
+        return names.catalog.stream()
+                .parallel()
+                .map(Product::getName)
+                .collect(Rope.collector())
+                .join(" ");
+    }
+
+    @Benchmark
+    public String ropeReduceParallel(Names names) {
+        return names.catalog.stream()
+                .parallel()
+                .reduce(Rope.empty(), (rope, p) -> rope.append(p.getName()), Rope::concat)
+                .join(" ");
+    }
+
+    @Benchmark
+    public long ropeWriteParallel(Names names) throws IOException {
+        Rope rope = names.catalog.stream()
+                .parallel()
+                .map(Product::getName)
+                .collect(Rope.collector());
+        rope.writeTo(Writer.nullWriter(), " ");
+        return rope.length();
+    }
+}
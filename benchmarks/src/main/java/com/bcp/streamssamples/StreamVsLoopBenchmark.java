@@ -0,0 +1,65 @@
+package com.bcp.streamssamples;
+
+import com.bcp.benchmarks.Catalogs;
+import com.bcp.benchmarks.ParallelismState;
+import com.bcp.benchmarks.Pools;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reproduce la comparación de StreamVsLoopExample con JMH:
+ * bucle for, stream secuencial y stream paralelo sobre catálogos de 10 a 10M productos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class StreamVsLoopBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class CatalogState {
+
+        @Param({"10", "1000", "100000", "10000000"})
+        public int size;
+
+        public List<Product> catalog;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            catalog = Catalogs.generate(size, (i, name, category, price) -> new Product(name, price));
+        }
+    }
+
+    @Benchmark
+    public List<Product> forLoopSetDiscount(CatalogState state) {
+        for (Product p : state.catalog) {
+            if (p.getPrice().compareTo(BigDecimal.valueOf(10)) > 0) {
+                p.setDiscount(0.2);
+            }
+        }
+        return state.catalog;
+    }
+
+    @Benchmark
+    public List<Product> streamSetDiscount(CatalogState state, ParallelismState threads) {
+        Pools.execute(threads.pool, () -> threads.configure(state.catalog.stream())
+                .filter(p -> p.getPrice().compareTo(BigDecimal.valueOf(10)) > 0)
+                .forEach(p -> p.setDiscount(0.2)));
+        return state.catalog;
+    }
+}
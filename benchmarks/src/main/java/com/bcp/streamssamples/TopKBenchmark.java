@@ -0,0 +1,80 @@
+package com.bcp.streamssamples;
+
+import com.bcp.benchmarks.Catalogs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Los k productos más caros: sorted().limit(k) contra TopKCollectors.topK, secuencial, paralelo y por grupo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class TopKBenchmark {
+
+    private static final Comparator<Product> BY_PRICE = Comparator.comparing(Product::getPrice);
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    @Param({"3", "100"})
+    public int k;
+
+    private List<Product> catalog;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = Catalogs.generate(size, (i, name, category, price) -> new Product(name, price));
+    }
+
+    @Benchmark
+    public List<Product> sortedLimit() {
+        return catalog.stream().sorted(BY_PRICE.reversed()).limit(k).toList();
+    }
+
+    @Benchmark
+    public List<Product> topK() {
+        return catalog.stream().collect(TopKCollectors.topK(k, BY_PRICE));
+    }
+
+    @Benchmark
+    public List<Product> sortedLimitParallel() {
+        return catalog.parallelStream().sorted(BY_PRICE.reversed()).limit(k).toList();
+    }
+
+    @Benchmark
+    public List<Product> topKParallel() {
+        return catalog.parallelStream().collect(TopKCollectors.topK(k, BY_PRICE));
+    }
+
+    @Benchmark
+    public Map<String, List<Product>> sortedLimitPerGroup() {
+        return catalog.stream().collect(Collectors.groupingBy(Product::getName,
+                Collectors.collectingAndThen(Collectors.toList(),
+                        group -> group.stream().sorted(BY_PRICE.reversed()).limit(k).toList())));
+    }
+
+    @Benchmark
+    public Map<String, List<Product>> topKPerGroup() {
+        return catalog.stream().collect(TopKCollectors.topKPerGroup(Product::getName, k, BY_PRICE));
+    }
+}
@@ -0,0 +1,92 @@
+package com.bcp.testlogging;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+import java.util.logging.StreamHandler;
+
+/**
+ * Latencia de logger.log(...) en el hilo que loguea, escribiendo en un archivo: un handler
+ * síncrono con flush por registro (como ConsoleHandler) contra AsyncHandler con cada
+ * OverflowPolicy, con y sin obtener la clase y el método que loguean. El número de hilos se
+ * elige con la opción -t de JMH (ver benchmarks/README.md).
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsyncHandlerBenchmark {
+
+    private static final Integer ORDER = 42;
+
+    @Param({"sync", "BLOCK", "DROP_OLDEST", "DROP_AND_COUNT"})
+    public String handler;
+
+    /**
+     * Con false AsyncHandler no recorre el stack del hilo que loguea (no aplica a sync)
+     */
+    @Param({"true", "false"})
+    public boolean inferCaller;
+
+    private Path file;
+    private Handler target;
+    private Logger logger;
+
+    /**
+     * Un archivo y un handler nuevos por iteración para que el archivo no crezca sin límite
+     */
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("async-handler-bench", ".log");
+        if (handler.equals("sync")) {
+            target = new StreamHandler(Files.newOutputStream(file), new SimpleFormatter()) {
+                @Override
+                public synchronized void publish(LogRecord record) {
+                    super.publish(record);
+                    flush();
+                }
+            };
+        } else {
+            AsyncHandler async = new AsyncHandler(Files.newOutputStream(file), AsyncHandler.DEFAULT_CAPACITY,
+                    AsyncHandler.OverflowPolicy.valueOf(handler));
+            async.setInferCaller(inferCaller);
+            target = async;
+        }
+        logger = Logger.getLogger("com.bcp.testlogging.bench." + handler);
+        logger.setUseParentHandlers(false);
+        logger.addHandler(target);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        logger.removeHandler(target);
+        target.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void log() {
+        logger.log(java.util.logging.Level.INFO, "Pedido {0} procesado", ORDER);
+    }
+}
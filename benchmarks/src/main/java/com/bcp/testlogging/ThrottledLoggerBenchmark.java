@@ -0,0 +1,80 @@
+package com.bcp.testlogging;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+import java.util.logging.StreamHandler;
+
+/**
+ * Costo por llamada de loguear un item en un loop caliente: sin limiter (cada mensaje se
+ * formatea y se escribe) contra ThrottledLogger con cada LogLimiter, que suprime casi todos.
+ * El limiter es compartido por todos los hilos, como un static final; el número de hilos se
+ * elige con la opción -t de JMH (ver benchmarks/README.md).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThrottledLoggerBenchmark {
+
+    private static final Integer ITEM = 4211;
+
+    @Param({"none", "every", "sampled", "rateLimited", "deduplicated"})
+    public String limiter;
+
+    private Logger logger;
+    private Handler handler;
+    private ThrottledLogger throttled;
+    private LogLimiter site;
+
+    @Setup
+    public void setUp() {
+        logger = Logger.getLogger("com.bcp.testlogging.bench.throttled");
+        logger.setUseParentHandlers(false);
+        handler = new StreamHandler(OutputStream.nullOutputStream(), new SimpleFormatter());
+        logger.addHandler(handler);
+        throttled = ThrottledLogger.of(logger);
+        site = switch (limiter) {
+            case "none" -> null;
+            case "every" -> LogLimiter.every(1000);
+            case "sampled" -> LogLimiter.sampled(0.001);
+            case "rateLimited" -> LogLimiter.rateLimited(100, 10);
+            case "deduplicated" -> LogLimiter.deduplicated(Duration.ofSeconds(1));
+            default -> throw new IllegalArgumentException(limiter);
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        logger.removeHandler(handler);
+        handler.close();
+    }
+
+    @Benchmark
+    public void logItem() {
+        if (site == null) {
+            logger.log(Level.INFO, "Item {0} procesado", ITEM);
+        } else {
+            throttled.info(site, "Item {0} procesado", ITEM);
+        }
+    }
+}
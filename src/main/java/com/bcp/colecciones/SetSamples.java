@@ -1,5 +1,7 @@
 package com.bcp.colecciones;
 
+import com.bcp.streamssamples.HyperLogLog;
+
 import java.util.*;
 
 public class SetSamples {
@@ -42,5 +44,26 @@ public class SetSamples {
         // Mostrar estado del menú
         System.out.println("Menu: " + menu);
         System.out.println("Has Tea? " + hasTea);
+
+        // Contar distintos sin guardarlos: un HashSet de millones de nombres ocupa cientos de MB,
+        // un HyperLogLog de precisión 14 ocupa 16 KB con ~0.8% de error
+        Set<String> mondayNames = new HashSet<>();
+        HyperLogLog monday = new HyperLogLog();
+        HyperLogLog tuesday = new HyperLogLog();
+        for (int i = 0; i < 1_000_000; i++) {
+            String name = "product-" + (i % 600_000);
+            mondayNames.add(name);
+            monday.add(name);
+            tuesday.add("product-" + (400_000 + i % 600_000));
+        }
+        System.out.println("Distintos lunes (HashSet): " + mondayNames.size());
+        System.out.println("Distintos lunes (HyperLogLog): " + monday.estimate());
+
+        // Cada día se guarda serializado y luego se unen: distintos en lunes o martes (1,000,000)
+        byte[] savedMonday = monday.toBytes();
+        byte[] savedTuesday = tuesday.toBytes();
+        HyperLogLog week = HyperLogLog.fromBytes(savedMonday).union(HyperLogLog.fromBytes(savedTuesday));
+        System.out.println("Distintos lunes + martes (unión de sketches de " + savedMonday.length + " bytes): "
+                + week.estimate());
     }
 }
@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.DoubleSummaryStatistics;
 import java.util.List;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 public class BasicCollectorsExample {
@@ -70,6 +71,19 @@ public class BasicCollectorsExample {
         System.out.println("Precio promedio de comidas: $" + String.format("%.2f", foodAverage));
         System.out.println();
 
+        // Cuantiles: summarizingDouble no da la mediana ni percentiles
+        System.out.println("=== DISTRIBUCIÓN DE PRECIOS (MEDIANA Y PERCENTILES) ===");
+        PriceDistribution distribution = list.stream()
+            .collect(PriceDistribution.ofPrices());
+        System.out.println("  • Mediana: $" + distribution.median());
+        System.out.println("  • Percentil 90: $" + distribution.quantile(0.90));
+        System.out.println("Mediana por categoría (groupingBy + PriceDistribution):");
+        list.stream()
+            .collect(Collectors.groupingBy(Product::getCategory, TreeMap::new, PriceDistribution.ofPrices()))
+            .forEach((category, d) -> System.out.println("  " + category + ": $" + d.median()
+                + " (" + d.count() + " productos)"));
+        System.out.println();
+
         // ========================================
         // 2. MAPPING AND JOINING STREAM ELEMENTS
         // ========================================
@@ -201,6 +215,7 @@ public class BasicCollectorsExample {
         System.out.println("   • summingDouble() - Suma de valores");
         System.out.println("   • averagingDouble() - Promedio de valores");
         System.out.println("   • maxBy() / minBy() - Valores extremos");
+        System.out.println("   • PriceDistribution.ofPrices() - Mediana y percentiles aproximados");
         System.out.println();
         
         System.out.println("2. MAPPING AND JOINING:");
@@ -222,5 +237,6 @@ public class BasicCollectorsExample {
         System.out.println("• Generación de reportes: mapping() + joining() para texto");
         System.out.println("• Filtrado y agrupación: toList() + groupingBy() para organización");
         System.out.println("• Agregación: summingDouble() + groupingBy() para totales por categoría");
+        System.out.println("• Percentiles: PriceDistribution para mediana / p95 / p99 con memoria acotada");
     }
 } 
\ No newline at end of file
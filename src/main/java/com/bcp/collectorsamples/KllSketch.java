@@ -0,0 +1,228 @@
+package com.bcp.collectorsamples;
+
+import java.util.Arrays;
+
+/**
+ * Sketch de cuantiles KLL (Karnin, Lang, Liberty): guarda una muestra ponderada de los
+ * valores vistos en niveles; un valor del nivel h representa 2^h valores originales.
+ *
+ * Cuando la muestra completa supera su capacidad se compacta el nivel más bajo que está lleno: se
+ * ordena, se queda con uno de cada dos elementos (los pares o los impares, al azar) y los
+ * sube al nivel siguiente. La capacidad del nivel h es k · (2/3)^(niveles - 1 - h), así que
+ * la memoria total es unas 3k posiciones más un mínimo por nivel, sin importar cuántos
+ * valores se agreguen. El error en rango baja como 1/k (ver PriceDistribution.normalizedRankError).
+ *
+ * No es thread-safe: cada hilo del stream paralelo usa su propio sketch y se combinan
+ * con merge.
+ */
+final class KllSketch {
+
+    static final int DEFAULT_K = 200;
+    private static final int MIN_LEVEL_WIDTH = 8;
+
+    private final int k;
+    // levels[h] guarda sizes[h] valores de peso 2^h, hasta capacities[h] antes de compactarse
+    private double[][] levels = new double[1][];
+    private int[] sizes = new int[1];
+    private int[] capacities = new int[1];
+    private int levelCount = 1;
+    private int retained;
+    private int totalCapacity;
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    // Estado del xorshift para elegir pares o impares al compactar (reproducible)
+    private long random = 0x9E3779B97F4A7C15L;
+
+    KllSketch(int k) {
+        checkK(k);
+        this.k = k;
+        updateCapacities();
+        levels[0] = new double[capacities[0]];
+    }
+
+    static void checkK(int k) {
+        if (k < MIN_LEVEL_WIDTH) {
+            throw new IllegalArgumentException("k debe ser al menos " + MIN_LEVEL_WIDTH + ": " + k);
+        }
+    }
+
+    void add(double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("El sketch no admite NaN");
+        }
+        if (count == 0) {
+            min = value;
+            max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        count++;
+        append(0, value);
+        if (retained >= totalCapacity) {
+            compress();
+        }
+    }
+
+    void merge(KllSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            min = other.min;
+            max = other.max;
+        } else {
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+        count += other.count;
+        for (int h = 0; h < other.levelCount; h++) {
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, other.levels[h][i]);
+            }
+        }
+        compress();
+    }
+
+    /**
+     * Capacidad de cada nivel con la cantidad actual de niveles: k arriba y 2/3 de eso por nivel hacia abajo
+     */
+    private void updateCapacities() {
+        if (capacities.length < levels.length) {
+            capacities = new int[levels.length];
+        }
+        totalCapacity = 0;
+        for (int h = 0; h < levelCount; h++) {
+            int depth = levelCount - 1 - h;
+            capacities[h] = Math.max(MIN_LEVEL_WIDTH, (int) Math.ceil(k * Math.pow(2.0 / 3.0, depth)));
+            totalCapacity += capacities[h];
+        }
+    }
+
+    private void append(int h, double value) {
+        while (h >= levelCount) {
+            addLevel();
+        }
+        if (sizes[h] == levels[h].length) {
+            levels[h] = Arrays.copyOf(levels[h], Math.max(MIN_LEVEL_WIDTH, levels[h].length * 2));
+        }
+        levels[h][sizes[h]++] = value;
+        retained++;
+    }
+
+    private void addLevel() {
+        if (levelCount == levels.length) {
+            levels = Arrays.copyOf(levels, levelCount * 2);
+            sizes = Arrays.copyOf(sizes, levelCount * 2);
+        }
+        levels[levelCount] = new double[MIN_LEVEL_WIDTH];
+        levelCount++;
+        updateCapacities();
+    }
+
+    /**
+     * Mientras la muestra ocupe su capacidad total compacta el nivel más bajo que está lleno
+     * (siempre hay uno); compactar el último nivel agrega otro y aumenta la capacidad
+     */
+    private void compress() {
+        while (retained >= totalCapacity) {
+            int h = 0;
+            while (sizes[h] < capacities[h]) {
+                h++;
+            }
+            compact(h);
+        }
+    }
+
+    private void compact(int h) {
+        double[] level = levels[h];
+        int size = sizes[h];
+        Arrays.sort(level, 0, size);
+        // Con tamaño impar el mayor se queda en este nivel para no perder peso
+        int paired = size & ~1;
+        int offset = nextBit();
+        for (int i = offset; i < paired; i += 2) {
+            append(h + 1, level[i]);
+        }
+        int kept = size - paired;
+        if (kept == 1) {
+            level[0] = level[size - 1];
+        }
+        sizes[h] = kept;
+        retained -= paired;
+    }
+
+    private int nextBit() {
+        long x = random;
+        x ^= x << 13;
+        x ^= x >>> 7;
+        x ^= x << 17;
+        random = x;
+        return (int) (x >>> 63);
+    }
+
+    long count() {
+        return count;
+    }
+
+    double min() {
+        return min;
+    }
+
+    double max() {
+        return max;
+    }
+
+    int k() {
+        return k;
+    }
+
+    /**
+     * Posiciones ocupadas en todos los niveles
+     */
+    int retained() {
+        return retained;
+    }
+
+    /**
+     * Muestra ordenada con sus pesos acumulados, para consultar cuantiles sin volver a ordenar
+     */
+    PriceDistribution toDistribution() {
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        int n = 0;
+        for (int h = 0; h < levelCount; h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                values[n] = levels[h][i];
+                weights[n] = 1L << h;
+                n++;
+            }
+        }
+        sortByValue(values, weights);
+        for (int i = 1; i < n; i++) {
+            weights[i] += weights[i - 1];
+        }
+        return new PriceDistribution(count, min, max, k, values, weights);
+    }
+
+    /**
+     * Ordena values llevando consigo los pesos
+     */
+    private static void sortByValue(double[] values, long[] weights) {
+        int n = values.length;
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        double[] sortedValues = new double[n];
+        long[] sortedWeights = new long[n];
+        for (int i = 0; i < n; i++) {
+            sortedValues[i] = values[order[i]];
+            sortedWeights[i] = weights[order[i]];
+        }
+        System.arraycopy(sortedValues, 0, values, 0, n);
+        System.arraycopy(sortedWeights, 0, weights, 0, n);
+    }
+}
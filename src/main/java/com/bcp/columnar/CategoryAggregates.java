@@ -0,0 +1,120 @@
+package com.bcp.columnar;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Agregados por categoría (count, sum, min, max de precio en centavos) guardados
+ * en arreglos indexados por el id de categoría de la tabla.
+ * Equivale a groupingBy(Product::getCategory, counting() / summingDouble / maxBy).
+ */
+public final class CategoryAggregates {
+
+    private final StringDictionary categories;
+    private final long[] counts;
+    private final long[] sums;
+    private final long[] mins;
+    private final long[] maxs;
+    private final int[] maxRows;
+
+    CategoryAggregates(StringDictionary categories) {
+        int size = categories.size();
+        this.categories = categories;
+        this.counts = new long[size];
+        this.sums = new long[size];
+        this.mins = new long[size];
+        this.maxs = new long[size];
+        this.maxRows = new int[size];
+        Arrays.fill(mins, Long.MAX_VALUE);
+        Arrays.fill(maxs, Long.MIN_VALUE);
+        Arrays.fill(maxRows, -1);
+    }
+
+    void accumulate(int category, long price, int row) {
+        counts[category]++;
+        sums[category] += price;
+        if (price < mins[category]) {
+            mins[category] = price;
+        }
+        if (price > maxs[category]) {
+            maxs[category] = price;
+            maxRows[category] = row;
+        }
+    }
+
+    /**
+     * Combina los agregados de un bloque posterior; ante empate en el máximo
+     * conserva la primera fila, igual que maxBy en un stream ordenado
+     */
+    CategoryAggregates merge(CategoryAggregates other) {
+        for (int c = 0; c < counts.length; c++) {
+            counts[c] += other.counts[c];
+            sums[c] += other.sums[c];
+            mins[c] = Math.min(mins[c], other.mins[c]);
+            if (other.maxs[c] > maxs[c]) {
+                maxs[c] = other.maxs[c];
+                maxRows[c] = other.maxRows[c];
+            }
+        }
+        return this;
+    }
+
+    public long count(String category) {
+        int id = categories.idOf(category);
+        return id == StringDictionary.NOT_FOUND ? 0 : counts[id];
+    }
+
+    public long sumCents(String category) {
+        int id = categories.idOf(category);
+        return id == StringDictionary.NOT_FOUND ? 0 : sums[id];
+    }
+
+    public BigDecimal sum(String category) {
+        return BigDecimal.valueOf(sumCents(category), ProductTable.PRICE_SCALE);
+    }
+
+    public Optional<BigDecimal> min(String category) {
+        int id = categories.idOf(category);
+        return id == StringDictionary.NOT_FOUND || counts[id] == 0
+                ? Optional.empty()
+                : Optional.of(BigDecimal.valueOf(mins[id], ProductTable.PRICE_SCALE));
+    }
+
+    public Optional<BigDecimal> max(String category) {
+        int id = categories.idOf(category);
+        return id == StringDictionary.NOT_FOUND || counts[id] == 0
+                ? Optional.empty()
+                : Optional.of(BigDecimal.valueOf(maxs[id], ProductTable.PRICE_SCALE));
+    }
+
+    /**
+     * Fila del producto más caro de la categoría, o -1 si la categoría no tiene filas
+     */
+    public int maxRow(String category) {
+        int id = categories.idOf(category);
+        return id == StringDictionary.NOT_FOUND ? -1 : maxRows[id];
+    }
+
+    public Map<String, Long> counts() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int c = 0; c < counts.length; c++) {
+            if (counts[c] > 0) {
+                result.put(categories.valueOf(c), counts[c]);
+            }
+        }
+        return result;
+    }
+
+    public Map<String, BigDecimal> sums() {
+        Map<String, BigDecimal> result = new LinkedHashMap<>();
+        for (int c = 0; c < sums.length; c++) {
+            if (counts[c] > 0) {
+                result.put(categories.valueOf(c), BigDecimal.valueOf(sums[c], ProductTable.PRICE_SCALE));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,12 @@
+package com.bcp.columnar;
+
+/**
+ * Resultado de un partitioningBy sobre la tabla: filas que cumplen (matching)
+ * y filas que no cumplen (rest) el predicado
+ */
+public record Partition(Selection matching, Selection rest) {
+
+    public Selection get(boolean key) {
+        return key ? matching : rest;
+    }
+}
@@ -0,0 +1,342 @@
+package com.bcp.columnar;
+
+import com.bcp.streamssamples.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Catálogo de productos en formato columnar (struct-of-arrays).
+ * En lugar de List<Product> con un objeto por fila, cada atributo es un arreglo primitivo:
+ * - priceCents: precio en centavos (long)
+ * - categoryIds / nameIds: ids de diccionario (int)
+ * - bestBeforeDays: fecha de vencimiento como epoch-day (int)
+ *
+ * Los recorridos son bucles sobre arreglos contiguos sin seguir referencias, por lo que
+ * el JIT puede vectorizarlos y quedan limitados por el ancho de banda de memoria.
+ * La tabla es inmutable después de construida y puede recorrerse desde varios hilos.
+ */
+public final class ProductTable {
+
+    public static final int PRICE_SCALE = 2;
+
+    /**
+     * Epoch-day usado cuando el producto no tiene fecha de vencimiento: nunca vence
+     */
+    public static final int NO_BEST_BEFORE = Integer.MAX_VALUE;
+
+    /**
+     * Filas por bloque en los operadores paralelos
+     */
+    private static final int PARALLEL_CHUNK = 1 << 16;
+
+    private final int size;
+    private final long[] priceCents;
+    private final int[] categoryIds;
+    private final int[] nameIds;
+    private final int[] bestBeforeDays;
+    private final StringDictionary categories;
+    private final StringDictionary names;
+
+    private ProductTable(Builder builder) {
+        this.size = builder.size;
+        this.priceCents = Arrays.copyOf(builder.priceCents, size);
+        this.categoryIds = Arrays.copyOf(builder.categoryIds, size);
+        this.nameIds = Arrays.copyOf(builder.nameIds, size);
+        this.bestBeforeDays = Arrays.copyOf(builder.bestBeforeDays, size);
+        this.categories = builder.categories;
+        this.names = builder.names;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Carga la tabla desde cualquiera de las clases Product del proyecto.
+     * bestBefore puede devolver null para productos sin fecha de vencimiento.
+     */
+    public static <T> ProductTable from(Collection<? extends T> products,
+                                        Function<? super T, String> name,
+                                        Function<? super T, BigDecimal> price,
+                                        Function<? super T, String> category,
+                                        Function<? super T, LocalDate> bestBefore) {
+        Builder builder = new Builder(products.size());
+        for (T product : products) {
+            builder.add(name.apply(product), price.apply(product), category.apply(product), bestBefore.apply(product));
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String name(int row) {
+        return names.valueOf(nameIds[checkRow(row)]);
+    }
+
+    public String category(int row) {
+        return categories.valueOf(categoryIds[checkRow(row)]);
+    }
+
+    public BigDecimal price(int row) {
+        return BigDecimal.valueOf(priceCents[checkRow(row)], PRICE_SCALE);
+    }
+
+    public long priceCents(int row) {
+        return priceCents[checkRow(row)];
+    }
+
+    public LocalDate bestBefore(int row) {
+        int day = bestBeforeDays[checkRow(row)];
+        return day == NO_BEST_BEFORE ? null : LocalDate.ofEpochDay(day);
+    }
+
+    public List<String> categoryNames() {
+        return categories.values();
+    }
+
+    public int categoryId(String category) {
+        return categories.idOf(category);
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return Money.unscaledOf(amount, PRICE_SCALE, RoundingMode.UNNECESSARY);
+    }
+
+    // ========================================
+    // Filtros (scan)
+    // ========================================
+
+    public Selection all() {
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = i;
+        }
+        return new Selection(rows, size);
+    }
+
+    public Selection wherePriceAbove(BigDecimal threshold) {
+        long cents = toCents(threshold);
+        int[] rows = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            rows[count] = i;
+            count += priceCents[i] > cents ? 1 : 0;
+        }
+        return new Selection(rows, count);
+    }
+
+    /**
+     * Filas con bestBefore anterior a date (equivale a getBestBefore().isBefore(date))
+     */
+    public Selection whereExpiresBefore(LocalDate date) {
+        int day = Math.toIntExact(date.toEpochDay());
+        int[] rows = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            rows[count] = i;
+            count += bestBeforeDays[i] < day ? 1 : 0;
+        }
+        return new Selection(rows, count);
+    }
+
+    public Selection whereCategory(String category) {
+        int id = categories.idOf(category);
+        int[] rows = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            rows[count] = i;
+            count += categoryIds[i] == id ? 1 : 0;
+        }
+        return new Selection(rows, count);
+    }
+
+    // ========================================
+    // Particiones
+    // ========================================
+
+    public Partition partitionByPriceAbove(BigDecimal threshold) {
+        return partition(wherePriceAbove(threshold));
+    }
+
+    public Partition partitionByExpiresBefore(LocalDate date) {
+        return partition(whereExpiresBefore(date));
+    }
+
+    public Partition partitionByCategory(String category) {
+        return partition(whereCategory(category));
+    }
+
+    private Partition partition(Selection matching) {
+        int[] rest = new int[size - matching.size()];
+        int[] selected = matching.rawRows();
+        int next = 0;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (next < matching.size() && selected[next] == i) {
+                next++;
+            } else {
+                rest[count++] = i;
+            }
+        }
+        return new Partition(matching, new Selection(rest, count));
+    }
+
+    // ========================================
+    // Agregados
+    // ========================================
+
+    public long count(Selection selection) {
+        return selection.size();
+    }
+
+    public long sumCents() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += priceCents[i];
+        }
+        return total;
+    }
+
+    public long sumCents(Selection selection) {
+        int[] rows = selection.rawRows();
+        long total = 0;
+        for (int i = 0; i < selection.size(); i++) {
+            total += priceCents[rows[i]];
+        }
+        return total;
+    }
+
+    public BigDecimal sum(Selection selection) {
+        return BigDecimal.valueOf(sumCents(selection), PRICE_SCALE);
+    }
+
+    /**
+     * Equivalente columnar de summarizingDouble(getPrice) con valores en centavos
+     */
+    public LongSummaryStatistics priceStatistics() {
+        if (size == 0) {
+            return new LongSummaryStatistics();
+        }
+        long total = 0;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            long price = priceCents[i];
+            total += price;
+            min = Math.min(min, price);
+            max = Math.max(max, price);
+        }
+        return new LongSummaryStatistics(size, min, max, total);
+    }
+
+    /**
+     * Count, sum, min y max de precio por categoría en una sola pasada
+     */
+    public CategoryAggregates groupByCategory() {
+        return aggregate(0, size);
+    }
+
+    public CategoryAggregates groupByCategory(Selection selection) {
+        CategoryAggregates result = new CategoryAggregates(categories);
+        int[] rows = selection.rawRows();
+        for (int i = 0; i < selection.size(); i++) {
+            int row = rows[i];
+            result.accumulate(categoryIds[row], priceCents[row], row);
+        }
+        return result;
+    }
+
+    /**
+     * Igual que groupByCategory() pero recorriendo bloques de filas en el ForkJoinPool común;
+     * cada bloque acumula en sus propios arreglos y se combinan al final
+     */
+    public CategoryAggregates groupByCategoryParallel() {
+        int chunks = (size + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+        return IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> aggregate(chunk * PARALLEL_CHUNK, Math.min(size, (chunk + 1) * PARALLEL_CHUNK)))
+                .reduce(CategoryAggregates::merge)
+                .orElseGet(() -> new CategoryAggregates(categories));
+    }
+
+    private CategoryAggregates aggregate(int from, int to) {
+        CategoryAggregates result = new CategoryAggregates(categories);
+        for (int i = from; i < to; i++) {
+            result.accumulate(categoryIds[i], priceCents[i], i);
+        }
+        return result;
+    }
+
+    private int checkRow(int row) {
+        return Objects.checkIndex(row, size);
+    }
+
+    /**
+     * Construye la tabla fila por fila; los arreglos crecen como un ArrayList
+     */
+    public static final class Builder {
+
+        private int size;
+        private boolean built;
+        private long[] priceCents;
+        private int[] categoryIds;
+        private int[] nameIds;
+        private int[] bestBeforeDays;
+        private final StringDictionary categories = new StringDictionary();
+        private final StringDictionary names = new StringDictionary();
+
+        private Builder() {
+            this(16);
+        }
+
+        private Builder(int capacity) {
+            int initial = Math.max(capacity, 16);
+            priceCents = new long[initial];
+            categoryIds = new int[initial];
+            nameIds = new int[initial];
+            bestBeforeDays = new int[initial];
+        }
+
+        public Builder add(String name, BigDecimal price, String category, LocalDate bestBefore) {
+            if (built) {
+                throw new IllegalStateException("La tabla ya fue construida");
+            }
+            if (size == priceCents.length) {
+                grow();
+            }
+            priceCents[size] = toCents(price);
+            categoryIds[size] = categories.intern(category);
+            nameIds[size] = names.intern(name);
+            bestBeforeDays[size] = bestBefore == null ? NO_BEST_BEFORE : Math.toIntExact(bestBefore.toEpochDay());
+            size++;
+            return this;
+        }
+
+        private void grow() {
+            int capacity = priceCents.length + (priceCents.length >> 1);
+            priceCents = Arrays.copyOf(priceCents, capacity);
+            categoryIds = Arrays.copyOf(categoryIds, capacity);
+            nameIds = Arrays.copyOf(nameIds, capacity);
+            bestBeforeDays = Arrays.copyOf(bestBeforeDays, capacity);
+        }
+
+        /**
+         * La tabla comparte los diccionarios del builder, por eso no se puede seguir agregando filas
+         */
+        public ProductTable build() {
+            built = true;
+            return new ProductTable(this);
+        }
+    }
+}
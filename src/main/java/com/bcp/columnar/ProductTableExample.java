@@ -0,0 +1,132 @@
+package com.bcp.columnar;
+
+import com.bcp.partitioninggrouping.Drink;
+import com.bcp.partitioninggrouping.Food;
+import com.bcp.partitioninggrouping.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class ProductTableExample {
+    public static void main(String[] args) {
+        LocalDate date1 = LocalDate.of(2019, 3, 7);
+        LocalDate date2 = LocalDate.of(2019, 3, 8);
+        LocalDate date3 = LocalDate.of(2019, 3, 14);
+
+        // Misma lista que PartitioningGroupingExample
+        List<Product> list = Arrays.asList(
+            new Product("Laptop", BigDecimal.valueOf(1200.0), "Electrónica", date1),
+            new Product("Mouse", BigDecimal.valueOf(25.0), "Electrónica", date1),
+            new Product("Keyboard", BigDecimal.valueOf(80.0), "Electrónica", date3),
+            new Product("Monitor", BigDecimal.valueOf(300.0), "Electrónica", date3),
+            new Product("Headphones", BigDecimal.valueOf(150.0), "Electrónica", date2),
+            new Drink("Coffee", BigDecimal.valueOf(5.0), date1),
+            new Drink("Tea", BigDecimal.valueOf(3.0), date2),
+            new Drink("Juice", BigDecimal.valueOf(4.0), date3),
+            new Food("Pizza", BigDecimal.valueOf(12.0), date1),
+            new Food("Burger", BigDecimal.valueOf(8.0), date2),
+            new Food("Salad", BigDecimal.valueOf(6.0), date3)
+        );
+
+        System.out.println("=== PRODUCT TABLE (ALMACENAMIENTO COLUMNAR) ===");
+        System.out.println("Cada atributo se guarda en un arreglo primitivo en lugar de un objeto por producto.");
+        System.out.println();
+
+        // ========================================
+        // 1. CARGA DESDE List<Product>
+        // ========================================
+        System.out.println("=== 1. CARGA DESDE List<Product> ===");
+        ProductTable table = ProductTable.from(list,
+            Product::getName, Product::getPrice, Product::getCategory, Product::getBestBefore);
+
+        System.out.println("Filas: " + table.size());
+        System.out.println("Categorías (diccionario): " + table.categoryNames());
+        System.out.println();
+
+        // ========================================
+        // 2. PARTITIONING
+        // ========================================
+        System.out.println("=== 2. PARTITIONING ===");
+
+        Partition byPrice = table.partitionByPriceAbove(BigDecimal.valueOf(100));
+        System.out.println("Productos caros (>$100):");
+        byPrice.get(true).rows().forEach(row ->
+            System.out.println("  - " + table.name(row) + ": $" + table.price(row)));
+
+        Map<Boolean, List<Product>> byPriceStream = list.stream()
+            .collect(Collectors.partitioningBy(p -> p.getPrice().compareTo(BigDecimal.valueOf(100)) > 0));
+        System.out.println("¿Mismo conteo que partitioningBy? " +
+            (byPrice.get(true).size() == byPriceStream.get(true).size() ? "SÍ" : "NO"));
+
+        Partition byExpiration = table.partitionByExpiresBefore(date2);
+        System.out.println("Productos que vencen antes de " + date2 + ": " + byExpiration.get(true).size());
+        byExpiration.get(true).rows().forEach(row ->
+            System.out.println("  - " + table.name(row) + " (Vence: " + table.bestBefore(row) + ")"));
+        System.out.println();
+
+        // ========================================
+        // 3. GROUPING POR CATEGORÍA
+        // ========================================
+        System.out.println("=== 3. GROUPING POR CATEGORÍA ===");
+
+        CategoryAggregates byCategory = table.groupByCategory();
+        System.out.println("Conteo por categoría: " + byCategory.counts());
+        System.out.println("Suma por categoría: " + byCategory.sums());
+        for (String category : table.categoryNames()) {
+            int row = byCategory.maxRow(category);
+            System.out.println("  Más caro de " + category + ": " + table.name(row) + " - $" + table.price(row));
+        }
+
+        Map<String, Long> countByCategory = list.stream()
+            .collect(Collectors.groupingBy(Product::getCategory, Collectors.counting()));
+        System.out.println("¿Mismo conteo que groupingBy? " +
+            (countByCategory.equals(byCategory.counts()) ? "SÍ" : "NO"));
+        System.out.println();
+
+        // Agregación sobre una selección: suma por categoría de los productos que vencen pronto
+        CategoryAggregates expiringByCategory = table.groupByCategory(byExpiration.get(true));
+        System.out.println("Suma por categoría de productos que vencen antes de " + date2 + ": " +
+            expiringByCategory.sums());
+        System.out.println();
+
+        // ========================================
+        // 4. SUMMARY VALUES
+        // ========================================
+        System.out.println("=== 4. SUMMARY VALUES ===");
+        LongSummaryStatistics stats = table.priceStatistics();
+        System.out.println("  • Cantidad de productos: " + stats.getCount());
+        System.out.println("  • Suma total: $" + BigDecimal.valueOf(stats.getSum(), ProductTable.PRICE_SCALE));
+        System.out.println("  • Precio mínimo: $" + BigDecimal.valueOf(stats.getMin(), ProductTable.PRICE_SCALE));
+        System.out.println("  • Precio máximo: $" + BigDecimal.valueOf(stats.getMax(), ProductTable.PRICE_SCALE));
+        System.out.println("  • Precio promedio: $" + String.format("%.2f", stats.getAverage() / 100));
+        System.out.println();
+
+        // ========================================
+        // 5. CARGA DESDE OTRA CLASE Product
+        // ========================================
+        System.out.println("=== 5. CARGA DESDE collectorsamples.Product (sin fecha de vencimiento) ===");
+        List<com.bcp.collectorsamples.Product> collectorProducts = List.of(
+            new com.bcp.collectorsamples.Product("Laptop", BigDecimal.valueOf(1200.0), "Electrónica"),
+            new com.bcp.collectorsamples.Drink("Coffee", BigDecimal.valueOf(5.0)),
+            new com.bcp.collectorsamples.Food("Pizza", BigDecimal.valueOf(12.0))
+        );
+        ProductTable collectorTable = ProductTable.from(collectorProducts,
+            com.bcp.collectorsamples.Product::getName,
+            com.bcp.collectorsamples.Product::getPrice,
+            com.bcp.collectorsamples.Product::getCategory,
+            p -> null);
+        System.out.println("Suma por categoría: " + collectorTable.groupByCategoryParallel().sums());
+        System.out.println();
+
+        System.out.println("=== RESUMEN ===");
+        System.out.println("• Columnas primitivas: sin un objeto ni una referencia por campo");
+        System.out.println("• Diccionarios: nombres y categorías se guardan como ids enteros");
+        System.out.println("• Selection: vector de índices que encadena filtros y agregados");
+        System.out.println("• groupByCategoryParallel(): bloques independientes combinados al final");
+    }
+}
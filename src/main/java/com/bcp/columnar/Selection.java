@@ -0,0 +1,47 @@
+package com.bcp.columnar;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Vector de selección: índices de filas en orden ascendente que cumplen un filtro.
+ * Los operadores de ProductTable aceptan una Selection para agregar solo esas filas.
+ */
+public final class Selection {
+
+    private final int[] rows;
+    private final int size;
+
+    Selection(int[] rows, int size) {
+        this.rows = rows;
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int row(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fuera de rango (" + size + ")");
+        }
+        return rows[index];
+    }
+
+    public IntStream rows() {
+        return Arrays.stream(rows, 0, size);
+    }
+
+    int[] rawRows() {
+        return rows;
+    }
+
+    @Override
+    public String toString() {
+        return "Selection{size=" + size + "}";
+    }
+}
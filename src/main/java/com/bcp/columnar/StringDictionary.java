@@ -0,0 +1,44 @@
+package com.bcp.columnar;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Diccionario que asigna a cada String distinto un id entero denso (0, 1, 2, ...)
+ * en orden de aparición. Las columnas guardan el id y no la referencia al String.
+ */
+public final class StringDictionary {
+
+    public static final int NOT_FOUND = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    public int intern(String value) {
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = values.size();
+            ids.put(value, id);
+            values.add(value);
+        }
+        return id;
+    }
+
+    public int idOf(String value) {
+        return ids.getOrDefault(value, NOT_FOUND);
+    }
+
+    public String valueOf(int id) {
+        return values.get(id);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public List<String> values() {
+        return List.copyOf(values);
+    }
+}
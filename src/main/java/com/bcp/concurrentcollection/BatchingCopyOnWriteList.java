@@ -0,0 +1,381 @@
+package com.bcp.concurrentcollection;
+
+import com.bcp.metrics.MetricsRegistry;
+
+import java.time.Duration;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Lista copy-on-write que permite agrupar escrituras.
+ *
+ * Igual que CopyOnWriteArrayList, los lectores trabajan sobre un arreglo inmutable
+ * (snapshot) publicado en un campo volatile: iterar nunca bloquea ni lanza
+ * ConcurrentModificationException. La diferencia está en los escritores:
+ *
+ * - mutate(lista -> ...) aplica cualquier cantidad de cambios sobre una copia y la publica
+ *   una sola vez: N escrituras cuestan una copia del arreglo y no N
+ * - addAll, removeIf, replaceAll, sort y clear también copian una sola vez
+ * - bufferedAdd(e) acumula elementos y los publica juntos al llegar a maxPending elementos,
+ *   cuando el más antiguo supera maxDelay (se comprueba en cada escritura) o al llamar a flush().
+ *   Los elementos en el buffer todavía no son visibles para los lectores; si las escrituras
+ *   pueden detenerse, programe flush() periódicamente para acotar el retraso.
+ *
+ * Los iteradores y subList() son vistas de solo lectura del snapshot actual.
+ * publishCount() y copiedElementCount() muestran cuánto cuestan las escrituras (registerMetrics()
+ * los publica en un MetricsRegistry).
+ */
+public class BatchingCopyOnWriteList<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final Object[] EMPTY = {};
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int maxPending;
+    private final long maxDelayNanos;
+
+    private volatile Object[] array;
+    private final LongAdder publishes = new LongAdder();
+    private final LongAdder copiedElements = new LongAdder();
+
+    // Protegidos por lock
+    private Object[] pending;
+    private int pendingCount;
+    private long oldestPendingNanos;
+
+    public BatchingCopyOnWriteList() {
+        this(1, Duration.ZERO);
+    }
+
+    public BatchingCopyOnWriteList(Collection<? extends E> initial) {
+        this();
+        array = initial.toArray().clone();
+    }
+
+    /**
+     * @param maxPending elementos de bufferedAdd() que provocan la publicación
+     * @param maxDelay   antigüedad máxima del buffer, comprobada en cada escritura
+     */
+    public BatchingCopyOnWriteList(int maxPending, Duration maxDelay) {
+        if (maxPending < 1) {
+            throw new IllegalArgumentException("maxPending debe ser al menos 1: " + maxPending);
+        }
+        this.maxPending = maxPending;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.array = EMPTY;
+        this.pending = new Object[Math.min(maxPending, 1024)];
+    }
+
+    // ========================================
+    // Lectura (sin bloqueo)
+    // ========================================
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Object[] snapshot = array;
+        return (E) snapshot[Objects.checkIndex(index, snapshot.length)];
+    }
+
+    @Override
+    public int size() {
+        return array.length;
+    }
+
+    /**
+     * Vista inmutable del contenido publicado en este momento
+     */
+    @SuppressWarnings("unchecked")
+    public List<E> snapshot() {
+        return Collections.unmodifiableList(Arrays.asList((E[]) array));
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return snapshot().iterator();
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        return snapshot().listIterator(index);
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(array, Spliterator.IMMUTABLE | Spliterator.ORDERED);
+    }
+
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        return snapshot().subList(fromIndex, toIndex);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return array.clone();
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        snapshot().forEach(action);
+    }
+
+    // ========================================
+    // Escritura agrupada
+    // ========================================
+
+    /**
+     * Aplica todos los cambios de mutation sobre una copia y la publica de una vez.
+     * Si mutation lanza una excepción no se publica ningún cambio.
+     */
+    public void mutate(Consumer<? super List<E>> mutation) {
+        lock.lock();
+        try {
+            List<E> working = workingCopy();
+            mutation.accept(working);
+            publish(working.toArray());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Agrega el elemento al buffer de escritura; se publica junto con los demás
+     * al alcanzar maxPending o maxDelay. Devuelve true si esta llamada publicó el buffer.
+     */
+    public boolean bufferedAdd(E element) {
+        lock.lock();
+        try {
+            if (pendingCount == 0) {
+                oldestPendingNanos = System.nanoTime();
+            }
+            if (pendingCount == pending.length) {
+                pending = Arrays.copyOf(pending, Math.min(pending.length * 2, maxPending));
+            }
+            pending[pendingCount++] = element;
+            if (pendingCount >= maxPending || System.nanoTime() - oldestPendingNanos >= maxDelayNanos) {
+                flushLocked();
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Publica los elementos pendientes de bufferedAdd()
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            flushLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return pendingCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushLocked() {
+        if (pendingCount == 0) {
+            return;
+        }
+        Object[] current = array;
+        Object[] next = Arrays.copyOf(current, current.length + pendingCount);
+        System.arraycopy(pending, 0, next, current.length, pendingCount);
+        Arrays.fill(pending, 0, pendingCount, null);
+        pendingCount = 0;
+        publish(next);
+    }
+
+    /**
+     * Publica un arreglo nuevo para los lectores (bajo lock)
+     */
+    private void publish(Object[] next) {
+        array = next;
+        publishes.increment();
+        copiedElements.add(next.length);
+    }
+
+    /**
+     * Arreglos nuevos publicados: cada escritura no agrupada publica uno
+     */
+    public long publishCount() {
+        return publishes.sum();
+    }
+
+    /**
+     * Elementos copiados en total al publicar: el costo real del copy-on-write
+     */
+    public long copiedElementCount() {
+        return copiedElements.sum();
+    }
+
+    /**
+     * Publica en registry, con el prefijo name, los gauges size y pending y los contadores
+     * publishes y copiedElements. Leer pending toma el lock de los escritores un instante.
+     */
+    public void registerMetrics(MetricsRegistry registry, String name) {
+        registry.gauge(name + ".size", this::size);
+        registry.gauge(name + ".pending", this::pendingCount);
+        registry.counter(name + ".publishes", this::publishCount);
+        registry.counter(name + ".copiedElements", this::copiedElementCount);
+    }
+
+    /**
+     * Copia de trabajo con los pendientes ya incorporados, para que el orden de las escrituras se respete
+     */
+    @SuppressWarnings("unchecked")
+    private List<E> workingCopy() {
+        flushLocked();
+        return new ArrayList<>(Arrays.asList((E[]) array));
+    }
+
+    private <R> R write(Function<List<E>, R> change) {
+        lock.lock();
+        try {
+            List<E> working = workingCopy();
+            R result = change.apply(working);
+            publish(working.toArray());
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ========================================
+    // Operaciones de List (una copia por llamada)
+    // ========================================
+
+    @Override
+    public boolean add(E element) {
+        lock.lock();
+        try {
+            flushLocked();
+            Object[] current = array;
+            Object[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = element;
+            publish(next);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void add(int index, E element) {
+        write(list -> {
+            list.add(index, element);
+            return null;
+        });
+    }
+
+    @Override
+    public E set(int index, E element) {
+        return write(list -> list.set(index, element));
+    }
+
+    @Override
+    public E remove(int index) {
+        return write(list -> list.remove(index));
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return write(list -> list.remove(o));
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        Object[] added = c.toArray();
+        if (added.length == 0) {
+            return false;
+        }
+        lock.lock();
+        try {
+            flushLocked();
+            Object[] current = array;
+            Object[] next = Arrays.copyOf(current, current.length + added.length);
+            System.arraycopy(added, 0, next, current.length, added.length);
+            publish(next);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        return write(list -> list.addAll(index, c));
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return write(list -> list.removeAll(c));
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return write(list -> list.retainAll(c));
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        return write(list -> list.removeIf(filter));
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        write(list -> {
+            list.replaceAll(operator);
+            return null;
+        });
+    }
+
+    @Override
+    public void sort(Comparator<? super E> c) {
+        write(list -> {
+            list.sort(c);
+            return null;
+        });
+    }
+
+    /**
+     * Vacía la lista y descarta también los elementos pendientes del buffer
+     */
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            pendingCount = 0;
+            Arrays.fill(pending, null);
+            publish(EMPTY);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.bcp.concurrentcollection;
+
+import com.bcp.metrics.MetricsRegistry;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+
+/**
+ * Inventario producto -> cantidad para muchos hilos, alternativa a
+ * Collections.synchronizedMap(new HashMap<Product, Integer>()).
+ *
+ * - Cada producto tiene su propio contador AtomicLong: adjust() es un ciclo CAS
+ *   sobre ese contador, sin un monitor compartido por todo el mapa
+ * - La iteración (forEach, removeIf, snapshot) es débilmente consistente, como la de
+ *   ConcurrentHashMap: no lanza ConcurrentModificationException ni requiere bloqueo externo
+ * - size() y totalUnits() se leen de LongAdder, sin recorrer el mapa
+ * - adjustCount(), casRetryCount() y rejectedCount() miden uso y contención; registerMetrics()
+ *   los publica en un MetricsRegistry
+ *
+ * Un producto cuya cantidad llega a 0 se elimina. Para que un adjust() concurrente no
+ * se pierda, el contador eliminado se marca como REMOVED antes de quitarlo del mapa y
+ * quien lo encuentre así reintenta con un contador nuevo.
+ */
+public final class InventoryMap<K> {
+
+    private static final long REMOVED = Long.MIN_VALUE;
+
+    private final ConcurrentHashMap<K, AtomicLong> stock;
+    private final LongAdder products = new LongAdder();
+    private final LongAdder units = new LongAdder();
+    private final LongAdder adjustments = new LongAdder();
+    // Vueltas extra del ciclo CAS: otro hilo cambió el mismo contador en el medio
+    private final LongAdder casRetries = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public InventoryMap() {
+        this(16);
+    }
+
+    public InventoryMap(int initialCapacity) {
+        this.stock = new ConcurrentHashMap<>(initialCapacity);
+    }
+
+    /**
+     * Suma delta (positivo o negativo) a la cantidad del producto y devuelve la nueva cantidad.
+     * Lanza IllegalStateException si el stock quedaría negativo.
+     */
+    public long adjust(K product, long delta) {
+        long result = tryAdjust(product, delta);
+        if (result < 0) {
+            throw new IllegalStateException("Stock insuficiente para " + product + ": " + get(product) + " + " + delta);
+        }
+        return result;
+    }
+
+    /**
+     * Como adjust() pero devuelve -1 en lugar de lanzar excepción si no hay stock suficiente
+     */
+    public long tryAdjust(K product, long delta) {
+        Objects.requireNonNull(product);
+        adjustments.increment();
+        for (boolean retry = false; ; retry = true) {
+            if (retry) {
+                casRetries.increment();
+            }
+            AtomicLong counter = stock.get(product);
+            if (counter == null) {
+                if (delta < 0) {
+                    rejected.increment();
+                    return -1;
+                }
+                if (delta == 0) {
+                    return 0;
+                }
+                counter = stock.putIfAbsent(product, new AtomicLong(delta));
+                if (counter == null) {
+                    products.increment();
+                    units.add(delta);
+                    return delta;
+                }
+            }
+            long current = counter.get();
+            if (current == REMOVED) {
+                stock.remove(product, counter);
+                continue;
+            }
+            long next = current + delta;
+            if (next < 0) {
+                rejected.increment();
+                return -1;
+            }
+            if (next == 0) {
+                if (counter.compareAndSet(current, REMOVED)) {
+                    stock.remove(product, counter);
+                    products.decrement();
+                    units.add(delta);
+                    return 0;
+                }
+            } else if (counter.compareAndSet(current, next)) {
+                units.add(delta);
+                return next;
+            }
+        }
+    }
+
+    public long increment(K product) {
+        return adjust(product, 1);
+    }
+
+    public long decrement(K product) {
+        return adjust(product, -1);
+    }
+
+    /**
+     * Fija la cantidad del producto (equivalente a put) y devuelve la cantidad anterior
+     */
+    public long set(K product, long quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Cantidad negativa: " + quantity);
+        }
+        while (true) {
+            long current = get(product);
+            if (compareAndSet(product, current, quantity)) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Cambia la cantidad solo si sigue siendo expected; 0 significa "no está en el inventario"
+     */
+    public boolean compareAndSet(K product, long expected, long quantity) {
+        Objects.requireNonNull(product);
+        if (expected < 0 || quantity < 0) {
+            throw new IllegalArgumentException("Cantidad negativa");
+        }
+        for (boolean retry = false; ; retry = true) {
+            if (retry) {
+                casRetries.increment();
+            }
+            AtomicLong counter = stock.get(product);
+            if (counter == null) {
+                if (expected != 0) {
+                    return false;
+                }
+                if (quantity == 0) {
+                    return true;
+                }
+                if (stock.putIfAbsent(product, new AtomicLong(quantity)) == null) {
+                    products.increment();
+                    units.add(quantity);
+                    return true;
+                }
+                continue;
+            }
+            long current = counter.get();
+            if (current == REMOVED) {
+                stock.remove(product, counter);
+                continue;
+            }
+            if (current != expected) {
+                return false;
+            }
+            if (quantity == 0) {
+                if (counter.compareAndSet(current, REMOVED)) {
+                    stock.remove(product, counter);
+                    products.decrement();
+                    units.add(-current);
+                    return true;
+                }
+            } else if (counter.compareAndSet(current, quantity)) {
+                units.add(quantity - current);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Elimina el producto y devuelve la cantidad que tenía (0 si no estaba)
+     */
+    public long remove(K product) {
+        AtomicLong counter = stock.get(product);
+        while (counter != null) {
+            long current = counter.get();
+            if (current == REMOVED) {
+                stock.remove(product, counter);
+                return 0;
+            }
+            if (counter.compareAndSet(current, REMOVED)) {
+                stock.remove(product, counter);
+                products.decrement();
+                units.add(-current);
+                return current;
+            }
+        }
+        return 0;
+    }
+
+    public long get(K product) {
+        AtomicLong counter = stock.get(product);
+        if (counter == null) {
+            return 0;
+        }
+        long current = counter.get();
+        return current == REMOVED ? 0 : current;
+    }
+
+    public boolean contains(K product) {
+        return get(product) > 0;
+    }
+
+    /**
+     * Número de productos distintos con stock
+     */
+    public long size() {
+        return products.sum();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Llamadas a adjust(), tryAdjust(), increment() y decrement()
+     */
+    public long adjustCount() {
+        return adjustments.sum();
+    }
+
+    /**
+     * Veces que un CAS falló porque otro hilo cambió el mismo producto y hubo que reintentar
+     */
+    public long casRetryCount() {
+        return casRetries.sum();
+    }
+
+    /**
+     * Ajustes rechazados por stock insuficiente
+     */
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Publica en registry, con el prefijo name, los gauges size y totalUnits y los contadores
+     * adjustments, casRetries y rejected; se leen de los LongAdder al consultar
+     */
+    public void registerMetrics(MetricsRegistry registry, String name) {
+        registry.gauge(name + ".size", this::size);
+        registry.gauge(name + ".totalUnits", this::totalUnits);
+        registry.counter(name + ".adjustments", this::adjustCount);
+        registry.counter(name + ".casRetries", this::casRetryCount);
+        registry.counter(name + ".rejected", this::rejectedCount);
+    }
+
+    /**
+     * Suma de las cantidades de todos los productos
+     */
+    public long totalUnits() {
+        return units.sum();
+    }
+
+    /**
+     * Recorrido débilmente consistente: puede o no reflejar cambios concurrentes
+     */
+    public void forEach(BiConsumer<? super K, Long> action) {
+        stock.forEach((product, counter) -> {
+            long current = counter.get();
+            if (current != REMOVED) {
+                action.accept(product, current);
+            }
+        });
+    }
+
+    /**
+     * Elimina los productos que cumplen la condición y devuelve cuántos eliminó.
+     * Reemplaza el Iterator.remove() sobre el mapa sincronizado sin bloqueo externo.
+     */
+    public int removeIf(BiPredicate<? super K, Long> condition) {
+        int removed = 0;
+        for (Map.Entry<K, AtomicLong> entry : stock.entrySet()) {
+            AtomicLong counter = entry.getValue();
+            long current = counter.get();
+            if (current != REMOVED && condition.test(entry.getKey(), current)
+                    && counter.compareAndSet(current, REMOVED)) {
+                stock.remove(entry.getKey(), counter);
+                products.decrement();
+                units.add(-current);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Copia inmutable del inventario en este momento (débilmente consistente)
+     */
+    public Map<K, Long> snapshot() {
+        Map<K, Long> copy = new HashMap<>((int) (stock.size() / 0.75f) + 1);
+        forEach(copy::put);
+        return Collections.unmodifiableMap(copy);
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+}
@@ -1,5 +1,8 @@
 package com.bcp.concurrentcollection;
 
+import com.bcp.metrics.LatencyRegistry;
+import com.bcp.metrics.LatencyTimer;
+
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
@@ -104,6 +107,51 @@ public class SpecializedCollectionsExample {
         
         System.out.println("Final synchronized map: " + syncMap);
         
+        // ===== INVENTORY MAP EXAMPLE =====
+        System.out.println("\n=== Inventory Map Example ===");
+        
+        InventoryMap<Product> inventory = new InventoryMap<>();
+        inventory.adjust(new Food("Cookie"), 5);
+        inventory.adjust(new Drink("Coffee"), 3);
+        inventory.adjust(new Food("Pizza"), 2);
+        
+        System.out.println("Inventory: " + inventory);
+        
+        // Each product has its own atomic counter: no single lock for the whole map
+        System.out.println("\n--- Thread Safety Demo with Inventory Map ---");
+        ExecutorService inventoryExecutor = Executors.newFixedThreadPool(3);
+        
+        // Thread 1: Receive stock
+        inventoryExecutor.submit(() -> {
+            for (int i = 0; i < 1000; i++) {
+                inventory.increment(new Food("Cookie"));
+            }
+        });
+        
+        // Thread 2: Sell stock (tryAdjust never lets the quantity go negative)
+        inventoryExecutor.submit(() -> {
+            for (int i = 0; i < 1000; i++) {
+                inventory.tryAdjust(new Food("Cookie"), -1);
+            }
+        });
+        
+        // Thread 3: Remove products with low stock (weakly consistent, no external lock needed)
+        inventoryExecutor.submit(() -> {
+            int removed = inventory.removeIf((product, quantity) -> quantity <= 2);
+            System.out.println("Thread 3 removed " + removed + " low-stock products");
+        });
+        
+        inventoryExecutor.shutdown();
+        try {
+            inventoryExecutor.awaitTermination(3, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        System.out.println("Products in stock: " + inventory.size());
+        System.out.println("Total units: " + inventory.totalUnits());
+        System.out.println("Final inventory snapshot: " + inventory.snapshot());
+        
         // ===== COPY-ON-WRITE LIST EXAMPLE =====
         System.out.println("\n=== Copy-On-Write List Example ===");
         
@@ -205,21 +253,41 @@ public class SpecializedCollectionsExample {
         // ===== PERFORMANCE CONSIDERATIONS =====
         System.out.println("\n=== Performance Considerations ===");
         
-        long startTime = System.currentTimeMillis();
+        // Each write is timed on its own: percentiles instead of one millisecond total
+        LatencyRegistry latency = new LatencyRegistry();
+        LatencyTimer syncPut = latency.timer("synchronizedMap.put");
+        for (int i = 0; i < 1000; i++) {
+            Food food = new Food("Item_" + i);
+            int units = i;
+            syncPut.time(() -> syncMap.put(food, units));
+        }
+        
+        LatencyTimer inventoryAdjust = latency.timer("inventoryMap.adjust");
         for (int i = 0; i < 1000; i++) {
-            syncMap.put(new Food("Item_" + i), i);
+            Food food = new Food("Item_" + i);
+            int units = i + 1;
+            inventoryAdjust.time(() -> inventory.adjust(food, units));
         }
-        long syncTime = System.currentTimeMillis() - startTime;
         
-        startTime = System.currentTimeMillis();
+        LatencyTimer cowAdd = latency.timer("copyOnWriteList.add");
         for (int i = 0; i < 1000; i++) {
-            copyOnWriteList.add(new Food("Item_" + i));
+            Food food = new Food("Item_" + i);
+            cowAdd.time(() -> copyOnWriteList.add(food));
         }
-        long cowTime = System.currentTimeMillis() - startTime;
         
-        System.out.println("Synchronized Map time: " + syncTime + "ms");
-        System.out.println("Copy-On-Write List time: " + cowTime + "ms");
+        // Same 1000 writes staged in one batch: a single array copy instead of 1000
+        BatchingCopyOnWriteList<Product> batchingList = new BatchingCopyOnWriteList<>(copyOnWriteList);
+        LatencyTimer batchMutate = latency.timer("batchingList.mutate(1000)");
+        batchMutate.time(() -> batchingList.mutate(list -> {
+            for (int i = 0; i < 1000; i++) {
+                list.add(new Food("Item_" + i));
+            }
+        }));
+        
+        System.out.print(latency.report());
+        System.out.println("Batching Copy-On-Write List size: " + batchingList.size() + " items");
         System.out.println("Note: Copy-On-Write is slower for writes but faster for reads");
+        System.out.println("Note: single-threaded timings; see InventoryMapBenchmark and BatchingCopyOnWriteListBenchmark");
     }
 }
 
@@ -0,0 +1,295 @@
+package com.bcp.concurrentstreams;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * Collectors de agrupación con diccionario: cada clave (por ejemplo la categoría) recibe
+ * un id entero denso la primera vez que aparece y los acumuladores son arreglos primitivos
+ * indexados por ese id.
+ *
+ * Cada hilo del stream paralelo trabaja con su propio contenedor (sin bloqueos ni bins
+ * compartidos como en groupingByConcurrent) y los contenedores se combinan al final
+ * reasignando ids, algo barato porque el número de categorías es pequeño.
+ *
+ * Reemplazos directos:
+ * - groupingBy(Product::getCategory, counting())            -> counting(Product::getCategory)
+ * - groupingBy(Product::getCategory, summingDouble(mapper)) -> summingDouble(Product::getCategory, mapper)
+ * - groupingBy(Product::getCategory, maxBy(comparator))     -> maxBy(Product::getCategory, comparator)
+ */
+public final class CategoryCollectors {
+
+    private CategoryCollectors() {
+    }
+
+    public static <T, K> Collector<T, ?, Map<K, Long>> counting(Function<? super T, ? extends K> classifier) {
+        return of(classifier, () -> new CountingGroups<K, T>(), CountingGroups::result);
+    }
+
+    public static <T, K> Collector<T, ?, Map<K, Long>> summingLong(Function<? super T, ? extends K> classifier,
+                                                                  ToLongFunction<? super T> mapper) {
+        return of(classifier, () -> new LongSumGroups<K, T>(mapper), LongSumGroups::result);
+    }
+
+    /**
+     * Usa la misma suma compensada (Kahan) que Collectors.summingDouble,
+     * por lo que en un stream secuencial el resultado es idéntico
+     */
+    public static <T, K> Collector<T, ?, Map<K, Double>> summingDouble(Function<? super T, ? extends K> classifier,
+                                                                      ToDoubleFunction<? super T> mapper) {
+        return of(classifier, () -> new DoubleSumGroups<K, T>(mapper), DoubleSumGroups::result);
+    }
+
+    /**
+     * Ante empate conserva el primer elemento en orden de encuentro, igual que maxBy
+     */
+    public static <T, K> Collector<T, ?, Map<K, Optional<T>>> maxBy(Function<? super T, ? extends K> classifier,
+                                                                   Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator);
+        return of(classifier, () -> new ExtremeGroups<K, T>(BinaryOperator.maxBy(comparator)), ExtremeGroups::result);
+    }
+
+    public static <T, K> Collector<T, ?, Map<K, Optional<T>>> minBy(Function<? super T, ? extends K> classifier,
+                                                                   Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator);
+        return of(classifier, () -> new ExtremeGroups<K, T>(BinaryOperator.minBy(comparator)), ExtremeGroups::result);
+    }
+
+    private static <T, K, A extends DenseGroups<K, T>, R> Collector<T, A, R> of(Function<? super T, ? extends K> classifier,
+                                                                               Supplier<A> supplier,
+                                                                               Function<A, R> finisher) {
+        Objects.requireNonNull(classifier);
+        return Collector.of(
+                supplier,
+                (groups, element) -> groups.accumulate(groups.idOf(Objects.requireNonNull(
+                        classifier.apply(element), "element cannot be mapped to a null key")), element),
+                (left, right) -> {
+                    left.combine(right);
+                    return left;
+                },
+                finisher);
+    }
+
+    /**
+     * Diccionario clave -> id local a un contenedor más los arreglos de acumulación.
+     * Con pocas claves la búsqueda compara referencias (las categorías suelen ser el
+     * mismo String literal) antes de recurrir al HashMap.
+     */
+    private abstract static class DenseGroups<K, T> {
+
+        static final int INITIAL_CAPACITY = 8;
+        private static final int IDENTITY_SCAN_LIMIT = 16;
+
+        private final Map<K, Integer> ids = new HashMap<>();
+        private Object[] keys = new Object[INITIAL_CAPACITY];
+        int size;
+
+        final int idOf(K key) {
+            Object[] known = keys;
+            int limit = Math.min(size, IDENTITY_SCAN_LIMIT);
+            for (int i = 0; i < limit; i++) {
+                if (known[i] == key) {
+                    return i;
+                }
+            }
+            Integer id = ids.get(key);
+            return id != null ? id : intern(key);
+        }
+
+        private int intern(K key) {
+            int id = size++;
+            if (id == keys.length) {
+                keys = Arrays.copyOf(keys, id * 2);
+                grow(id * 2);
+            }
+            keys[id] = key;
+            ids.put(key, id);
+            return id;
+        }
+
+        @SuppressWarnings("unchecked")
+        final K key(int id) {
+            return (K) keys[id];
+        }
+
+        final void combine(DenseGroups<K, T> other) {
+            for (int otherId = 0; otherId < other.size; otherId++) {
+                merge(idOf(other.key(otherId)), other, otherId);
+            }
+        }
+
+        final <V> Map<K, V> toMap(IntFunction<V> value) {
+            Map<K, V> result = new HashMap<>((int) (size / 0.75f) + 1);
+            for (int id = 0; id < size; id++) {
+                result.put(key(id), value.apply(id));
+            }
+            return result;
+        }
+
+        /**
+         * Amplía los arreglos de acumulación a la nueva capacidad
+         */
+        abstract void grow(int capacity);
+
+        abstract void accumulate(int id, T element);
+
+        /**
+         * Combina el slot otherId de other dentro del slot id de este contenedor
+         */
+        abstract void merge(int id, DenseGroups<K, T> other, int otherId);
+    }
+
+    private static final class CountingGroups<K, T> extends DenseGroups<K, T> {
+
+        private long[] counts = new long[INITIAL_CAPACITY];
+
+        @Override
+        void grow(int capacity) {
+            counts = Arrays.copyOf(counts, capacity);
+        }
+
+        @Override
+        void accumulate(int id, T element) {
+            counts[id]++;
+        }
+
+        @Override
+        void merge(int id, DenseGroups<K, T> other, int otherId) {
+            counts[id] += ((CountingGroups<K, T>) other).counts[otherId];
+        }
+
+        Map<K, Long> result() {
+            return toMap(id -> counts[id]);
+        }
+    }
+
+    private static final class LongSumGroups<K, T> extends DenseGroups<K, T> {
+
+        private final ToLongFunction<? super T> mapper;
+        private long[] sums = new long[INITIAL_CAPACITY];
+
+        LongSumGroups(ToLongFunction<? super T> mapper) {
+            this.mapper = Objects.requireNonNull(mapper);
+        }
+
+        @Override
+        void grow(int capacity) {
+            sums = Arrays.copyOf(sums, capacity);
+        }
+
+        @Override
+        void accumulate(int id, T element) {
+            sums[id] += mapper.applyAsLong(element);
+        }
+
+        @Override
+        void merge(int id, DenseGroups<K, T> other, int otherId) {
+            sums[id] += ((LongSumGroups<K, T>) other).sums[otherId];
+        }
+
+        Map<K, Long> result() {
+            return toMap(id -> sums[id]);
+        }
+    }
+
+    /**
+     * Tres arreglos paralelos como el double[3] de Collectors.summingDouble:
+     * suma alta, compensación y suma simple (para infinitos)
+     */
+    private static final class DoubleSumGroups<K, T> extends DenseGroups<K, T> {
+
+        private final ToDoubleFunction<? super T> mapper;
+        private double[] sums = new double[INITIAL_CAPACITY];
+        private double[] compensations = new double[INITIAL_CAPACITY];
+        private double[] simpleSums = new double[INITIAL_CAPACITY];
+
+        DoubleSumGroups(ToDoubleFunction<? super T> mapper) {
+            this.mapper = Objects.requireNonNull(mapper);
+        }
+
+        @Override
+        void grow(int capacity) {
+            sums = Arrays.copyOf(sums, capacity);
+            compensations = Arrays.copyOf(compensations, capacity);
+            simpleSums = Arrays.copyOf(simpleSums, capacity);
+        }
+
+        @Override
+        void accumulate(int id, T element) {
+            double value = mapper.applyAsDouble(element);
+            add(id, value);
+            simpleSums[id] += value;
+        }
+
+        @Override
+        void merge(int id, DenseGroups<K, T> other, int otherId) {
+            DoubleSumGroups<K, T> that = (DoubleSumGroups<K, T>) other;
+            add(id, that.sums[otherId]);
+            simpleSums[id] += that.simpleSums[otherId];
+            add(id, -that.compensations[otherId]);
+        }
+
+        private void add(int id, double value) {
+            double tmp = value - compensations[id];
+            double sum = sums[id];
+            double velvel = sum + tmp;
+            compensations[id] = (velvel - sum) - tmp;
+            sums[id] = velvel;
+        }
+
+        Map<K, Double> result() {
+            return toMap(id -> {
+                double tmp = sums[id] - compensations[id];
+                return Double.isNaN(tmp) && Double.isInfinite(simpleSums[id]) ? simpleSums[id] : tmp;
+            });
+        }
+    }
+
+    private static final class ExtremeGroups<K, T> extends DenseGroups<K, T> {
+
+        private final BinaryOperator<T> chooser;
+        private Object[] best = new Object[INITIAL_CAPACITY];
+
+        ExtremeGroups(BinaryOperator<T> chooser) {
+            this.chooser = chooser;
+        }
+
+        @Override
+        void grow(int capacity) {
+            best = Arrays.copyOf(best, capacity);
+        }
+
+        @Override
+        void accumulate(int id, T element) {
+            offer(id, element);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void merge(int id, DenseGroups<K, T> other, int otherId) {
+            offer(id, (T) ((ExtremeGroups<K, T>) other).best[otherId]);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void offer(int id, T element) {
+            T current = (T) best[id];
+            best[id] = current == null ? element : chooser.apply(current, element);
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<K, Optional<T>> result() {
+            return toMap(id -> Optional.of((T) best[id]));
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.bcp.concurrentstreams;
 
+import com.bcp.metrics.LatencyRegistry;
+import com.bcp.metrics.LatencySnapshot;
+import com.bcp.metrics.LatencyTimer;
+
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -148,6 +152,21 @@ public class ConcurrentStreamsExample {
         });
         System.out.println();
 
+        // Agrupación con diccionario de categorías
+        System.out.println("--- CategoryCollectors (diccionario de categorías) ---");
+        Map<String, Long> countByCategory = list.stream()
+            .parallel()
+            .collect(CategoryCollectors.counting(p -> p.getCategory()));
+        Map<String, Double> sumByCategory = list.stream()
+            .parallel()
+            .collect(CategoryCollectors.summingDouble(p -> p.getCategory(), p -> p.getPrice().doubleValue()));
+
+        System.out.println("Cada hilo acumula en arreglos propios indexados por id de categoría:");
+        countByCategory.forEach((category, count) ->
+            System.out.println("  " + category + ": " + count + " productos, $" +
+                String.format("%.2f", sumByCategory.get(category))));
+        System.out.println();
+
         // counting con parallel
         System.out.println("--- counting con parallel ---");
         long totalProducts = list.stream()
@@ -171,25 +190,34 @@ public class ConcurrentStreamsExample {
         // ========================================
         System.out.println("=== 5. COMPARACIÓN: SECUENCIAL vs PARALELO ===");
 
-        // Medir tiempo de ejecución secuencial
-        long startTime = System.currentTimeMillis();
-        List<BigDecimal> sequentialPrices = list.stream()
-            .map(p -> p.getPrice())
-            .collect(Collectors.toList());
-        long sequentialTime = System.currentTimeMillis() - startTime;
-
-        // Medir tiempo de ejecución paralela
-        startTime = System.currentTimeMillis();
-        List<BigDecimal> parallelPrices = list.stream()
-            .parallel()
-            .map(p -> p.getPrice())
-            .collect(Collectors.toList());
-        long parallelTime = System.currentTimeMillis() - startTime;
+        // Cada versión se mide 1000 veces: percentiles en lugar de una sola medición en ms
+        LatencyRegistry latency = new LatencyRegistry();
+        LatencyTimer sequentialTimer = latency.timer("stream secuencial");
+        LatencyTimer parallelTimer = latency.timer("stream paralelo");
+        List<BigDecimal> sequentialPrices = null;
+        List<BigDecimal> parallelPrices = null;
+        for (int i = 0; i < 1000; i++) {
+            long startTime = sequentialTimer.start();
+            sequentialPrices = list.stream()
+                .map(p -> p.getPrice())
+                .collect(Collectors.toList());
+            sequentialTimer.stop(startTime);
 
-        System.out.println("Comparación de rendimiento:");
-        System.out.println("  Secuencial: " + sequentialTime + "ms");
-        System.out.println("  Paralelo: " + parallelTime + "ms");
-        System.out.println("  Mejora: " + String.format("%.1f", (double)sequentialTime/parallelTime) + "x");
+            startTime = parallelTimer.start();
+            parallelPrices = list.stream()
+                .parallel()
+                .map(p -> p.getPrice())
+                .collect(Collectors.toList());
+            parallelTimer.stop(startTime);
+        }
+        LatencySnapshot sequentialTime = sequentialTimer.snapshot();
+        LatencySnapshot parallelTime = parallelTimer.snapshot();
+
+        System.out.println("Comparación de rendimiento (" + sequentialPrices.size() + " y " + parallelPrices.size() + " precios):");
+        System.out.print(latency.report());
+        System.out.println("  Mejora (p50): " + String.format("%.1f", (double) sequentialTime.p50() / parallelTime.p50()) + "x");
+        System.out.println("  Nota: con 11 productos el paralelo paga más en coordinar que en calcular;");
+        System.out.println("        ver ConcurrentStreamsBenchmark en el módulo benchmarks (JMH).");
         System.out.println();
 
         // ========================================
@@ -248,6 +276,27 @@ public class ConcurrentStreamsExample {
         });
         System.out.println();
 
+        // El mismo análisis en una sola pasada: sin listas intermedias ni Map<String, Object>
+        System.out.println("Análisis de productos por categoría en una sola pasada (PriceStatistics):");
+        Map<String, PriceStatistics> statistics = list.stream()
+            .parallel()
+            .collect(Collectors.groupingByConcurrent(
+                p -> p.getCategory(),
+                PriceStatistics.ofPrices(0.01)
+            ));
+
+        statistics.forEach((category, stats) -> {
+            System.out.println("  " + category + ":");
+            System.out.println("    - Cantidad: " + stats.count());
+            System.out.println("    - Precio total: $" + String.format("%.2f", stats.sum()));
+            System.out.println("    - Precio promedio: $" + String.format("%.2f", stats.mean()));
+            System.out.println("    - Mínimo / máximo: $" + String.format("%.2f", stats.min())
+                + " / $" + String.format("%.2f", stats.max()));
+            System.out.println("    - Desviación estándar: $" + String.format("%.2f", stats.standardDeviation()));
+            System.out.println("    - Mediana (±1%): $" + String.format("%.2f", stats.median().orElse(0.0)));
+        });
+        System.out.println();
+
         // ========================================
         // 8. RESUMEN
         // ========================================
@@ -0,0 +1,186 @@
+package com.bcp.concurrentstreams;
+
+/**
+ * Histograma logarítmico para percentiles aproximados con error relativo acotado.
+ *
+ * Cada valor positivo cae en el bucket i tal que gamma^(i-1) < valor <= gamma^i, con
+ * gamma = (1 + accuracy) / (1 - accuracy); el percentil se estima con el centro del bucket,
+ * que está a menos de accuracy (por ejemplo 1%) del valor real. La memoria depende del rango
+ * de valores y no de cuántos hay: de $0.01 a $1,000,000 con 1% son unos 920 contadores.
+ * Si se supera maxBuckets se juntan los buckets más bajos, perdiendo precisión solo en los
+ * percentiles más bajos.
+ *
+ * Dos histogramas con la misma precisión se combinan sumando contadores, por lo que sirve
+ * como acumulador en streams paralelos. Los métodos que modifican son de paquete: una vez
+ * entregado dentro de PriceStatistics el histograma no cambia.
+ */
+public final class PriceHistogram {
+
+    public static final double DEFAULT_ACCURACY = 0.01;
+    public static final int DEFAULT_MAX_BUCKETS = 2048;
+
+    private final double accuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final int maxBuckets;
+    // counts[i] es el bucket offset + i; low y high son el primer y último bucket usados
+    private long[] counts = new long[0];
+    private int offset;
+    private int low;
+    private int high;
+    private long zeroCount;
+    private long count;
+
+    PriceHistogram(double accuracy, int maxBuckets) {
+        checkAccuracy(accuracy);
+        if (maxBuckets < 1) {
+            throw new IllegalArgumentException("maxBuckets debe ser positivo: " + maxBuckets);
+        }
+        this.accuracy = accuracy;
+        this.gamma = (1 + accuracy) / (1 - accuracy);
+        this.logGamma = Math.log(gamma);
+        this.maxBuckets = maxBuckets;
+    }
+
+    PriceHistogram(double accuracy) {
+        this(accuracy, DEFAULT_MAX_BUCKETS);
+    }
+
+    static void checkAccuracy(double accuracy) {
+        if (!(accuracy > 0 && accuracy < 1)) {
+            throw new IllegalArgumentException("La precisión debe estar entre 0 y 1: " + accuracy);
+        }
+    }
+
+    void add(double value) {
+        if (value > 0 && value != Double.POSITIVE_INFINITY) {
+            increment(bucketOf(value), 1);
+        } else if (value == 0) {
+            zeroCount++;
+        } else {
+            throw new IllegalArgumentException("El histograma solo admite valores finitos no negativos: " + value);
+        }
+        count++;
+    }
+
+    void merge(PriceHistogram other) {
+        if (other.gamma != gamma) {
+            throw new IllegalArgumentException("No se pueden combinar histogramas con distinta precisión");
+        }
+        if (other.counts.length != 0) {
+            for (int b = other.low; b <= other.high; b++) {
+                long amount = other.counts[b - other.offset];
+                if (amount != 0) {
+                    increment(b, amount);
+                }
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    private int bucketOf(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    private void increment(int bucket, long amount) {
+        if (counts.length == 0) {
+            counts = new long[Math.min(16, maxBuckets)];
+            offset = bucket - counts.length / 2;
+            low = bucket;
+            high = bucket;
+        } else if (bucket < low || bucket > high) {
+            bucket = extendTo(bucket);
+        }
+        counts[bucket - offset] += amount;
+    }
+
+    /**
+     * Amplía el rango usado para incluir bucket; si pasa de maxBuckets se juntan los más
+     * bajos en uno. Devuelve el bucket donde contar (el más bajo si bucket quedó debajo)
+     */
+    private int extendTo(int bucket) {
+        int newLow = Math.min(low, bucket);
+        int newHigh = Math.max(high, bucket);
+        long collapsed = 0;
+        if ((long) newHigh - newLow + 1 > maxBuckets) {
+            newLow = newHigh - maxBuckets + 1;
+            for (int b = low; b <= high && b < newLow; b++) {
+                collapsed += counts[b - offset];
+                counts[b - offset] = 0;
+            }
+            bucket = Math.max(bucket, newLow);
+        }
+        if (newLow < offset || newHigh >= offset + counts.length) {
+            int needed = newHigh - newLow + 1;
+            int capacity = Math.max(needed, Math.min(maxBuckets, counts.length * 2));
+            // El margen queda del lado hacia donde creció el rango
+            int newOffset = newLow < offset ? newHigh - capacity + 1 : newLow;
+            long[] grown = new long[capacity];
+            int from = Math.max(low, newLow);
+            if (from <= high) {
+                System.arraycopy(counts, from - offset, grown, from - newOffset, high - from + 1);
+            }
+            counts = grown;
+            offset = newOffset;
+        }
+        low = newLow;
+        high = newHigh;
+        counts[low - offset] += collapsed;
+        return bucket;
+    }
+
+    /**
+     * Percentil aproximado, q entre 0 y 1 (0.5 es la mediana); NaN si no hay valores
+     */
+    public double quantile(double q) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("q debe estar entre 0 y 1: " + q);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        // Rango del valor buscado en orden ascendente, como en un arreglo ordenado
+        long rank = (long) Math.floor(q * (count - 1));
+        if (rank < zeroCount) {
+            return 0;
+        }
+        long seen = zeroCount;
+        for (int b = low; b <= high; b++) {
+            seen += counts[b - offset];
+            if (seen > rank) {
+                return valueOf(b);
+            }
+        }
+        return valueOf(high);
+    }
+
+    /**
+     * Centro del bucket: 2 gamma^i / (gamma + 1), a menos de accuracy de cualquier valor del bucket
+     */
+    private double valueOf(int bucket) {
+        return 2 * Math.pow(gamma, bucket) / (gamma + 1);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double accuracy() {
+        return accuracy;
+    }
+
+    /**
+     * Buckets entre el menor y el mayor valor, para estimar la memoria del histograma
+     */
+    public int bucketCount() {
+        return counts.length == 0 ? 0 : high - low + 1;
+    }
+
+    @Override
+    public String toString() {
+        return "PriceHistogram{count=" + count + ", accuracy=" + accuracy
+                + ", p50=" + quantile(0.5) + ", p95=" + quantile(0.95) + ", p99=" + quantile(0.99)
+                + ", buckets=" + bucketCount() + "}";
+    }
+}
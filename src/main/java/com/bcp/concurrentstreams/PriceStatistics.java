@@ -0,0 +1,162 @@
+package com.bcp.concurrentstreams;
+
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+
+/**
+ * Estadísticas de precios calculadas en una sola pasada: cantidad, suma, mínimo, máximo,
+ * promedio, varianza y, si se piden, percentiles aproximados con un PriceHistogram.
+ *
+ * Reemplaza el patrón toList() + un stream por estadística: el Collector no guarda los
+ * elementos, solo un acumulador de tamaño fijo por grupo, y los acumuladores de distintos
+ * hilos se combinan sin perder precisión (suma compensada de Kahan, como summingDouble,
+ * y varianza con el algoritmo de Welford / Chan).
+ *
+ * @param min menor valor, NaN si no hubo elementos
+ * @param max mayor valor, NaN si no hubo elementos
+ * @param variance varianza poblacional (dividida por count)
+ * @param histogram percentiles aproximados, null si el Collector no los calculó
+ */
+public record PriceStatistics(long count, double sum, double min, double max, double mean,
+                              double variance, PriceHistogram histogram) {
+
+    /**
+     * Estadísticas del precio de los productos, sin percentiles
+     */
+    public static Collector<Product, ?, PriceStatistics> ofPrices() {
+        return collector(p -> p.getPrice().doubleValue());
+    }
+
+    /**
+     * Estadísticas del precio de los productos con percentiles de error relativo accuracy (0.01 = 1%)
+     */
+    public static Collector<Product, ?, PriceStatistics> ofPrices(double accuracy) {
+        return collector(p -> p.getPrice().doubleValue(), accuracy);
+    }
+
+    public static <T> Collector<T, ?, PriceStatistics> collector(ToDoubleFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper);
+        return Collector.of(
+                () -> new Accumulator(null),
+                (acc, element) -> acc.add(mapper.applyAsDouble(element)),
+                Accumulator::combine,
+                Accumulator::finish);
+    }
+
+    public static <T> Collector<T, ?, PriceStatistics> collector(ToDoubleFunction<? super T> mapper, double accuracy) {
+        Objects.requireNonNull(mapper);
+        PriceHistogram.checkAccuracy(accuracy);
+        return Collector.of(
+                () -> new Accumulator(new PriceHistogram(accuracy)),
+                (acc, element) -> acc.add(mapper.applyAsDouble(element)),
+                Accumulator::combine,
+                Accumulator::finish);
+    }
+
+    /**
+     * Desviación estándar poblacional
+     */
+    public double standardDeviation() {
+        return Math.sqrt(variance);
+    }
+
+    /**
+     * Varianza muestral (dividida por count - 1)
+     */
+    public double sampleVariance() {
+        return count > 1 ? variance * count / (count - 1) : 0.0;
+    }
+
+    /**
+     * Percentil aproximado (q entre 0 y 1); vacío si no se pidieron percentiles o no hay valores
+     */
+    public OptionalDouble percentile(double q) {
+        if (histogram == null || count == 0) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(histogram.quantile(q));
+    }
+
+    public OptionalDouble median() {
+        return percentile(0.5);
+    }
+
+    /**
+     * Acumulador mutable de un hilo / grupo
+     */
+    private static final class Accumulator {
+        private final PriceHistogram histogram;
+        private long count;
+        // Suma de Kahan: suma alta, compensación y suma simple (para infinitos), como summingDouble
+        private double sum;
+        private double compensation;
+        private double simpleSum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+        // Welford: promedio parcial y suma de cuadrados de las desviaciones
+        private double runningMean;
+        private double squaredDeviations;
+
+        Accumulator(PriceHistogram histogram) {
+            this.histogram = histogram;
+        }
+
+        void add(double value) {
+            count++;
+            addToSum(value);
+            simpleSum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            double delta = value - runningMean;
+            runningMean += delta / count;
+            squaredDeviations += delta * (value - runningMean);
+            if (histogram != null) {
+                histogram.add(value);
+            }
+        }
+
+        Accumulator combine(Accumulator other) {
+            if (other.count == 0) {
+                return this;
+            }
+            if (count == 0) {
+                return other;
+            }
+            long total = count + other.count;
+            double delta = other.runningMean - runningMean;
+            runningMean += delta * other.count / total;
+            squaredDeviations += other.squaredDeviations + delta * delta * count * other.count / total;
+            count = total;
+            addToSum(other.sum);
+            addToSum(-other.compensation);
+            simpleSum += other.simpleSum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            if (histogram != null) {
+                histogram.merge(other.histogram);
+            }
+            return this;
+        }
+
+        private void addToSum(double value) {
+            double tmp = value - compensation;
+            double velvel = sum + tmp;
+            compensation = (velvel - sum) - tmp;
+            sum = velvel;
+        }
+
+        PriceStatistics finish() {
+            if (count == 0) {
+                return new PriceStatistics(0, 0.0, Double.NaN, Double.NaN, 0.0, 0.0, histogram);
+            }
+            double total = sum - compensation;
+            if (Double.isNaN(total) && Double.isInfinite(simpleSum)) {
+                total = simpleSum;
+            }
+            double variance = Math.max(0.0, squaredDeviations / count);
+            return new PriceStatistics(count, total, min, max, total / count, variance, histogram);
+        }
+    }
+}
@@ -218,7 +218,32 @@ public class CustomFunctionalInterfaces {
         System.out.println("      - Flexibilidad en implementación");
         System.out.println("      - Compatibilidad con lambdas");
         System.out.println();
-        
+
+        // Demo 8: Las mismas interfaces combinadas en un motor de reglas de una sola pasada
+        System.out.println("8. DiscountRuleEngine - Validadores y descuentos en una sola pasada:");
+        System.out.println();
+
+        DiscountRuleEngine engine = DiscountRuleEngine.builder()
+            .validator("nombre-largo", lambdaValidator)
+            .rule("vip", 10, expensiveValidator, vipDiscount)
+            .percentOffAbove("bulk", 5, BigDecimal.valueOf(50), 0.20)
+            .rule("seasonal", 1, seasonalDiscount)
+            .policy(DiscountRuleEngine.Policy.BEST_DISCOUNT)
+            .build();
+
+        System.out.println("   Política: " + engine.policy());
+        for (DiscountRuleEngine.Decision decision : engine.evaluateAll(products)) {
+            if (decision.accepted()) {
+                System.out.println("   ✅ " + decision.product().getName() + ": -$" + decision.discount()
+                    + " (" + decision.rule() + ") → $" + decision.finalPrice());
+            } else {
+                System.out.println("   ❌ " + decision.product().getName() + " (descartado por validador)");
+            }
+        }
+        System.out.println("   Aciertos por regla: " + engine.hitCounts());
+        System.out.println("   Rechazos por validador: " + engine.rejectionCounts());
+        System.out.println();
+
         System.out.println("=== Demo Completado ===");
     }
 } 
\ No newline at end of file
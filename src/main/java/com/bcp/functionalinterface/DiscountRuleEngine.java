@@ -0,0 +1,327 @@
+package com.bcp.functionalinterface;
+
+import com.bcp.functionalinterface.CustomFunctionalInterfaces.DiscountCalculator;
+import com.bcp.functionalinterface.CustomFunctionalInterfaces.ProductProcessor;
+import com.bcp.functionalinterface.CustomFunctionalInterfaces.ProductValidator;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Motor de reglas de descuento que junta ProductValidator y DiscountCalculator en una
+ * sola pasada por producto, en lugar de un bucle por cada interfaz.
+ *
+ * El precio se lee una sola vez por producto y se comparte entre las condiciones y
+ * descuentos por precio (whenPriceAbove, percentOff); los validadores cortan la
+ * evaluación en cuanto uno falla. Las reglas se evalúan por prioridad descendente y
+ * el Policy decide si gana la primera, la mayor o si se acumulan.
+ *
+ * El motor es inmutable y seguro para usar desde varios hilos; los contadores
+ * de aciertos por regla usan LongAdder.
+ */
+public final class DiscountRuleEngine {
+
+    /**
+     * Cómo se combinan las reglas que aplican a un mismo producto
+     */
+    public enum Policy {
+        /** Solo la regla de mayor prioridad que aplica */
+        FIRST_MATCH,
+        /** El mayor descuento entre las reglas que aplican */
+        BEST_DISCOUNT,
+        /** La suma de todos los descuentos, sin superar el precio */
+        STACK
+    }
+
+    /**
+     * Resultado de evaluar un producto: rule es null si no aplicó ninguna regla
+     * o si el producto no pasó los validadores
+     */
+    public record Decision(Product product, boolean accepted, BigDecimal discount, String rule) {
+
+        public BigDecimal finalPrice() {
+            return product.getPrice().subtract(discount);
+        }
+    }
+
+    /**
+     * Condición y descuento compilados: reciben el precio ya leído
+     */
+    @FunctionalInterface
+    private interface PriceCondition {
+        boolean test(Product product, BigDecimal price);
+    }
+
+    @FunctionalInterface
+    private interface PriceDiscount {
+        BigDecimal apply(Product product, BigDecimal price);
+    }
+
+    private record Rule(String name, int priority, PriceCondition condition, PriceDiscount discount) {
+    }
+
+    private final PriceCondition[] validators;
+    private final String[] validatorNames;
+    private final Rule[] rules;
+    private final Policy policy;
+    private final LongAdder[] ruleHits;
+    private final LongAdder[] rejections;
+    private final LongAdder evaluated = new LongAdder();
+
+    private DiscountRuleEngine(Builder builder) {
+        this.validators = builder.validators.toArray(new PriceCondition[0]);
+        this.validatorNames = builder.validatorNames.toArray(new String[0]);
+        // Orden estable: a igual prioridad se respeta el orden de registro
+        this.rules = builder.rules.stream()
+                .sorted(Comparator.comparingInt(Rule::priority).reversed())
+                .toArray(Rule[]::new);
+        this.policy = builder.policy;
+        this.ruleHits = newCounters(rules.length);
+        this.rejections = newCounters(validators.length);
+    }
+
+    private static LongAdder[] newCounters(int size) {
+        LongAdder[] counters = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Policy policy() {
+        return policy;
+    }
+
+    public Decision evaluate(Product product) {
+        evaluated.increment();
+        BigDecimal price = product.getPrice();
+        for (int i = 0; i < validators.length; i++) {
+            if (!validators[i].test(product, price)) {
+                rejections[i].increment();
+                return new Decision(product, false, BigDecimal.ZERO, null);
+            }
+        }
+
+        BigDecimal discount = BigDecimal.ZERO;
+        String applied = null;
+        for (int i = 0; i < rules.length; i++) {
+            Rule rule = rules[i];
+            if (!rule.condition().test(product, price)) {
+                continue;
+            }
+            BigDecimal amount = rule.discount().apply(product, price);
+            ruleHits[i].increment();
+            switch (policy) {
+                case FIRST_MATCH -> {
+                    return new Decision(product, true, amount, rule.name());
+                }
+                case BEST_DISCOUNT -> {
+                    if (applied == null || amount.compareTo(discount) > 0) {
+                        discount = amount;
+                        applied = rule.name();
+                    }
+                }
+                case STACK -> {
+                    discount = discount.add(amount);
+                    applied = applied == null ? rule.name() : applied + "+" + rule.name();
+                }
+            }
+        }
+        if (policy == Policy.STACK && discount.compareTo(price) > 0) {
+            discount = price;
+        }
+        return new Decision(product, true, discount, applied);
+    }
+
+    public List<Decision> evaluateAll(Collection<Product> products) {
+        return evaluateAll(products, false);
+    }
+
+    public List<Decision> evaluateAll(Collection<Product> products, boolean parallel) {
+        return stream(products, parallel).map(this::evaluate).toList();
+    }
+
+    /**
+     * Suma de descuentos de los productos aceptados, sin materializar las decisiones
+     */
+    public BigDecimal totalDiscount(Collection<Product> products, boolean parallel) {
+        return stream(products, parallel)
+                .map(p -> evaluate(p).discount())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /**
+     * Evalúa cada producto y pasa al processor solo los aceptados
+     */
+    public void forEachAccepted(Collection<Product> products, ProductProcessor processor) {
+        for (Product product : products) {
+            if (evaluate(product).accepted()) {
+                processor.process(product);
+            }
+        }
+    }
+
+    private static Stream<Product> stream(Collection<Product> products, boolean parallel) {
+        return parallel ? products.parallelStream() : products.stream();
+    }
+
+    /**
+     * El motor completo visto como un DiscountCalculator más
+     */
+    public DiscountCalculator asCalculator() {
+        return product -> evaluate(product).discount();
+    }
+
+    public ProductValidator asValidator() {
+        return product -> evaluate(product).accepted();
+    }
+
+    public long evaluatedCount() {
+        return evaluated.sum();
+    }
+
+    public long hits(String rule) {
+        for (int i = 0; i < rules.length; i++) {
+            if (rules[i].name().equals(rule)) {
+                return ruleHits[i].sum();
+            }
+        }
+        throw new IllegalArgumentException("Regla desconocida: " + rule);
+    }
+
+    /**
+     * Aciertos por regla, en orden de prioridad
+     */
+    public Map<String, Long> hitCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < rules.length; i++) {
+            counts.put(rules[i].name(), ruleHits[i].sum());
+        }
+        return counts;
+    }
+
+    /**
+     * Productos descartados por cada validador
+     */
+    public Map<String, Long> rejectionCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < validators.length; i++) {
+            counts.put(validatorNames[i], rejections[i].sum());
+        }
+        return counts;
+    }
+
+    public void resetCounters() {
+        evaluated.reset();
+        for (LongAdder hits : ruleHits) {
+            hits.reset();
+        }
+        for (LongAdder rejected : rejections) {
+            rejected.reset();
+        }
+    }
+
+    public static final class Builder {
+        private final List<PriceCondition> validators = new ArrayList<>();
+        private final List<String> validatorNames = new ArrayList<>();
+        private final List<Rule> rules = new ArrayList<>();
+        private final List<String> ruleNames = new ArrayList<>();
+        private Policy policy = Policy.FIRST_MATCH;
+
+        private Builder() {
+        }
+
+        public Builder validator(String name, ProductValidator validator) {
+            Objects.requireNonNull(validator);
+            return addValidator(name, (product, price) -> validator.isValid(product));
+        }
+
+        /**
+         * Validador por precio compilado sobre el precio ya leído
+         */
+        public Builder requirePriceAbove(String name, BigDecimal minimum) {
+            Objects.requireNonNull(minimum);
+            return addValidator(name, (product, price) -> price.compareTo(minimum) > 0);
+        }
+
+        private Builder addValidator(String name, PriceCondition condition) {
+            validatorNames.add(Objects.requireNonNull(name));
+            validators.add(condition);
+            return this;
+        }
+
+        public Builder rule(String name, int priority, ProductValidator when, DiscountCalculator discount) {
+            Objects.requireNonNull(when);
+            Objects.requireNonNull(discount);
+            return addRule(name, priority,
+                    (product, price) -> when.isValid(product),
+                    (product, price) -> discount.calculateDiscount(product));
+        }
+
+        public Builder rule(String name, int priority, DiscountCalculator discount) {
+            Objects.requireNonNull(discount);
+            return addRule(name, priority, (product, price) -> true,
+                    (product, price) -> discount.calculateDiscount(product));
+        }
+
+        /**
+         * Descuento porcentual (rate = 0.15 para 15%) sobre el precio ya leído,
+         * igual a product.getPrice().multiply(BigDecimal.valueOf(rate))
+         */
+        public Builder percentOff(String name, int priority, double rate) {
+            BigDecimal factor = BigDecimal.valueOf(rate);
+            return addRule(name, priority, (product, price) -> true, (product, price) -> price.multiply(factor));
+        }
+
+        public Builder percentOff(String name, int priority, ProductValidator when, double rate) {
+            Objects.requireNonNull(when);
+            BigDecimal factor = BigDecimal.valueOf(rate);
+            return addRule(name, priority,
+                    (product, price) -> when.isValid(product),
+                    (product, price) -> price.multiply(factor));
+        }
+
+        /**
+         * Descuento porcentual solo para precios mayores que minimum; condición y descuento
+         * comparten el mismo precio leído
+         */
+        public Builder percentOffAbove(String name, int priority, BigDecimal minimum, double rate) {
+            Objects.requireNonNull(minimum);
+            BigDecimal factor = BigDecimal.valueOf(rate);
+            return addRule(name, priority,
+                    (product, price) -> price.compareTo(minimum) > 0,
+                    (product, price) -> price.multiply(factor));
+        }
+
+        private Builder addRule(String name, int priority, PriceCondition condition, PriceDiscount discount) {
+            Objects.requireNonNull(name);
+            if (ruleNames.contains(name)) {
+                throw new IllegalArgumentException("Regla duplicada: " + name);
+            }
+            ruleNames.add(name);
+            rules.add(new Rule(name, priority, condition, discount));
+            return this;
+        }
+
+        public Builder policy(Policy policy) {
+            this.policy = Objects.requireNonNull(policy);
+            return this;
+        }
+
+        public DiscountRuleEngine build() {
+            return new DiscountRuleEngine(this);
+        }
+    }
+}
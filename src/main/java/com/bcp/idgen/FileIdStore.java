@@ -0,0 +1,60 @@
+package com.bcp.idgen;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * IdStore que guarda la marca de agua como texto en un archivo.
+ *
+ * Cada reserva escribe un archivo temporal, lo sincroniza a disco y lo renombra de forma
+ * atómica sobre el original. Como solo se llama una vez por bloque, el costo se reparte entre
+ * todos los ids del bloque.
+ */
+public final class FileIdStore implements IdStore {
+
+    private final Path file;
+    private final Path temporary;
+    private long reserved = Long.MIN_VALUE;
+
+    public FileIdStore(Path file) {
+        this.file = file;
+        this.temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    }
+
+    @Override
+    public synchronized long load(long initialValue) {
+        try {
+            if (!Files.exists(file)) {
+                return initialValue;
+            }
+            reserved = Long.parseLong(Files.readString(file).trim());
+            return Math.max(reserved, initialValue);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void reserve(long highWater) {
+        if (highWater <= reserved) {
+            return;
+        }
+        try {
+            Files.writeString(temporary, Long.toString(highWater),
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            reserved = highWater;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Path file() {
+        return file;
+    }
+}
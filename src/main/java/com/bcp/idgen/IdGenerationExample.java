@@ -0,0 +1,116 @@
+package com.bcp.idgen;
+
+import com.bcp.staticinnerclass.Order;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Ejemplos de generación de ids con varios hilos:
+ * contador estático sin sincronizar, BlockIdAllocator, ids ordenados por tiempo y persistencia
+ */
+public class IdGenerationExample {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 100_000;
+
+    private static int racyCounter = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Generación de Ids con Varios Hilos ===\n");
+
+        System.out.println("1. Contador estático (++counter) sin sincronizar:");
+        Set<Long> racyIds = ConcurrentHashMap.newKeySet();
+        runConcurrently(() -> (long) ++racyCounter, racyIds);
+        System.out.println("   Ids pedidos: " + THREADS * IDS_PER_THREAD + ", distintos: " + racyIds.size());
+        System.out.println();
+
+        System.out.println("2. BlockIdAllocator (bloques por hilo):");
+        BlockIdAllocator allocator = new BlockIdAllocator(1, BlockIdAllocator.DEFAULT_BLOCK_SIZE);
+        Set<Long> blockIds = ConcurrentHashMap.newKeySet();
+        long start = System.nanoTime();
+        runConcurrently(allocator::nextId, blockIds);
+        long elapsed = System.nanoTime() - start;
+        System.out.println("   Ids pedidos: " + THREADS * IDS_PER_THREAD + ", distintos: " + blockIds.size());
+        System.out.println("   Marca de agua: " + allocator.highWater() + " (" + elapsed / 1_000_000 + " ms)");
+        System.out.println();
+
+        System.out.println("3. Órdenes creadas desde varios hilos (staticinnerclass.Order):");
+        Set<Long> orderIds = ConcurrentHashMap.newKeySet();
+        runConcurrently(() -> (long) new Order("Cliente").getOrderId(), orderIds);
+        System.out.println("   Órdenes: " + THREADS * IDS_PER_THREAD + ", ids distintos: " + orderIds.size());
+        System.out.println();
+
+        System.out.println("4. TimeOrderedIdGenerator (64 bits: tiempo | nodo | secuencia):");
+        TimeOrderedIdGenerator timeOrdered = new TimeOrderedIdGenerator(7);
+        long first = timeOrdered.nextId();
+        long second = timeOrdered.nextId();
+        System.out.println("   Id: " + first + " → " + TimeOrderedIdGenerator.timestampOf(first)
+                + ", nodo " + TimeOrderedIdGenerator.nodeOf(first)
+                + ", secuencia " + TimeOrderedIdGenerator.sequenceOf(first));
+        System.out.println("   Siguiente id mayor: " + (second > first));
+        Set<Long> timeIds = ConcurrentHashMap.newKeySet();
+        runConcurrently(timeOrdered::nextId, timeIds);
+        System.out.println("   Ids distintos con " + THREADS + " hilos: " + timeIds.size());
+        System.out.println();
+
+        System.out.println("5. Persistencia con FileIdStore (continuar después de reiniciar):");
+        Path file = Files.createTempFile("order-ids", ".txt");
+        Files.delete(file);
+        try {
+            BlockIdAllocator beforeRestart = new BlockIdAllocator(1, 100, new FileIdStore(file));
+            long lastBeforeRestart = 0;
+            for (int i = 0; i < 250; i++) {
+                lastBeforeRestart = beforeRestart.nextId();
+            }
+            BlockIdAllocator afterRestart = new BlockIdAllocator(1, 100, new FileIdStore(file));
+            System.out.println("   Último id antes del reinicio: " + lastBeforeRestart);
+            System.out.println("   Marca guardada: " + Files.readString(file));
+            System.out.println("   Primer id después del reinicio: " + afterRestart.nextId());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        System.out.println();
+
+        System.out.println("=== Resumen ===");
+        System.out.println("• ++counter en un campo static puede perder incrementos y repetir ids (más probable con más núcleos)");
+        System.out.println("• BlockIdAllocator: un getAndAdd por bloque, ids únicos pero no crecientes entre hilos");
+        System.out.println("• TimeOrderedIdGenerator: ids crecientes y con fecha, un CAS por id");
+        System.out.println("• IdStore: la marca se guarda antes de usar un bloque, nunca se repiten ids al reiniciar");
+    }
+
+    /**
+     * Todos los hilos arrancan juntos (CyclicBarrier) y guardan sus ids en un arreglo,
+     * para que compitan por el generador al mismo tiempo
+     */
+    private static void runConcurrently(IdGenerator generator, Set<Long> ids) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(() -> {
+                    long[] local = new long[IDS_PER_THREAD];
+                    start.await();
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        local[i] = generator.nextId();
+                    }
+                    return local;
+                }));
+            }
+            for (Future<long[]> result : results) {
+                for (long id : result.get()) {
+                    ids.add(id);
+                }
+            }
+        }
+    }
+}
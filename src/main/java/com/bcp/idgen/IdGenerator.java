@@ -0,0 +1,17 @@
+package com.bcp.idgen;
+
+/**
+ * Fuente de identificadores únicos, segura para usar desde varios hilos
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    long nextId();
+
+    /**
+     * Para contadores int como Order.orderId; lanza ArithmeticException si el id ya no cabe en un int
+     */
+    default int nextIntId() {
+        return Math.toIntExact(nextId());
+    }
+}
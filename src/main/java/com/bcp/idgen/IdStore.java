@@ -0,0 +1,58 @@
+package com.bcp.idgen;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistencia de la marca de agua de un BlockIdAllocator para continuar después de un reinicio.
+ *
+ * reserve() se llama antes de entregar cualquier id de un bloque nuevo, por lo que al
+ * reiniciar con load() nunca se repite un id ya entregado (los no usados quedan como huecos).
+ */
+public interface IdStore {
+
+    /**
+     * Primer id que puede entregarse; initialValue si no hay nada guardado
+     */
+    long load(long initialValue);
+
+    /**
+     * Registra que ya se reservaron todos los ids menores que highWater. Las llamadas de
+     * varios hilos pueden llegar desordenadas: la implementación debe quedarse con el máximo.
+     */
+    void reserve(long highWater);
+
+    /**
+     * Sin persistencia: cada ejecución empieza desde initialValue
+     */
+    static IdStore none() {
+        return new IdStore() {
+            @Override
+            public long load(long initialValue) {
+                return initialValue;
+            }
+
+            @Override
+            public void reserve(long highWater) {
+            }
+        };
+    }
+
+    /**
+     * En memoria, para compartir la marca entre allocators de la misma JVM o para ejemplos
+     */
+    static IdStore inMemory() {
+        AtomicLong stored = new AtomicLong(Long.MIN_VALUE);
+        return new IdStore() {
+            @Override
+            public long load(long initialValue) {
+                long value = stored.get();
+                return value == Long.MIN_VALUE ? initialValue : Math.max(value, initialValue);
+            }
+
+            @Override
+            public void reserve(long highWater) {
+                stored.accumulateAndGet(highWater, Math::max);
+            }
+        };
+    }
+}
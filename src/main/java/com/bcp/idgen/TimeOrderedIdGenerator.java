@@ -0,0 +1,73 @@
+package com.bcp.idgen;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Ids de 64 bits ordenados por tiempo (estilo Snowflake):
+ * 41 bits de milisegundos desde EPOCH, 10 bits de nodo y 12 bits de secuencia.
+ *
+ * El estado (milisegundo y secuencia) vive en un solo AtomicLong que solo avanza, por lo que los
+ * ids son estrictamente crecientes en todos los hilos aunque el reloj retroceda. Si se agotan los
+ * 4096 ids de un milisegundo se toma prestado el siguiente en lugar de esperar.
+ */
+public final class TimeOrderedIdGenerator implements IdGenerator {
+
+    /**
+     * 2025-01-01T00:00:00Z: 41 bits de milisegundos alcanzan hasta 2094
+     */
+    public static final long EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+    private final LongSupplier clock;
+    // (milisegundos desde EPOCH << SEQUENCE_BITS) | secuencia del último id entregado
+    private final AtomicLong state = new AtomicLong();
+
+    public TimeOrderedIdGenerator(int node) {
+        this(node, System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock milisegundos desde 1970, reemplazable en ejemplos y benchmarks
+     */
+    public TimeOrderedIdGenerator(int node, LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("node debe estar entre 0 y " + MAX_NODE + ": " + node);
+        }
+        this.node = node;
+        this.clock = clock;
+    }
+
+    @Override
+    public long nextId() {
+        long now = (clock.getAsLong() - EPOCH) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = state.get();
+            // Mismo milisegundo, reloj atrasado o secuencia agotada: continuar desde el último estado
+            next = now > previous ? now : previous + 1;
+        } while (!state.compareAndSet(previous, next));
+        long millis = next >>> SEQUENCE_BITS;
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+    }
+
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH);
+    }
+
+    public static int nodeOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE);
+    }
+
+    public static int sequenceOf(long id) {
+        return (int) (id & SEQUENCE_MASK);
+    }
+}
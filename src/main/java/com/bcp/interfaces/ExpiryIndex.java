@@ -0,0 +1,230 @@
+package com.bcp.interfaces;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Índice de productos perecibles por fecha de vencimiento (best before), para responder
+ * "qué vence antes de la fecha D" sin recorrer todo el inventario.
+ *
+ * Los productos se guardan en un bucket por día (epoch day) dentro de una rueda circular de
+ * horizonDays días a partir del día base; los que vencen más lejos esperan en un TreeMap y
+ * pasan a la rueda a medida que el día base avanza. Cada bucket es una lista doblemente
+ * enlazada, así que:
+ * - add y remove son O(1) (más el HashMap producto -> nodo)
+ * - expiringBefore(D) recorre solo los días entre el base y D y los productos que devuelve
+ * - drainExpiringBefore(D) además los saca del índice y avanza el día base
+ *
+ * Los productos se distinguen por equals (en Product, por identidad). Todas las operaciones
+ * toman el lock del índice; ExpirySweeper llama perish() fuera del lock.
+ *
+ * @param <T> el producto perecible
+ */
+public final class ExpiryIndex<T extends Perishable> {
+
+    public static final int DEFAULT_HORIZON_DAYS = 1024;
+
+    private final Function<? super T, LocalDate> bestBefore;
+    private final Node<T>[] buckets;
+    private final int mask;
+    private final TreeMap<Long, Node<T>> overflow = new TreeMap<>();
+    private final Map<T, Node<T>> nodes = new HashMap<>();
+    // Primer día que no se drenó: la rueda cubre [base, base + buckets.length)
+    private long base;
+
+    /**
+     * @param bestBefore fecha de vencimiento de cada producto
+     * @param today día base inicial; lo que vence antes queda en el bucket de hoy como vencido
+     * @param horizonDays días de la rueda, se redondea a potencia de 2
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ExpiryIndex(Function<? super T, LocalDate> bestBefore, LocalDate today, int horizonDays) {
+        if (horizonDays < 1 || horizonDays > 1 << 20) {
+            throw new IllegalArgumentException("horizonDays fuera de rango: " + horizonDays);
+        }
+        this.bestBefore = Objects.requireNonNull(bestBefore);
+        int size = 1;
+        while (size < horizonDays) {
+            size <<= 1;
+        }
+        this.buckets = (Node<T>[]) new Node[size];
+        this.mask = size - 1;
+        this.base = today.toEpochDay();
+    }
+
+    public ExpiryIndex(Function<? super T, LocalDate> bestBefore, LocalDate today) {
+        this(bestBefore, today, DEFAULT_HORIZON_DAYS);
+    }
+
+    /**
+     * Agrega el producto; si ya estaba, lo mueve a su fecha actual (por ejemplo tras setBestBefore)
+     */
+    public synchronized void add(T item) {
+        LocalDate date = Objects.requireNonNull(bestBefore.apply(item), "El producto no tiene fecha de vencimiento");
+        Node<T> node = nodes.get(item);
+        if (node != null) {
+            unlink(node);
+        } else {
+            node = new Node<>(item);
+            nodes.put(item, node);
+        }
+        node.day = date.toEpochDay();
+        link(node);
+    }
+
+    public synchronized boolean remove(T item) {
+        Node<T> node = nodes.remove(item);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    public synchronized boolean contains(T item) {
+        return nodes.containsKey(item);
+    }
+
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Productos que vencen antes de date (getBestBefore().isBefore(date)), sin sacarlos del índice
+     */
+    public synchronized List<T> expiringBefore(LocalDate date) {
+        List<T> result = new ArrayList<>();
+        forEachExpiringBefore(date.toEpochDay(), node -> result.add(node.item));
+        return result;
+    }
+
+    public synchronized int countExpiringBefore(LocalDate date) {
+        int[] count = new int[1];
+        forEachExpiringBefore(date.toEpochDay(), node -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Saca del índice los productos que vencen antes de date y avanza el día base hasta date
+     */
+    public synchronized List<T> drainExpiringBefore(LocalDate date) {
+        long limit = date.toEpochDay();
+        List<Node<T>> due = new ArrayList<>();
+        forEachExpiringBefore(limit, due::add);
+        List<T> result = new ArrayList<>(due.size());
+        for (Node<T> node : due) {
+            unlink(node);
+            nodes.remove(node.item);
+            result.add(node.item);
+        }
+        if (limit > base) {
+            advanceBase(limit);
+        }
+        return result;
+    }
+
+    /**
+     * Día base actual: lo que vence antes ya se drenó o está vencido en su bucket
+     */
+    public synchronized LocalDate baseDate() {
+        return LocalDate.ofEpochDay(base);
+    }
+
+    private void forEachExpiringBefore(long limit, Consumer<Node<T>> action) {
+        // Rueda: días [base, min(limit, base + tamaño)); el bucket base además tiene los vencidos
+        long end = Math.min(limit, base + buckets.length);
+        for (long day = base; day < end; day++) {
+            for (Node<T> node = buckets[(int) day & mask]; node != null; node = node.next) {
+                action.accept(node);
+            }
+        }
+        if (limit <= base) {
+            // Solo los ya vencidos del bucket base que vencen antes de limit
+            for (Node<T> node = buckets[(int) base & mask]; node != null; node = node.next) {
+                if (node.day < limit) {
+                    action.accept(node);
+                }
+            }
+        }
+        for (Node<T> head : overflow.headMap(limit).values()) {
+            for (Node<T> node = head; node != null; node = node.next) {
+                action.accept(node);
+            }
+        }
+    }
+
+    private void advanceBase(long newBase) {
+        base = newBase;
+        // Los vencidos antes del nuevo base ya se drenaron; traer a la rueda los días que ahora entran
+        long end = base + buckets.length;
+        Iterator<Map.Entry<Long, Node<T>>> days = overflow.headMap(end).entrySet().iterator();
+        while (days.hasNext()) {
+            Node<T> node = days.next().getValue();
+            days.remove();
+            while (node != null) {
+                Node<T> next = node.next;
+                node.prev = null;
+                node.next = null;
+                link(node);
+                node = next;
+            }
+        }
+    }
+
+    private void link(Node<T> node) {
+        long day = Math.max(node.day, base);
+        if (day < base + buckets.length) {
+            int index = (int) day & mask;
+            node.next = buckets[index];
+            if (node.next != null) {
+                node.next.prev = node;
+            }
+            buckets[index] = node;
+        } else {
+            node.next = overflow.put(day, node);
+            if (node.next != null) {
+                node.next.prev = node;
+            }
+        }
+        node.prev = null;
+    }
+
+    private void unlink(Node<T> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            long day = Math.max(node.day, base);
+            if (day < base + buckets.length) {
+                buckets[(int) day & mask] = node.next;
+            } else if (node.next != null) {
+                overflow.put(day, node.next);
+            } else {
+                overflow.remove(day);
+            }
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static final class Node<T> {
+        final T item;
+        long day;
+        Node<T> prev;
+        Node<T> next;
+
+        Node(T item) {
+            this.item = item;
+        }
+    }
+}
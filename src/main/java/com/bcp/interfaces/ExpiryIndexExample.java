@@ -0,0 +1,95 @@
+package com.bcp.interfaces;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Productos perecibles indexados por fecha de vencimiento: consultas "qué vence en 7 días"
+ * sin recorrer todo el inventario y un barrido periódico que llama perish()
+ */
+public class ExpiryIndexExample {
+
+    public static void main(String[] args) throws InterruptedException {
+        LocalDate today = LocalDate.of(2025, 3, 1);
+        List<Food> stock = new ArrayList<>();
+        stock.add(new Food("Milk", BigDecimal.valueOf(1.20), today.plusDays(2)));
+        stock.add(new Food("Bread", BigDecimal.valueOf(0.90), today.plusDays(1)));
+        stock.add(new Food("Cheese", BigDecimal.valueOf(4.50), today.plusDays(20)));
+        stock.add(new Food("Yogurt", BigDecimal.valueOf(0.70), today.plusDays(6)));
+        stock.add(new Food("Rice", BigDecimal.valueOf(2.10), today.plusDays(400)));
+        stock.add(new Food("Honey", BigDecimal.valueOf(6.00), today.plusDays(3000)));
+
+        System.out.println("=== 1. Recorrido completo (partitioningBy) ===");
+        Map<Boolean, List<Food>> byExpiration = stock.stream()
+            .collect(Collectors.partitioningBy(p -> p.getBestBefore().isBefore(today.plusDays(7))));
+        System.out.println("Vencen en 7 días: " + names(byExpiration.get(true)));
+        System.out.println();
+
+        System.out.println("=== 2. ExpiryIndex: solo los buckets de los próximos 7 días ===");
+        ExpiryIndex<Food> index = new ExpiryIndex<>(Food::getBestBefore, today);
+        stock.forEach(index::add);
+        System.out.println("Vencen en 7 días: " + names(index.expiringBefore(today.plusDays(7))));
+        System.out.println("Vencen en 30 días: " + index.countExpiringBefore(today.plusDays(30)));
+        System.out.println();
+
+        System.out.println("=== 3. Cambios de stock ===");
+        Food milk = stock.get(0);
+        index.remove(milk);
+        System.out.println("Se vendió la leche; vencen en 7 días: " + names(index.expiringBefore(today.plusDays(7))));
+        Food cheese = stock.get(2);
+        cheese.setBestBefore(today.plusDays(4));
+        index.add(cheese);
+        System.out.println("El queso se abrió (vence en 4 días): " + names(index.expiringBefore(today.plusDays(7))));
+        System.out.println();
+
+        System.out.println("=== 4. ExpirySweeper: perish() en los vencidos ===");
+        // Reloj controlable para simular el paso de los días
+        AtomicReference<LocalDate> now = new AtomicReference<>(today);
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneId.of("UTC");
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get().atStartOfDay(getZone()).toInstant();
+            }
+        };
+        try (ExpirySweeper<Food> sweeper = new ExpirySweeper<>(index, clock)) {
+            for (int day = 2; day <= 8; day += 3) {
+                now.set(today.plusDays(day));
+                int perished = sweeper.sweep();
+                System.out.println(now.get() + ": " + perished + " vencidos, quedan " + index.size()
+                    + " en el índice");
+            }
+            stock.forEach(p -> System.out.println("  " + p.getName() + " (vence " + p.getBestBefore() + "): "
+                + (p.isPerished() ? "vencido" : "vigente")));
+
+            // En producción el barrido corre solo, por ejemplo una vez por hora
+            sweeper.start(Duration.ofMillis(50));
+            now.set(today.plusDays(500));
+            Thread.sleep(200);
+            System.out.println("Tras el barrido periódico (día +500): " + sweeper.perishedCount()
+                + " vencidos en total; Rice vencido: " + stock.get(4).isPerished());
+        }
+    }
+
+    private static List<String> names(List<Food> foods) {
+        return foods.stream().map(Product::getName).sorted().toList();
+    }
+}
@@ -0,0 +1,76 @@
+package com.bcp.interfaces;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tarea periódica que saca del ExpiryIndex los productos vencidos y llama perish() en cada uno.
+ *
+ * Un producto está vencido cuando su fecha de vencimiento es anterior a hoy según el Clock
+ * (el Clock permite simular el paso de los días). Cada barrido cuesta O(vencidos), no
+ * O(inventario). Si perish() falla en un producto se cuenta en failedCount() y se sigue con
+ * el resto, para que una excepción no cancele los barridos siguientes.
+ */
+public final class ExpirySweeper<T extends Perishable> implements AutoCloseable {
+
+    private final ExpiryIndex<T> index;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong perishedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    public ExpirySweeper(ExpiryIndex<T> index, Clock clock) {
+        this.index = Objects.requireNonNull(index);
+        this.clock = Objects.requireNonNull(clock);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "expiry-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Barre ahora y luego cada period
+     */
+    public void start(Duration period) {
+        scheduler.scheduleAtFixedRate(this::sweep, 0, period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Un barrido: devuelve cuántos productos se marcaron como vencidos
+     */
+    public int sweep() {
+        List<T> due = index.drainExpiringBefore(LocalDate.now(clock));
+        int perished = 0;
+        for (T item : due) {
+            try {
+                item.perish();
+                perished++;
+            } catch (RuntimeException e) {
+                failedCount.incrementAndGet();
+            }
+        }
+        perishedCount.addAndGet(perished);
+        return perished;
+    }
+
+    public long perishedCount() {
+        return perishedCount.get();
+    }
+
+    public long failedCount() {
+        return failedCount.get();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -1,9 +1,13 @@
 package com.bcp.interfaces;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
-public class Food extends Product {
+public class Food extends Product implements Perishable {
     private BigDecimal price;
+    private LocalDate bestBefore;
+    // Lo marca el sweeper desde otro hilo
+    private volatile boolean perished;
 
     public Food(String name, BigDecimal price) {
         super(name);
@@ -15,6 +19,11 @@ public class Food extends Product {
         this.price = BigDecimal.valueOf(price);
     }
 
+    public Food(String name, BigDecimal price, LocalDate bestBefore) {
+        this(name, price);
+        this.bestBefore = bestBefore;
+    }
+
     public BigDecimal getPrice() {
         return price;
     }
@@ -23,6 +32,24 @@ public class Food extends Product {
         this.price = price;
     }
 
+    public LocalDate getBestBefore() {
+        return bestBefore;
+    }
+
+    public void setBestBefore(LocalDate bestBefore) {
+        this.bestBefore = bestBefore;
+    }
+
+    @Override
+    public void perish() {
+        perished = true;
+    }
+
+    @Override
+    public boolean isPerished() {
+        return perished;
+    }
+
     @Override
     public String toString() {
         return "Food{" +
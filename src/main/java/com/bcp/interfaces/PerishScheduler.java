@@ -0,0 +1,380 @@
+package com.bcp.interfaces;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Programa la llamada a perish() de cada producto en el instante en que vence, con una rueda
+ * de tiempo jerárquica (timing wheel, Varghese y Lauck).
+ *
+ * El tiempo avanza en ticks de duración fija. La rueda tiene LEVELS niveles de 256 casillas:
+ * el nivel 0 tiene un tick por casilla, el nivel 1 256 ticks por casilla, y así. Un producto
+ * se guarda en la casilla del nivel más bajo que alcanza su vencimiento y, cuando el tick
+ * actual llega a esa casilla, baja al nivel siguiente (cascada) hasta llegar al nivel 0. Así:
+ * - schedule y cancel son O(1): enlazar o desenlazar un nodo de una lista doble
+ * - cada tick cuesta O(1) más los vencidos, y un producto baja de nivel a lo sumo LEVELS - 1 veces
+ * A diferencia de ScheduledThreadPoolExecutor no hay heap, ni O(log n) por operación, ni un
+ * ScheduledFuture por producto.
+ *
+ * Un hilo avanza la rueda según el Clock; los vencidos de cada tick se reparten en lotes de
+ * BATCH_SIZE y cada lote corre en un hilo virtual, así un perish() lento no atrasa los ticks.
+ * perish() nunca se llama antes de tiempo: el atraso (lag) respecto del vencimiento queda en
+ * las métricas y normalmente es menor a un tick.
+ *
+ * @param <T> el producto perecible
+ */
+public final class PerishScheduler<T extends Perishable> implements AutoCloseable {
+
+    public static final int LEVELS = 4;
+    public static final int BATCH_SIZE = 1024;
+
+    private static final int WHEEL_BITS = 8;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    // Ticks que cubre la rueda; lo que vence más lejos espera en la última casilla y se reubica
+    private static final long MAX_TICKS = 1L << (WHEEL_BITS * LEVELS);
+    // Espera máxima del hilo de la rueda: con un Clock simulado un salto se nota a lo sumo así de tarde
+    private static final long MAX_SLEEP_MILLIS = 100;
+
+    private final Clock clock;
+    private final long tickMillis;
+    private final long startMillis;
+    // Casillas de todos los niveles: nivel * WHEEL_SIZE + índice
+    private final Timeout<T>[] slots;
+    // Próximo tick a procesar: todo lo que vence antes ya se despachó
+    private long currentTick;
+    private int pending;
+
+    private final Thread driver;
+    private final ExecutorService callbacks = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean closed;
+
+    private final AtomicLong scheduledCount = new AtomicLong();
+    private final AtomicLong cancelledCount = new AtomicLong();
+    private final AtomicLong perishedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final LongAdder totalLagMillis = new LongAdder();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private volatile long lastTickLagMillis;
+
+    /**
+     * @param clock reloj que define cuándo vence cada producto; un Clock controlable permite simular días
+     * @param tick resolución de la rueda: perish() se llama como máximo un tick después del vencimiento
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public PerishScheduler(Clock clock, Duration tick) {
+        this.clock = Objects.requireNonNull(clock);
+        this.tickMillis = tick.toMillis();
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("El tick debe ser de al menos 1 ms: " + tick);
+        }
+        this.startMillis = clock.millis();
+        this.slots = (Timeout<T>[]) new Timeout[LEVELS * WHEEL_SIZE];
+        this.driver = new Thread(this::run, "perish-scheduler");
+        driver.setDaemon(true);
+    }
+
+    /**
+     * Empieza a avanzar la rueda; antes de start() se puede programar y cancelar pero nada vence
+     */
+    public void start() {
+        driver.start();
+    }
+
+    /**
+     * Programa item.perish() para deadline; si ya pasó, se llama en el próximo tick
+     */
+    public Timeout<T> schedule(T item, Instant deadline) {
+        Objects.requireNonNull(item);
+        Timeout<T> timeout = new Timeout<>(this, item, deadline.toEpochMilli());
+        // Primer tick cuyo inicio no es anterior al vencimiento, para no llamar perish() antes
+        long offset = timeout.deadlineMillis - startMillis;
+        timeout.tick = offset <= 0 ? 0 : (offset + tickMillis - 1) / tickMillis;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("El scheduler está cerrado");
+            }
+            link(timeout);
+            pending++;
+        }
+        scheduledCount.incrementAndGet();
+        return timeout;
+    }
+
+    /**
+     * Programa perish() para cuando el producto vence según ExpiryIndex: al empezar el día
+     * siguiente a bestBefore en la zona del Clock
+     */
+    public Timeout<T> scheduleExpiry(T item, LocalDate bestBefore) {
+        return schedule(item, bestBefore.plusDays(1).atStartOfDay(clock.getZone()).toInstant());
+    }
+
+    /**
+     * Productos programados que todavía no vencieron ni se cancelaron
+     */
+    public synchronized int pendingCount() {
+        return pending;
+    }
+
+    synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.state != Timeout.PENDING) {
+            return false;
+        }
+        timeout.state = Timeout.CANCELLED;
+        unlink(timeout);
+        pending--;
+        cancelledCount.incrementAndGet();
+        return true;
+    }
+
+    private void run() {
+        try {
+            while (!closed) {
+                long now = clock.millis();
+                // Procesa todos los ticks cuyo inicio ya pasó (varios si el reloj saltó)
+                while (startMillis + currentTick * tickMillis <= now && !closed) {
+                    lastTickLagMillis = now - (startMillis + currentTick * tickMillis);
+                    dispatch(advance());
+                }
+                long wait = startMillis + currentTick * tickMillis - clock.millis();
+                if (wait > 0) {
+                    Thread.sleep(Math.min(wait, MAX_SLEEP_MILLIS));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Procesa currentTick: baja de nivel las casillas que empiezan en este tick y devuelve los
+     * vencidos de la casilla del nivel 0
+     */
+    private synchronized Timeout<T> advance() {
+        long tick = currentTick;
+        int index = (int) (tick & WHEEL_MASK);
+        if (index == 0) {
+            for (int level = 1; level < LEVELS; level++) {
+                int levelIndex = (int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+                cascade(level * WHEEL_SIZE + levelIndex);
+                if (levelIndex != 0) {
+                    break;
+                }
+            }
+        }
+        Timeout<T> due = slots[index];
+        slots[index] = null;
+        int count = 0;
+        for (Timeout<T> timeout = due; timeout != null; timeout = timeout.next) {
+            timeout.state = Timeout.EXPIRED;
+            timeout.slot = -1;
+            count++;
+        }
+        pending -= count;
+        currentTick = tick + 1;
+        return due;
+    }
+
+    private void cascade(int slot) {
+        Timeout<T> timeout = slots[slot];
+        slots[slot] = null;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.prev = null;
+            timeout.next = null;
+            link(timeout);
+            timeout = next;
+        }
+    }
+
+    /**
+     * Reparte la lista de vencidos de un tick en lotes, cada uno en un hilo virtual
+     */
+    private void dispatch(Timeout<T> due) {
+        while (due != null) {
+            List<Timeout<T>> batch = new ArrayList<>();
+            while (due != null && batch.size() < BATCH_SIZE) {
+                Timeout<T> next = due.next;
+                due.prev = null;
+                due.next = null;
+                batch.add(due);
+                due = next;
+            }
+            callbacks.execute(() -> perishAll(batch));
+        }
+    }
+
+    private void perishAll(List<Timeout<T>> batch) {
+        long now = clock.millis();
+        long lagSum = 0;
+        long maxLag = 0;
+        int perished = 0;
+        for (Timeout<T> timeout : batch) {
+            long lag = Math.max(0, now - timeout.deadlineMillis);
+            lagSum += lag;
+            maxLag = Math.max(maxLag, lag);
+            try {
+                timeout.item.perish();
+                perished++;
+            } catch (RuntimeException e) {
+                failedCount.incrementAndGet();
+            }
+        }
+        totalLagMillis.add(lagSum);
+        maxLagMillis.accumulateAndGet(maxLag, Math::max);
+        perishedCount.addAndGet(perished);
+    }
+
+    private void link(Timeout<T> timeout) {
+        long delta = timeout.tick - currentTick;
+        int slot;
+        if (delta < WHEEL_SIZE) {
+            // Incluye los ya vencidos (delta <= 0): van a la casilla del tick actual
+            slot = (int) (Math.max(timeout.tick, currentTick) & WHEEL_MASK);
+        } else {
+            long tick = delta < MAX_TICKS ? timeout.tick : currentTick + MAX_TICKS - 1;
+            int level = (63 - Long.numberOfLeadingZeros(tick - currentTick)) / WHEEL_BITS;
+            slot = level * WHEEL_SIZE + (int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+        }
+        timeout.slot = slot;
+        timeout.prev = null;
+        timeout.next = slots[slot];
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+        slots[slot] = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            slots[timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.slot = -1;
+    }
+
+    public long scheduledCount() {
+        return scheduledCount.get();
+    }
+
+    public long cancelledCount() {
+        return cancelledCount.get();
+    }
+
+    public long perishedCount() {
+        return perishedCount.get();
+    }
+
+    public long failedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * Atraso promedio entre el vencimiento y la llamada a perish(), en milisegundos
+     */
+    public double averageLagMillis() {
+        long calls = perishedCount.get() + failedCount.get();
+        return calls == 0 ? 0.0 : (double) totalLagMillis.sum() / calls;
+    }
+
+    public long maxLagMillis() {
+        return maxLagMillis.get();
+    }
+
+    /**
+     * Atraso del hilo de la rueda al procesar el último tick: crece si los ticks no dan abasto
+     */
+    public long lastTickLagMillis() {
+        return lastTickLagMillis;
+    }
+
+    public Duration tick() {
+        return Duration.ofMillis(tickMillis);
+    }
+
+    /**
+     * Detiene la rueda; los lotes ya despachados terminan de ejecutarse
+     */
+    @Override
+    public void close() {
+        closed = true;
+        driver.interrupt();
+        try {
+            // El driver puede estar en dispatch(): callbacks se cierra recién cuando terminó
+            driver.join();
+            callbacks.shutdown();
+            callbacks.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            callbacks.shutdown();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Un perish() programado; cancel() lo saca de la rueda en O(1), por ejemplo al vender el producto
+     */
+    public static final class Timeout<T extends Perishable> {
+        static final int PENDING = 0;
+        static final int CANCELLED = 1;
+        static final int EXPIRED = 2;
+
+        private final PerishScheduler<T> scheduler;
+        private final T item;
+        private final long deadlineMillis;
+        // Estado y enlaces protegidos por el lock del scheduler
+        long tick;
+        int slot = -1;
+        int state = PENDING;
+        Timeout<T> prev;
+        Timeout<T> next;
+
+        Timeout(PerishScheduler<T> scheduler, T item, long deadlineMillis) {
+            this.scheduler = scheduler;
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        /**
+         * @return false si ya venció o ya estaba cancelado
+         */
+        public boolean cancel() {
+            return scheduler.cancel(this);
+        }
+
+        public boolean isCancelled() {
+            synchronized (scheduler) {
+                return state == CANCELLED;
+            }
+        }
+
+        public boolean isExpired() {
+            synchronized (scheduler) {
+                return state == EXPIRED;
+            }
+        }
+
+        public T item() {
+            return item;
+        }
+
+        public Instant deadline() {
+            return Instant.ofEpochMilli(deadlineMillis);
+        }
+    }
+}
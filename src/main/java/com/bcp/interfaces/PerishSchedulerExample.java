@@ -0,0 +1,81 @@
+package com.bcp.interfaces;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * perish() en el instante exacto en que vence cada producto, con PerishScheduler (rueda de
+ * tiempo jerárquica), en lugar de un barrido periódico o un ScheduledFuture por producto
+ */
+public class PerishSchedulerExample {
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== 1. Vencimientos en tiempo real (tick de 10 ms) ===");
+        try (PerishScheduler<Food> scheduler = new PerishScheduler<>(Clock.systemUTC(), Duration.ofMillis(10))) {
+            scheduler.start();
+            Instant now = Instant.now();
+            List<PerishScheduler.Timeout<Food>> timeouts = new ArrayList<>();
+            for (int i = 0; i < 100_000; i++) {
+                Food food = new Food("food-" + i, BigDecimal.ONE);
+                timeouts.add(scheduler.schedule(food, now.plusMillis(500 + i % 500)));
+            }
+            // Se venden 1 de cada 10 antes de vencer: cancel() los saca de la rueda en O(1)
+            for (int i = 0; i < timeouts.size(); i += 10) {
+                timeouts.get(i).cancel();
+            }
+            System.out.println("Programados: " + scheduler.scheduledCount() + ", cancelados: "
+                + scheduler.cancelledCount() + ", pendientes: " + scheduler.pendingCount());
+            Thread.sleep(1200);
+            System.out.println("Vencidos: " + scheduler.perishedCount() + ", pendientes: " + scheduler.pendingCount());
+            System.out.printf("Atraso promedio: %.2f ms, máximo: %d ms, último tick: %d ms%n",
+                scheduler.averageLagMillis(), scheduler.maxLagMillis(), scheduler.lastTickLagMillis());
+            System.out.println("Vendido y no vencido: " + !timeouts.get(0).item().isPerished()
+                + ", vencido: " + timeouts.get(1).item().isPerished());
+        }
+        System.out.println();
+
+        System.out.println("=== 2. Fechas de vencimiento con un reloj simulado (tick de 1 minuto) ===");
+        LocalDate today = LocalDate.of(2025, 3, 1);
+        AtomicReference<Instant> now = new AtomicReference<>(today.atStartOfDay(ZoneId.of("UTC")).toInstant());
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneId.of("UTC");
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        };
+        List<Food> stock = new ArrayList<>();
+        stock.add(new Food("Bread", BigDecimal.valueOf(0.90), today.plusDays(1)));
+        stock.add(new Food("Milk", BigDecimal.valueOf(1.20), today.plusDays(2)));
+        stock.add(new Food("Yogurt", BigDecimal.valueOf(0.70), today.plusDays(6)));
+        stock.add(new Food("Cheese", BigDecimal.valueOf(4.50), today.plusDays(20)));
+        try (PerishScheduler<Food> scheduler = new PerishScheduler<>(clock, Duration.ofMinutes(1))) {
+            stock.forEach(food -> scheduler.scheduleExpiry(food, food.getBestBefore()));
+            scheduler.start();
+            for (int i = 0; i < 3; i++) {
+                now.set(now.get().plus(Duration.ofDays(3)));
+                Thread.sleep(200);
+                System.out.println(LocalDate.ofInstant(now.get(), clock.getZone()) + ": "
+                    + scheduler.perishedCount() + " vencidos, " + scheduler.pendingCount() + " pendientes");
+            }
+            stock.forEach(p -> System.out.println("  " + p.getName() + " (vence " + p.getBestBefore() + "): "
+                + (p.isPerished() ? "vencido" : "vigente")));
+        }
+    }
+}
@@ -1,7 +1,14 @@
 package com.bcp.localinnerclass;
 
+import com.bcp.idgen.BlockIdAllocator;
+import com.bcp.idgen.IdGenerator;
+
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -11,13 +18,14 @@ import java.util.Map;
 public class Order {
     
     private Map<Integer, Item> items = new HashMap<>();
-    private static int itemCounter = 0;
+    // Ids de item únicos entre hilos; cada hilo toma bloques de 64 ids
+    private static final IdGenerator ITEM_IDS = new BlockIdAllocator(1, 64);
     
     /**
      * Método para agregar items a la orden
      */
     public void addItem(Product product, int quantity) {
-        items.put(++itemCounter, new Item(product, quantity));
+        items.put(ITEM_IDS.nextIntId(), new Item(product, quantity));
         System.out.println("Item agregado: " + product.getName() + " x" + quantity);
     }
     
@@ -41,28 +49,8 @@ public class Order {
                 System.out.println("Buscando tasa de impuesto para " + product.getName() + 
                                  " en ubicación: " + saleLocation);
                 
-                // Simular diferentes tasas de impuesto basadas en la ubicación
-                BigDecimal rate;
-                switch (saleLocation.toLowerCase()) {
-                    case "california":
-                        rate = new BigDecimal("0.0825"); // 8.25%
-                        break;
-                    case "new york":
-                        rate = new BigDecimal("0.0875"); // 8.75%
-                        break;
-                    case "texas":
-                        rate = new BigDecimal("0.0625"); // 6.25%
-                        break;
-                    default:
-                        rate = new BigDecimal("0.0600"); // 6.00%
-                }
-                
-                // Ajustar tasa según categoría del producto
-                if ("Food".equals(product.getCategory())) {
-                    rate = rate.multiply(new BigDecimal("0.5")); // Mitad de impuesto para comida
-                } else if ("Luxury".equals(product.getCategory())) {
-                    rate = rate.multiply(new BigDecimal("1.5")); // 50% más para lujos
-                }
+                // Tasa precalculada por ubicación y categoría (ver TaxRateTable)
+                BigDecimal rate = TaxRateTable.standard().rate(saleLocation, product.getCategory());
                 
                 System.out.println("Tasa de impuesto encontrada: " + rate.multiply(new BigDecimal("100")) + "%");
                 return rate;
@@ -103,6 +91,13 @@ public class Order {
         System.out.println();
     }
     
+    /**
+     * Vista de solo lectura de los items, para calcular impuestos fuera de manageTax
+     */
+    public Collection<Item> getItems() {
+        return Collections.unmodifiableCollection(items.values());
+    }
+    
     /**
      * Método para mostrar el contenido de la orden
      */
@@ -152,8 +147,23 @@ public class Order {
         System.out.println("   order.manageTax(\"Texas\");");
         order.manageTax("Texas");
         
+        // Misma cuenta sin imprimir por item, con la tabla de tasas precalculada
+        System.out.println("4. TaxCalculator reutilizable (sin crear OrderTaxManager por llamada):");
+        TaxCalculator calculator = new TaxCalculator();
+        for (String location : List.of("California", "New York", "Texas", "Florida")) {
+            System.out.println("   " + location + ": $" + calculator.calculateTax(order, location)
+                + " (tasa base " + calculator.table().rate(location, "General") + ")");
+        }
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            orders.add(order);
+        }
+        System.out.println("   Impuestos de " + orders.size() + " órdenes en paralelo: "
+            + calculator.calculateTaxes(orders, "California", true));
+        System.out.println();
+        
         // Demostrar características de las clases anidadas locales
-        System.out.println("4. Características de las clases anidadas locales:");
+        System.out.println("5. Características de las clases anidadas locales:");
         System.out.println("   ✅ OrderTaxManager está definida dentro del método manageTax");
         System.out.println("   ✅ Puede acceder a saleLocation porque es final");
         System.out.println("   ✅ Puede acceder a los miembros de la instancia de Order");
@@ -162,7 +172,7 @@ public class Order {
         System.out.println();
         
         // Demostrar la regla de variables finales o efectivamente finales
-        System.out.println("5. Regla de variables finales o efectivamente finales:");
+        System.out.println("6. Regla de variables finales o efectivamente finales:");
         System.out.println("   ✅ saleLocation es final, por eso OrderTaxManager puede accederla");
         System.out.println("   ❌ Si saleLocation no fuera final, causaría error de compilación");
         System.out.println("   ✅ Las variables locales deben ser final o efectivamente final");
@@ -0,0 +1,190 @@
+package com.bcp.localinnerclass;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Calculadora de impuestos reutilizable y sin estado, equivalente a OrderTaxManager.calculateTax
+ * pero sin imprimir ni crear un objeto por llamada.
+ *
+ * Resultado idéntico: la suma exacta de new BigDecimal(subtotal) × tasa redondeada a 2 decimales
+ * con HALF_UP. En lugar de expandir cada double a decimal, los subtotales que comparten tasa se
+ * suman en binario exacto (mantisa × 2^exponente, en un long mientras quepa) y se convierten a
+ * decimal una sola vez por orden.
+ */
+public final class TaxCalculator {
+
+    private static final BigInteger FIVE = BigInteger.valueOf(5);
+    private static final BigInteger[] POWERS_OF_FIVE = new BigInteger[128];
+
+    static {
+        POWERS_OF_FIVE[0] = BigInteger.ONE;
+        for (int i = 1; i < POWERS_OF_FIVE.length; i++) {
+            POWERS_OF_FIVE[i] = POWERS_OF_FIVE[i - 1].multiply(FIVE);
+        }
+    }
+
+    private final TaxRateTable table;
+
+    public TaxCalculator(TaxRateTable table) {
+        this.table = table;
+    }
+
+    public TaxCalculator() {
+        this(TaxRateTable.standard());
+    }
+
+    public TaxRateTable table() {
+        return table;
+    }
+
+    public BigDecimal calculateTax(Order order, String saleLocation) {
+        return calculateTax(order.getItems(), saleLocation);
+    }
+
+    public BigDecimal calculateTax(Collection<Item> items, String saleLocation) {
+        TaxRateTable.LocationRates rates = table.resolve(saleLocation);
+        BinarySum[] subtotals = new BinarySum[table.rateCount()];
+        for (Item item : items) {
+            int index = rates.indexOf(item.getProduct().getCategory());
+            if (subtotals[index] == null) {
+                subtotals[index] = new BinarySum();
+            }
+            subtotals[index].add(item.getSubtotal());
+        }
+
+        // total = Σ subtotal × 2^exp × unscaledRate × 10^-scale, llevado a exponente y escala comunes
+        int minExp = Integer.MAX_VALUE;
+        int maxScale = 0;
+        for (int i = 0; i < subtotals.length; i++) {
+            if (subtotals[i] != null && !subtotals[i].isZero()) {
+                minExp = Math.min(minExp, subtotals[i].exp);
+                maxScale = Math.max(maxScale, rates.rateAt(i).scale());
+            }
+        }
+        if (minExp == Integer.MAX_VALUE) {
+            return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+        }
+        BigInteger numerator = BigInteger.ZERO;
+        for (int i = 0; i < subtotals.length; i++) {
+            if (subtotals[i] != null && !subtotals[i].isZero()) {
+                BigDecimal rate = rates.rateAt(i);
+                BigInteger term = subtotals[i].toBigInteger(minExp)
+                        .multiply(rate.unscaledValue())
+                        .multiply(BigInteger.TEN.pow(maxScale - rate.scale()));
+                numerator = numerator.add(term);
+            }
+        }
+        // numerator × 2^minExp × 10^-maxScale; con exponente negativo, n / 2^k = n × 5^k / 10^k
+        BigDecimal totalTax = minExp >= 0
+                ? new BigDecimal(numerator.shiftLeft(minExp), maxScale)
+                : new BigDecimal(numerator.multiply(powerOfFive(-minExp)), maxScale - minExp);
+        return totalTax.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Impuesto de cada orden, en el mismo orden de la lista
+     */
+    public List<BigDecimal> calculateTaxes(List<Order> orders, String saleLocation, boolean parallel) {
+        Stream<Order> stream = parallel ? orders.parallelStream() : orders.stream();
+        return stream.map(order -> calculateTax(order, saleLocation)).toList();
+    }
+
+    /**
+     * Suma de impuestos de todas las órdenes
+     */
+    public BigDecimal totalTax(List<Order> orders, String saleLocation, boolean parallel) {
+        Stream<Order> stream = parallel ? orders.parallelStream() : orders.stream();
+        return stream.map(order -> calculateTax(order, saleLocation)).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static BigInteger powerOfFive(int exponent) {
+        return exponent < POWERS_OF_FIVE.length ? POWERS_OF_FIVE[exponent] : FIVE.pow(exponent);
+    }
+
+    /**
+     * Suma exacta de doubles como sum × 2^exp; pasa a BigInteger solo si el long se desborda
+     */
+    private static final class BinarySum {
+        private long sum;
+        private BigInteger big;
+        private int exp = Integer.MAX_VALUE;
+
+        void add(double value) {
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                // Mismo error que new BigDecimal(double)
+                throw new NumberFormatException("Infinite or NaN");
+            }
+            long bits = Double.doubleToRawLongBits(value);
+            int biased = (int) ((bits >>> 52) & 0x7ff);
+            long mantissa = bits & ((1L << 52) - 1);
+            int exponent;
+            if (biased == 0) {
+                exponent = -1074;
+            } else {
+                mantissa |= 1L << 52;
+                exponent = biased - 1075;
+            }
+            if (mantissa == 0) {
+                return;
+            }
+            int trailing = Long.numberOfTrailingZeros(mantissa);
+            mantissa >>= trailing;
+            exponent += trailing;
+            add(bits < 0 ? -mantissa : mantissa, exponent);
+        }
+
+        private void add(long mantissa, int exponent) {
+            if (exp == Integer.MAX_VALUE) {
+                sum = mantissa;
+                exp = exponent;
+                return;
+            }
+            if (big == null) {
+                int target = Math.min(exp, exponent);
+                long left = shift(sum, exp - target);
+                long right = shift(mantissa, exponent - target);
+                if (left != Long.MIN_VALUE && right != Long.MIN_VALUE) {
+                    long result = left + right;
+                    // Desborde si ambos sumandos tienen el mismo signo y el resultado no
+                    if (((left ^ result) & (right ^ result)) >= 0) {
+                        sum = result;
+                        exp = target;
+                        return;
+                    }
+                }
+                big = BigInteger.valueOf(sum);
+            }
+            int target = Math.min(exp, exponent);
+            big = big.shiftLeft(exp - target).add(BigInteger.valueOf(mantissa).shiftLeft(exponent - target));
+            exp = target;
+        }
+
+        /**
+         * value × 2^bits, o Long.MIN_VALUE si no cabe en un long
+         */
+        private static long shift(long value, int bits) {
+            if (bits == 0) {
+                return value;
+            }
+            if (bits >= 63) {
+                return Long.MIN_VALUE;
+            }
+            long shifted = value << bits;
+            return (shifted >> bits) == value && shifted != Long.MIN_VALUE ? shifted : Long.MIN_VALUE;
+        }
+
+        boolean isZero() {
+            return big == null ? sum == 0 : big.signum() == 0;
+        }
+
+        BigInteger toBigInteger(int targetExp) {
+            BigInteger value = big == null ? BigInteger.valueOf(sum) : big;
+            return value.shiftLeft(exp - targetExp);
+        }
+    }
+}
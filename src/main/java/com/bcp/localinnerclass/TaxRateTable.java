@@ -0,0 +1,149 @@
+package com.bcp.localinnerclass;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tabla inmutable de tasas de impuesto por (ubicación, categoría), calculada una sola vez.
+ *
+ * Reemplaza el switch sobre saleLocation.toLowerCase() y los new BigDecimal(...) que
+ * OrderTaxManager.findRate repite por cada item: las tasas de cada ubicación se
+ * precalculan con la misma aritmética (tasa base × multiplicador de categoría), de modo
+ * que los valores, incluida su escala, son idénticos a los de findRate.
+ *
+ * La ubicación se compara sin distinguir mayúsculas; cada texto de ubicación ya visto
+ * se memoiza para que las búsquedas siguientes no llamen a toLowerCase().
+ */
+public final class TaxRateTable {
+
+    /**
+     * Límite de textos de ubicación memoizados; pasado el límite se resuelven sin cache
+     */
+    private static final int MAX_MEMOIZED = 1024;
+
+    private static final TaxRateTable STANDARD = createStandard();
+
+    private final Map<String, LocationRates> byLocation;
+    private final LocationRates defaultRates;
+    private final Map<String, Integer> categoryIndex;
+    private final Map<String, LocationRates> memo = new ConcurrentHashMap<>();
+
+    /**
+     * @param baseRates tasa base por ubicación
+     * @param defaultRate tasa para ubicaciones que no están en baseRates
+     * @param categoryMultipliers multiplicador de la tasa base por categoría; el resto usa la tasa base
+     */
+    public TaxRateTable(Map<String, BigDecimal> baseRates, BigDecimal defaultRate,
+                        Map<String, BigDecimal> categoryMultipliers) {
+        Objects.requireNonNull(defaultRate);
+        Map<String, Integer> index = new HashMap<>();
+        BigDecimal[] multipliers = new BigDecimal[categoryMultipliers.size()];
+        for (Map.Entry<String, BigDecimal> entry : categoryMultipliers.entrySet()) {
+            multipliers[index.size()] = Objects.requireNonNull(entry.getValue());
+            index.put(entry.getKey(), index.size() + 1);
+        }
+        this.categoryIndex = Map.copyOf(index);
+
+        Map<String, LocationRates> locations = new HashMap<>();
+        for (Map.Entry<String, BigDecimal> entry : baseRates.entrySet()) {
+            locations.put(entry.getKey().toLowerCase(),
+                    new LocationRates(entry.getKey(), entry.getValue(), multipliers, categoryIndex));
+        }
+        this.byLocation = Map.copyOf(locations);
+        this.defaultRates = new LocationRates("default", defaultRate, multipliers, categoryIndex);
+    }
+
+    /**
+     * Las tasas de OrderTaxManager: California 8.25%, New York 8.75%, Texas 6.25% y 6% en otras
+     * ubicaciones; la mitad para Food y 50% más para Luxury
+     */
+    public static TaxRateTable standard() {
+        return STANDARD;
+    }
+
+    private static TaxRateTable createStandard() {
+        Map<String, BigDecimal> baseRates = new LinkedHashMap<>();
+        baseRates.put("California", new BigDecimal("0.0825"));
+        baseRates.put("New York", new BigDecimal("0.0875"));
+        baseRates.put("Texas", new BigDecimal("0.0625"));
+        Map<String, BigDecimal> multipliers = new LinkedHashMap<>();
+        multipliers.put("Food", new BigDecimal("0.5"));
+        multipliers.put("Luxury", new BigDecimal("1.5"));
+        return new TaxRateTable(baseRates, new BigDecimal("0.0600"), multipliers);
+    }
+
+    /**
+     * Tasas de una ubicación; las ubicaciones desconocidas reciben la tasa por defecto
+     */
+    public LocationRates resolve(String saleLocation) {
+        LocationRates rates = memo.get(saleLocation);
+        if (rates == null) {
+            rates = byLocation.getOrDefault(saleLocation.toLowerCase(), defaultRates);
+            if (memo.size() < MAX_MEMOIZED) {
+                memo.putIfAbsent(saleLocation, rates);
+            }
+        }
+        return rates;
+    }
+
+    public BigDecimal rate(String saleLocation, String category) {
+        return resolve(saleLocation).rate(category);
+    }
+
+    /**
+     * Número de tasas distintas por ubicación: la base más una por categoría con multiplicador
+     */
+    public int rateCount() {
+        return categoryIndex.size() + 1;
+    }
+
+    /**
+     * Tasas precalculadas de una ubicación, indexadas por categoría
+     */
+    public static final class LocationRates {
+        private final String location;
+        private final BigDecimal[] rates;
+        private final Map<String, Integer> categoryIndex;
+
+        private LocationRates(String location, BigDecimal baseRate, BigDecimal[] multipliers,
+                              Map<String, Integer> categoryIndex) {
+            this.location = location;
+            this.categoryIndex = categoryIndex;
+            this.rates = new BigDecimal[multipliers.length + 1];
+            rates[0] = Objects.requireNonNull(baseRate);
+            for (int i = 0; i < multipliers.length; i++) {
+                rates[i + 1] = baseRate.multiply(multipliers[i]);
+            }
+        }
+
+        public String location() {
+            return location;
+        }
+
+        /**
+         * Posición de la tasa de la categoría; 0 es la tasa base
+         */
+        public int indexOf(String category) {
+            Integer index = category == null ? null : categoryIndex.get(category);
+            return index == null ? 0 : index;
+        }
+
+        public BigDecimal rateAt(int index) {
+            return rates[index];
+        }
+
+        public BigDecimal rate(String category) {
+            return rates[indexOf(category)];
+        }
+
+        @Override
+        public String toString() {
+            return "LocationRates{location='" + location + "', rates=" + Arrays.toString(rates) + "}";
+        }
+    }
+}
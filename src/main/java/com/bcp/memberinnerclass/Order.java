@@ -1,5 +1,6 @@
 package com.bcp.memberinnerclass;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -10,29 +11,60 @@ import java.util.Set;
 public class Order {
     
     private Set<Item> items = new HashSet<>();
+    private final Set<Item> itemsView = Collections.unmodifiableSet(items);
+    
+    // Total acumulado con suma compensada (Neumaier): se actualiza en addItem y Item.setQuantity
+    private double total;
+    private double totalCompensation;
     
     /**
      * Método público para agregar items a la orden
      */
     public void addItem(Product product, int quantity) {
-        items.add(new Item(product, quantity));
+        Item item = new Item(product, quantity);
+        items.add(item);
+        addToTotal(item.subtotal);
         System.out.println("Item agregado: " + product.getName() + " x" + quantity);
     }
     
     /**
-     * Método para obtener todos los items
+     * Método para obtener todos los items.
+     * Retorna una vista de solo lectura que refleja los cambios de la orden, sin copiar el Set
      */
     public Set<Item> getItems() {
-        return new HashSet<>(items); // Retorna una copia para evitar modificación externa
+        return itemsView;
     }
     
     /**
-     * Método para calcular el total de la orden
+     * Método para calcular el total de la orden.
+     * O(1): el total se mantiene al agregar items y al cambiar cantidades
      */
     public double getTotal() {
-        return items.stream()
-                   .mapToDouble(item -> item.getProduct().getPrice() * item.getQuantity())
-                   .sum();
+        return total + totalCompensation;
+    }
+    
+    /**
+     * Recalcula el total desde los items; necesario solo si cambió el precio de un Product
+     * ya agregado, porque Product no avisa a las órdenes que lo contienen
+     */
+    public double recalculateTotal() {
+        total = 0;
+        totalCompensation = 0;
+        for (Item item : items) {
+            item.subtotal = item.product.getPrice() * item.quantity;
+            addToTotal(item.subtotal);
+        }
+        return getTotal();
+    }
+    
+    private void addToTotal(double value) {
+        double sum = total + value;
+        if (Math.abs(total) >= Math.abs(value)) {
+            totalCompensation += (total - sum) + value;
+        } else {
+            totalCompensation += (value - sum) + total;
+        }
+        total = sum;
     }
     
     /**
@@ -59,6 +91,8 @@ public class Order {
     class Item {
         private Product product;
         private int quantity;
+        // Último price * quantity sumado al total de la orden
+        private double subtotal;
         
         /**
          * Constructor privado de Item
@@ -67,6 +101,7 @@ public class Order {
         private Item(Product product, int quantity) {
             this.product = product;
             this.quantity = quantity;
+            this.subtotal = product.getPrice() * quantity;
         }
         
         public Product getProduct() {
@@ -77,8 +112,14 @@ public class Order {
             return quantity;
         }
         
+        /**
+         * Actualiza también el total de la Order a la que pertenece (Order.this)
+         */
         public void setQuantity(int quantity) {
             this.quantity = quantity;
+            double updated = product.getPrice() * quantity;
+            addToTotal(updated - subtotal);
+            subtotal = updated;
         }
         
         public double getSubtotal() {
@@ -129,16 +170,29 @@ public class Order {
         System.out.println("   order2:");
         order2.displayOrder();
         
+        // El total se mantiene al cambiar cantidades, incluso desde el propio Item
+        System.out.println("5. Total mantenido al cambiar cantidades:");
+        System.out.println("   order1.getTotal() = $" + String.format("%.2f", order1.getTotal()));
+        for (Item item : order1.getItems()) {
+            if (item.getProduct() instanceof Drink) {
+                System.out.println("   item.setQuantity(5) sobre " + item.getProduct().getName());
+                item.setQuantity(5);
+            }
+        }
+        System.out.println("   order1.getTotal() = $" + String.format("%.2f", order1.getTotal()));
+        System.out.println();
+        
         // Demostrar características de las clases anidadas de miembro
-        System.out.println("5. Características de las clases anidadas de miembro:");
+        System.out.println("6. Características de las clases anidadas de miembro:");
         System.out.println("   ✅ Cada Item está asociado a una instancia específica de Order");
         System.out.println("   ✅ Item puede acceder a los miembros de la instancia de Order");
         System.out.println("   ✅ Item no puede existir sin una instancia de Order");
         System.out.println("   ✅ new Item(product, quantity) solo funciona desde dentro de Order");
+        System.out.println("   ✅ Item.setQuantity actualiza el total de su Order (Order.this)");
         System.out.println();
         
         // Demostrar que Item está asociado a instancias específicas
-        System.out.println("6. Asociación con instancias específicas:");
+        System.out.println("7. Asociación con instancias específicas:");
         System.out.println("   order1 tiene " + order1.getItems().size() + " items");
         System.out.println("   order2 tiene " + order2.getItems().size() + " items");
         System.out.println("   Cada Item pertenece a su Order específico");
@@ -0,0 +1,32 @@
+package com.bcp.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador monótono de MetricsRegistry sobre un LongAdder: muchos hilos pueden incrementarlo
+ * sin competir por la misma variable
+ */
+public final class Counter {
+
+    private final LongAdder count = new LongAdder();
+
+    Counter() {
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long delta) {
+        count.add(delta);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(count());
+    }
+}
@@ -0,0 +1,89 @@
+package com.bcp.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Timers por operación con percentiles, detección de operaciones lentas, reporte por
+ * intervalos y el costo de registrar una muestra
+ */
+public class LatencyExample {
+
+    public static void main(String[] args) throws InterruptedException {
+        Logger logger = Logger.getLogger(LatencyExample.class.getName());
+        try (LatencyRegistry registry = new LatencyRegistry(logger)) {
+            System.out.println("=== 1. Operaciones lentas: umbral de 100 ms ===");
+            LatencyTimer query = registry.timer("db.query", Duration.ofMillis(100));
+            for (int i = 0; i < 1000; i++) {
+                // 1 de cada 100 consultas tarda entre 100 y 300 ms
+                long millis = i % 100 == 99 ? 100 + i % 200 : 2 + i % 20;
+                query.record(Duration.ofMillis(millis));
+            }
+            long start = query.start();
+            Thread.sleep(150);
+            query.stop(start);
+            System.out.println("Lentas: " + query.slowCount() + " (el log muestra las primeras 5 y luego 1 por segundo)");
+            System.out.println(query);
+            System.out.println();
+
+            System.out.println("=== 2. Reporte por intervalos de 250 ms con 4 hilos ===");
+            registry.startReporting(Duration.ofMillis(250));
+            LatencyTimer login = registry.timer("auth.login");
+            LatencyTimer checkout = registry.timer("orders.checkout");
+            ExecutorService pool = Executors.newFixedThreadPool(4);
+            long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1000);
+            for (int t = 0; t < 4; t++) {
+                pool.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < end) {
+                        login.record(Math.round(Math.exp(random.nextGaussian() * 0.5 + 12)));
+                        checkout.time(() -> busyWork(200 + random.nextInt(2000)));
+                    }
+                });
+            }
+            pool.shutdown();
+            pool.awaitTermination(5, TimeUnit.SECONDS);
+            Thread.sleep(300);
+            // Detiene el reporte periódico; los timers siguen funcionando
+            registry.stopReporting();
+            System.out.println();
+            System.out.println("Acumulado:");
+            System.out.print(registry.report());
+            System.out.println();
+
+            System.out.println("=== 3. Costo de registrar una muestra ===");
+            LatencyHistogram histogram = new LatencyHistogram();
+            int samples = 20_000_000;
+            for (int round = 0; round < 2; round++) {
+                long t0 = System.nanoTime();
+                for (int i = 0; i < samples; i++) {
+                    histogram.record(i & 0xFFFFF);
+                }
+                long recordNanos = System.nanoTime() - t0;
+                LatencyTimer overhead = registry.timer("overhead");
+                t0 = System.nanoTime();
+                for (int i = 0; i < samples; i++) {
+                    overhead.stop(overhead.start());
+                }
+                long timerNanos = System.nanoTime() - t0;
+                if (round == 1) {
+                    System.out.printf("record(): %.1f ns por muestra%n", (double) recordNanos / samples);
+                    System.out.printf("start() + stop() (incluye 2 System.nanoTime()): %.1f ns por muestra%n",
+                            (double) timerNanos / samples);
+                }
+            }
+        }
+    }
+
+    private static long busyWork(int iterations) {
+        long x = 0;
+        for (int i = 0; i < iterations; i++) {
+            x += Long.hashCode(x ^ i) * 31L;
+        }
+        return x;
+    }
+}
@@ -0,0 +1,117 @@
+package com.bcp.metrics;
+
+import com.bcp.testlogging.ThrottledLogger;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * LatencyTimer por nombre de operación ("db.query", "auth.login"...). timer(name) devuelve
+ * siempre el mismo timer, así que se puede guardar en un campo o pedir en cada llamada.
+ *
+ * startReporting(period) escribe cada period una línea INFO por timer con los percentiles del
+ * intervalo (solo los que tuvieron muestras), en un hilo daemon que se detiene con
+ * stopReporting() o close(); los timers siguen funcionando después.
+ */
+public final class LatencyRegistry implements AutoCloseable {
+
+    private final Logger logger;
+    private final ThrottledLogger throttled;
+    private final Map<String, LatencyTimer> timers = new ConcurrentHashMap<>();
+    private ScheduledExecutorService reporter;
+
+    public LatencyRegistry() {
+        this(Logger.getLogger(LatencyRegistry.class.getPackageName()));
+    }
+
+    /**
+     * @param logger donde se escriben las operaciones lentas y los reportes periódicos
+     */
+    public LatencyRegistry(Logger logger) {
+        this.logger = Objects.requireNonNull(logger);
+        this.throttled = ThrottledLogger.of(logger);
+    }
+
+    public LatencyTimer timer(String name) {
+        return timers.computeIfAbsent(name, key -> new LatencyTimer(key, throttled));
+    }
+
+    /**
+     * El timer de name con el umbral de operación lenta slowThreshold (reemplaza el anterior)
+     */
+    public LatencyTimer timer(String name, Duration slowThreshold) {
+        LatencyTimer timer = timer(name);
+        timer.setSlowThreshold(slowThreshold);
+        return timer;
+    }
+
+    /**
+     * Todo lo registrado por cada timer, ordenado por nombre
+     */
+    public Map<String, LatencySnapshot> snapshots() {
+        Map<String, LatencySnapshot> snapshots = new TreeMap<>();
+        timers.forEach((name, timer) -> snapshots.put(name, timer.snapshot()));
+        return snapshots;
+    }
+
+    /**
+     * Lo registrado por cada timer desde el intervalo anterior, ordenado por nombre
+     */
+    public Map<String, LatencySnapshot> intervalSnapshots() {
+        Map<String, LatencySnapshot> snapshots = new TreeMap<>();
+        timers.forEach((name, timer) -> snapshots.put(name, timer.intervalSnapshot()));
+        return snapshots;
+    }
+
+    /**
+     * Tabla de texto con count, p50, p99, p999 y max de cada timer
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder(String.format("%-32s %10s %10s %10s %10s %10s%n",
+                "operación", "n", "p50", "p99", "p999", "max"));
+        snapshots().forEach((name, s) -> report.append(String.format("%-32s %10d %10s %10s %10s %10s%n",
+                name, s.count(), LatencySnapshot.format(s.p50()), LatencySnapshot.format(s.p99()),
+                LatencySnapshot.format(s.p999()), LatencySnapshot.format(s.max()))));
+        return report.toString();
+    }
+
+    public synchronized void startReporting(Duration period) {
+        if (reporter != null) {
+            throw new IllegalStateException("El reporte periódico ya está activo");
+        }
+        reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "latency-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = period.toMillis();
+        reporter.scheduleAtFixedRate(this::reportInterval, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    private void reportInterval() {
+        for (Map.Entry<String, LatencySnapshot> entry : intervalSnapshots().entrySet()) {
+            if (entry.getValue().count() > 0) {
+                logger.info(entry.getKey() + " " + entry.getValue());
+            }
+        }
+    }
+
+    public synchronized void stopReporting() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        stopReporting();
+    }
+}
@@ -0,0 +1,150 @@
+package com.bcp.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Foto inmutable de un LatencyHistogram: solo los buckets con muestras (índice y cantidad).
+ * Los percentiles devuelven el mayor valor del bucket, acotado por el máximo exacto.
+ */
+public final class LatencySnapshot {
+
+    static final LatencySnapshot EMPTY = new LatencySnapshot(new int[0], new long[0], 0, 0);
+
+    private final int[] indexes;
+    private final long[] counts;
+    private final long count;
+    private final long max;
+
+    private LatencySnapshot(int[] indexes, long[] counts, long count, long max) {
+        this.indexes = indexes;
+        this.counts = counts;
+        this.count = count;
+        this.max = max;
+    }
+
+    static LatencySnapshot of(long[] bucketCounts, long max) {
+        int used = 0;
+        for (long c : bucketCounts) {
+            if (c != 0) {
+                used++;
+            }
+        }
+        int[] indexes = new int[used];
+        long[] counts = new long[used];
+        long total = 0;
+        int highest = -1;
+        for (int i = 0, j = 0; i < bucketCounts.length; i++) {
+            if (bucketCounts[i] != 0) {
+                indexes[j] = i;
+                counts[j++] = bucketCounts[i];
+                total += bucketCounts[i];
+                highest = i;
+            }
+        }
+        // Una muestra puede entrar al bucket después de leer el máximo (o al revés)
+        long exactMax = highest < 0 ? 0 : Math.max(max, LatencyHistogram.lowestEquivalent(highest));
+        return new LatencySnapshot(indexes, counts, total, exactMax);
+    }
+
+    /**
+     * Suma de las dos fotos, por ejemplo para acumular intervalos
+     */
+    public LatencySnapshot merge(LatencySnapshot other) {
+        long[] dense = new long[LatencyHistogram.BUCKETS];
+        for (int i = 0; i < indexes.length; i++) {
+            dense[indexes[i]] += counts[i];
+        }
+        for (int i = 0; i < other.indexes.length; i++) {
+            dense[other.indexes[i]] += other.counts[i];
+        }
+        return of(dense, Math.max(max, other.max));
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    /**
+     * Promedio aproximado: cada muestra cuenta como el centro de su bucket
+     */
+    public double mean() {
+        if (count == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (int i = 0; i < indexes.length; i++) {
+            long low = LatencyHistogram.lowestEquivalent(indexes[i]);
+            long high = LatencyHistogram.highestEquivalent(indexes[i]);
+            sum += (low + (high - low) / 2.0) * counts[i];
+        }
+        return sum / count;
+    }
+
+    /**
+     * Valor por debajo del cual (o igual) está el percentile por ciento de las muestras
+     */
+    public long percentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("El percentil debe estar entre 0 y 100: " + percentile);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < indexes.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.highestEquivalent(indexes[i]), max);
+            }
+        }
+        return max;
+    }
+
+    public long p50() {
+        return percentile(50);
+    }
+
+    public long p99() {
+        return percentile(99);
+    }
+
+    public long p999() {
+        return percentile(99.9);
+    }
+
+    /**
+     * Duración en la unidad más legible: 850 ns, 12.3 µs, 4.56 ms, 1.20 s
+     */
+    public static String format(long nanos) {
+        if (nanos < 1_000) {
+            return nanos + " ns";
+        } else if (nanos < 1_000_000) {
+            return String.format("%.1f µs", nanos / 1e3);
+        } else if (nanos < 1_000_000_000) {
+            return String.format("%.2f ms", nanos / 1e6);
+        }
+        return String.format("%.2f s", nanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return "n=" + count + " p50=" + format(p50()) + " p99=" + format(p99()) + " p999=" + format(p999())
+                + " max=" + format(max);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof LatencySnapshot other && count == other.count && max == other.max
+                && Arrays.equals(indexes, other.indexes) && Arrays.equals(counts, other.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(indexes) + Arrays.hashCode(counts);
+    }
+}
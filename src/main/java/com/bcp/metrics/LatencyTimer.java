@@ -0,0 +1,139 @@
+package com.bcp.metrics;
+
+import com.bcp.testlogging.LogLimiter;
+import com.bcp.testlogging.ThrottledLogger;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * Timer con nombre que registra duraciones en un LatencyHistogram. Reemplaza el patrón
+ * currentTimeMillis() antes y después + if (duration > 100):
+ *
+ * <pre>
+ * long start = timer.start();
+ * ...
+ * timer.stop(start);
+ * </pre>
+ *
+ * Con un umbral de operación lenta, cada muestra que lo supera escribe una línea WARNING con
+ * la duración y los percentiles del timer. Esas líneas pasan por un LogLimiter (5 seguidas y
+ * después 1 por segundo) para que una racha de operaciones lentas no llene el log.
+ */
+public final class LatencyTimer {
+
+    private final String name;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final ThrottledLogger log;
+    private final LogLimiter slowLimiter = LogLimiter.rateLimited(1, 5);
+    private final LongAdder slowCount = new LongAdder();
+    private volatile long slowThresholdNanos = Long.MAX_VALUE;
+    // Suma de los intervalos ya vaciados por intervalSnapshot()
+    private LatencySnapshot previousIntervals = LatencySnapshot.EMPTY;
+
+    LatencyTimer(String name, ThrottledLogger log) {
+        this.name = Objects.requireNonNull(name);
+        this.log = log;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Umbral de operación lenta; null lo desactiva
+     */
+    public void setSlowThreshold(Duration threshold) {
+        slowThresholdNanos = threshold == null ? Long.MAX_VALUE : threshold.toNanos();
+    }
+
+    public Duration slowThreshold() {
+        long threshold = slowThresholdNanos;
+        return threshold == Long.MAX_VALUE ? null : Duration.ofNanos(threshold);
+    }
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Registra el tiempo desde start y lo devuelve en nanosegundos
+     */
+    public long stop(long start) {
+        long elapsed = System.nanoTime() - start;
+        record(elapsed);
+        return elapsed;
+    }
+
+    public void record(long nanos) {
+        histogram.record(nanos);
+        if (nanos > slowThresholdNanos) {
+            slowCount.increment();
+            log.log(slowLimiter, Level.WARNING, "{0}", new SlowOperation(this, nanos));
+        }
+    }
+
+    public void record(Duration duration) {
+        record(duration.toNanos());
+    }
+
+    public <T> T time(Supplier<T> operation) {
+        long start = start();
+        try {
+            return operation.get();
+        } finally {
+            stop(start);
+        }
+    }
+
+    public void time(Runnable operation) {
+        long start = start();
+        try {
+            operation.run();
+        } finally {
+            stop(start);
+        }
+    }
+
+    /**
+     * Muestras que superaron el umbral, se hayan escrito en el log o no
+     */
+    public long slowCount() {
+        return slowCount.sum();
+    }
+
+    /**
+     * Todo lo registrado desde que se creó el timer
+     */
+    public synchronized LatencySnapshot snapshot() {
+        return previousIntervals.merge(histogram.snapshot());
+    }
+
+    /**
+     * Lo registrado desde el intervalo anterior; snapshot() lo sigue incluyendo
+     */
+    public synchronized LatencySnapshot intervalSnapshot() {
+        LatencySnapshot interval = histogram.snapshotAndReset();
+        previousIntervals = previousIntervals.merge(interval);
+        return interval;
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + snapshot();
+    }
+
+    /**
+     * Mensaje de operación lenta; los percentiles se calculan solo si la línea se escribe
+     */
+    private record SlowOperation(LatencyTimer timer, long nanos) {
+        @Override
+        public String toString() {
+            return "Operación lenta " + timer.name + ": " + LatencySnapshot.format(nanos) + " (umbral "
+                    + LatencySnapshot.format(timer.slowThresholdNanos) + "), " + timer.snapshot();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.bcp.metrics;
+
+import com.bcp.concurrentcollection.BatchingCopyOnWriteList;
+import com.bcp.concurrentcollection.InventoryMap;
+import com.bcp.concurrentstreams.CategoryCollectors;
+import com.bcp.concurrentstreams.PriceStatistics;
+import com.bcp.concurrentstreams.Product;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * InventoryMap, BatchingCopyOnWriteList y collectors paralelos reportando a un MetricsRegistry
+ * publicado como MBeans de la plataforma; al final se leen por JMX y como texto
+ */
+public class MetricsExample {
+
+    private static final String[] CATEGORIES = {"Electrónica", "Bebida", "Comida", "Hogar"};
+
+    public static void main(String[] args) throws InterruptedException, JMException {
+        try (MetricsRegistry metrics = new MetricsRegistry("com.bcp.example")) {
+            metrics.publish();
+
+            System.out.println("=== 1. InventoryMap con 8 hilos sobre 4 productos ===");
+            InventoryMap<String> inventory = new InventoryMap<>();
+            inventory.registerMetrics(metrics, "inventory");
+            ExecutorService pool = Executors.newFixedThreadPool(8);
+            for (int t = 0; t < 8; t++) {
+                pool.execute(() -> {
+                    for (int i = 0; i < 200_000; i++) {
+                        String product = CATEGORIES[i & 3];
+                        // Las ventas fallan si no hay stock: eso cuenta en inventory.rejected
+                        inventory.tryAdjust(product, i % 3 == 0 ? -2 : 1);
+                    }
+                });
+            }
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+            System.out.println("Reintentos de CAS: " + inventory.casRetryCount() + " de " + inventory.adjustCount() + " ajustes");
+            System.out.println();
+
+            System.out.println("=== 2. BatchingCopyOnWriteList: add contra bufferedAdd ===");
+            BatchingCopyOnWriteList<String> single = new BatchingCopyOnWriteList<>();
+            BatchingCopyOnWriteList<String> buffered = new BatchingCopyOnWriteList<>(100, Duration.ofMillis(50));
+            single.registerMetrics(metrics, "orders.single");
+            buffered.registerMetrics(metrics, "orders.buffered");
+            for (int i = 0; i < 2_000; i++) {
+                single.add("Pedido_" + i);
+                buffered.bufferedAdd("Pedido_" + i);
+            }
+            System.out.println("add: " + single.publishCount() + " publicaciones, " + single.copiedElementCount() + " elementos copiados");
+            System.out.println("bufferedAdd: " + buffered.publishCount() + " publicaciones, " + buffered.copiedElementCount()
+                    + " elementos copiados, " + buffered.pendingCount() + " pendientes");
+            System.out.println();
+
+            System.out.println("=== 3. Collectors paralelos instrumentados ===");
+            List<Product> products = IntStream.range(0, 1_000_000)
+                    .mapToObj(i -> new Product("P" + i, BigDecimal.valueOf(1 + i % 500), CATEGORIES[i % CATEGORIES.length]))
+                    .toList();
+            Map<String, Long> byCategory = products.parallelStream()
+                    .collect(metrics.instrument("streams.byCategory", CategoryCollectors.counting(Product::getCategory)));
+            PriceStatistics prices = products.parallelStream()
+                    .collect(metrics.instrument("streams.priceStatistics", PriceStatistics.ofPrices()));
+            Map<String, Long> concurrent = products.parallelStream()
+                    .collect(metrics.instrument("streams.groupingByConcurrent",
+                            Collectors.groupingByConcurrent(Product::getCategory, Collectors.counting())));
+            System.out.println("Por categoría: " + byCategory);
+            System.out.printf("Precio promedio: %.2f%n", prices.mean());
+            System.out.println("groupingByConcurrent: " + concurrent);
+            System.out.println();
+
+            System.out.println("=== 4. Lectura por JMX (como jconsole) ===");
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            for (String name : List.of("inventory.casRetries", "inventory.size", "orders.buffered.pending",
+                    "streams.byCategory.containers", "streams.byCategory.combine")) {
+                ObjectName objectName = metrics.objectName(name);
+                String attribute = name.endsWith(".combine") ? "P99Nanos" : name.endsWith("size")
+                        || name.endsWith("pending") ? "Value" : "Count";
+                System.out.println(objectName + " " + attribute + " = " + server.getAttribute(objectName, attribute));
+            }
+            System.out.println("MBeans en com.bcp.example: " + server.queryNames(
+                    new ObjectName("com.bcp.example:*"), null).size());
+            System.out.println();
+
+            System.out.println("=== 5. Reporte de texto ===");
+            System.out.print(metrics.report());
+        }
+    }
+}
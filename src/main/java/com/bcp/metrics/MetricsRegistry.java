@@ -0,0 +1,426 @@
+package com.bcp.metrics;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.stream.Collector;
+
+/**
+ * Métricas por nombre para colecciones y pipelines: contadores (LongAdder), gauges (un
+ * LongSupplier que se lee al consultar) y timers (LatencyTimer).
+ *
+ * Ningún camino caliente toma un lock compartido: quien registra una métrica guarda el Counter
+ * o el LatencyTimer en un campo y lo incrementa directamente; el mapa de nombres
+ * (ConcurrentHashMap) solo se usa al registrar y al leer. Los gauges y los contadores de
+ * función no cuestan nada hasta que alguien los lee.
+ *
+ * publish() registra cada métrica como MBean en el MBeanServer de la plataforma (jconsole,
+ * VisualVM, JMX remoto) con ObjectName dominio:type=Counter|Gauge|Timer,name=nombre,
+ * incluidas las que se registren después; close() las quita. report() devuelve las mismas
+ * métricas como texto.
+ */
+public final class MetricsRegistry implements AutoCloseable {
+
+    private final String domain;
+    private final Logger logger;
+    private final LatencyRegistry timers;
+    private final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+    private final Map<String, ObjectName> published = new ConcurrentHashMap<>();
+    private volatile MBeanServer server;
+
+    public MetricsRegistry() {
+        this(MetricsRegistry.class.getPackageName());
+    }
+
+    /**
+     * @param domain dominio JMX de los MBeans, por ejemplo "com.bcp.inventory"
+     */
+    public MetricsRegistry(String domain) {
+        this(domain, Logger.getLogger(MetricsRegistry.class.getPackageName()));
+    }
+
+    /**
+     * @param logger donde los timers escriben las operaciones lentas
+     */
+    public MetricsRegistry(String domain, Logger logger) {
+        this.domain = Objects.requireNonNull(domain);
+        this.logger = Objects.requireNonNull(logger);
+        this.timers = new LatencyRegistry(logger);
+    }
+
+    private sealed interface Metric permits CounterMetric, GaugeMetric, TimerMetric {
+    }
+
+    /**
+     * @param owned el Counter si lo creó counter(name), null si el valor viene de otra clase
+     */
+    private record CounterMetric(Counter owned, LongSupplier count) implements Metric {
+    }
+
+    private record GaugeMetric(LongSupplier value) implements Metric {
+    }
+
+    private record TimerMetric(LatencyTimer timer) implements Metric {
+    }
+
+    /**
+     * El contador llamado name (lo crea la primera vez); conviene guardarlo en un campo
+     */
+    public Counter counter(String name) {
+        Counter counter = new Counter();
+        if (register(name, new CounterMetric(counter, counter::count)) instanceof CounterMetric(Counter owned, var count)
+                && owned != null) {
+            return owned;
+        }
+        throw new IllegalArgumentException("La métrica " + name + " es un contador de función");
+    }
+
+    /**
+     * Contador monótono que ya lleva otra clase (por ejemplo en un LongAdder propio): se lee de
+     * count al consultar. Si name ya existe se mantiene el anterior.
+     */
+    public void counter(String name, LongSupplier count) {
+        register(name, new CounterMetric(null, Objects.requireNonNull(count)));
+    }
+
+    /**
+     * Valor instantáneo (tamaño, elementos pendientes...) leído de value al consultar. Si name
+     * ya existe se mantiene el anterior.
+     */
+    public void gauge(String name, LongSupplier value) {
+        register(name, new GaugeMetric(Objects.requireNonNull(value)));
+    }
+
+    public LatencyTimer timer(String name) {
+        Objects.requireNonNull(name);
+        Metric existing = metrics.get(name);
+        if (existing instanceof TimerMetric(LatencyTimer timer)) {
+            return timer;
+        }
+        return ((TimerMetric) register(name, new TimerMetric(timers.timer(name)))).timer();
+    }
+
+    public LatencyTimer timer(String name, Duration slowThreshold) {
+        LatencyTimer timer = timer(name);
+        timer.setSlowThreshold(slowThreshold);
+        return timer;
+    }
+
+    private Metric register(String name, Metric metric) {
+        Objects.requireNonNull(name);
+        Metric existing = metrics.putIfAbsent(name, metric);
+        if (existing != null) {
+            if (existing.getClass() != metric.getClass()) {
+                throw new IllegalArgumentException("La métrica " + name + " ya existe con otro tipo: " + type(existing));
+            }
+            return existing;
+        }
+        MBeanServer target = server;
+        if (target != null) {
+            publish(target, name, metric);
+        }
+        return metric;
+    }
+
+    /**
+     * Envuelve collector para contar, con el prefijo name:
+     * - name.containers: contenedores creados (uno por partición en un stream paralelo)
+     * - name.elements: elementos acumulados
+     * - name.results: veces que se completó el collect
+     * - name.combine: timer de cada combinación de dos contenedores
+     *
+     * En un collector no CONCURRENT cada contenedor cuenta sus elementos en un long propio y
+     * los suma al terminar; en uno CONCURRENT (un contenedor compartido) cada elemento suma en
+     * el LongAdder del contador.
+     */
+    public <T, A, R> Collector<T, ?, R> instrument(String name, Collector<T, A, R> collector) {
+        Counter containers = counter(name + ".containers");
+        Counter elements = counter(name + ".elements");
+        Counter results = counter(name + ".results");
+        LatencyTimer combine = timer(name + ".combine");
+        Supplier<A> supplier = collector.supplier();
+        BiConsumer<A, T> accumulator = collector.accumulator();
+        BinaryOperator<A> combiner = collector.combiner();
+        Function<A, R> finisher = collector.finisher();
+        // Sin IDENTITY_FINISH: el finisher tiene que ejecutarse para contar el resultado
+        Set<Collector.Characteristics> characteristics = EnumSet.noneOf(Collector.Characteristics.class);
+        characteristics.addAll(collector.characteristics());
+        characteristics.remove(Collector.Characteristics.IDENTITY_FINISH);
+        Collector.Characteristics[] flags = characteristics.toArray(new Collector.Characteristics[0]);
+
+        if (characteristics.contains(Collector.Characteristics.CONCURRENT)) {
+            return Collector.of(
+                    () -> {
+                        containers.increment();
+                        return supplier.get();
+                    },
+                    (container, element) -> {
+                        accumulator.accept(container, element);
+                        elements.increment();
+                    },
+                    (left, right) -> combine.time(() -> combiner.apply(left, right)),
+                    container -> {
+                        results.increment();
+                        return finisher.apply(container);
+                    },
+                    flags);
+        }
+        return Collector.of(
+                () -> {
+                    containers.increment();
+                    return new Counted<>(supplier.get());
+                },
+                (counted, element) -> {
+                    accumulator.accept(counted.container, element);
+                    counted.elements++;
+                },
+                (left, right) -> {
+                    long start = combine.start();
+                    Counted<A> merged = new Counted<>(combiner.apply(left.container, right.container));
+                    merged.elements = left.elements + right.elements;
+                    combine.stop(start);
+                    return merged;
+                },
+                counted -> {
+                    elements.add(counted.elements);
+                    results.increment();
+                    return finisher.apply(counted.container);
+                },
+                flags);
+    }
+
+    /**
+     * Contenedor de un collector con la cantidad de elementos que acumuló
+     */
+    private static final class Counted<A> {
+        final A container;
+        long elements;
+
+        Counted(A container) {
+            this.container = container;
+        }
+    }
+
+    /**
+     * Valores actuales ordenados por nombre: Long para contadores y gauges, LatencySnapshot
+     * para timers
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> values = new TreeMap<>();
+        metrics.forEach((name, metric) -> values.put(name, switch (metric) {
+            case CounterMetric counter -> counter.count().getAsLong();
+            case GaugeMetric gauge -> gauge.value().getAsLong();
+            case TimerMetric timer -> timer.timer().snapshot();
+        }));
+        return values;
+    }
+
+    /**
+     * Una línea por métrica: tipo, nombre y valor (o count y percentiles para los timers)
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        Map<String, Object> values = snapshot();
+        values.forEach((name, value) -> report.append(String.format("%-8s %-40s %s%n",
+                type(metrics.get(name)).toLowerCase(), name, value)));
+        return report.toString();
+    }
+
+    private static String type(Metric metric) {
+        return switch (metric) {
+            case CounterMetric counter -> "Counter";
+            case GaugeMetric gauge -> "Gauge";
+            case TimerMetric timer -> "Timer";
+        };
+    }
+
+    /**
+     * Registra las métricas actuales y las que se agreguen después en el MBeanServer de la
+     * plataforma
+     */
+    public void publish() {
+        publish(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public synchronized void publish(MBeanServer target) {
+        if (server != null) {
+            throw new IllegalStateException("Las métricas ya están publicadas");
+        }
+        server = Objects.requireNonNull(target);
+        metrics.forEach((name, metric) -> publish(target, name, metric));
+    }
+
+    private void publish(MBeanServer target, String name, Metric metric) {
+        if (published.containsKey(name)) {
+            return;
+        }
+        ObjectName objectName = null;
+        try {
+            objectName = objectName(name, metric);
+            if (published.putIfAbsent(name, objectName) == null) {
+                target.registerMBean(new MetricMBean(name, metric), objectName);
+            }
+        } catch (JMException e) {
+            // Sin registrar el MBean no es de este registry: close() no debe darlo de baja
+            if (objectName != null) {
+                published.remove(name, objectName);
+            }
+            // Una métrica que no se puede publicar no debe romper al que la registra
+            logger.warning("No se pudo publicar la métrica " + name + " en JMX: " + e);
+        }
+    }
+
+    public ObjectName objectName(String name) {
+        Metric metric = metrics.get(name);
+        if (metric == null) {
+            throw new IllegalArgumentException("No existe la métrica " + name);
+        }
+        try {
+            return objectName(name, metric);
+        } catch (JMException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private ObjectName objectName(String name, Metric metric) throws JMException {
+        boolean plain = name.chars().noneMatch(c -> ",=:*?\"\\\n".indexOf(c) >= 0);
+        return new ObjectName(domain + ":type=" + type(metric) + ",name=" + (plain ? name : ObjectName.quote(name)));
+    }
+
+    /**
+     * Quita los MBeans publicados; las métricas siguen funcionando
+     */
+    @Override
+    public synchronized void close() {
+        MBeanServer target = server;
+        server = null;
+        if (target != null) {
+            published.forEach((name, objectName) -> {
+                try {
+                    target.unregisterMBean(objectName);
+                } catch (InstanceNotFoundException e) {
+                    // Ya lo quitó otro
+                } catch (JMException e) {
+                    logger.warning("No se pudo quitar la métrica " + name + " de JMX: " + e);
+                }
+            });
+            published.clear();
+        }
+        timers.close();
+    }
+
+    /**
+     * MBean de una métrica. Es dinámico para que JMX no tenga que leer por reflexión una
+     * interfaz de este módulo: Count para contadores, Value para gauges y Count, P50Nanos,
+     * P99Nanos, P999Nanos, MaxNanos, MeanNanos y SlowCount para timers.
+     */
+    private static final class MetricMBean implements DynamicMBean {
+        private final String name;
+        private final Metric metric;
+
+        MetricMBean(String name, Metric metric) {
+            this.name = name;
+            this.metric = metric;
+        }
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            Object value = read(attribute, metric instanceof TimerMetric(LatencyTimer timer) ? timer.snapshot() : null);
+            if (value == null) {
+                throw new AttributeNotFoundException(attribute);
+            }
+            return value;
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] attributes) {
+            // Una sola foto del histograma para todos los atributos pedidos
+            LatencySnapshot snapshot = metric instanceof TimerMetric(LatencyTimer timer) ? timer.snapshot() : null;
+            AttributeList list = new AttributeList();
+            for (String attribute : attributes) {
+                Object value = read(attribute, snapshot);
+                if (value != null) {
+                    list.add(new Attribute(attribute, value));
+                }
+            }
+            return list;
+        }
+
+        private Object read(String attribute, LatencySnapshot snapshot) {
+            return switch (metric) {
+                case CounterMetric counter -> attribute.equals("Count") ? counter.count().getAsLong() : null;
+                case GaugeMetric gauge -> attribute.equals("Value") ? gauge.value().getAsLong() : null;
+                case TimerMetric timer -> switch (attribute) {
+                    case "Count" -> snapshot.count();
+                    case "P50Nanos" -> snapshot.p50();
+                    case "P99Nanos" -> snapshot.p99();
+                    case "P999Nanos" -> snapshot.p999();
+                    case "MaxNanos" -> snapshot.max();
+                    case "MeanNanos" -> snapshot.mean();
+                    case "SlowCount" -> timer.timer().slowCount();
+                    default -> null;
+                };
+            };
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("Las métricas son de solo lectura: " + attribute.getName());
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+            throw new ReflectionException(new NoSuchMethodException(actionName));
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            MBeanAttributeInfo[] attributes = switch (metric) {
+                case CounterMetric counter -> new MBeanAttributeInfo[]{
+                        attribute("Count", "long", "Valor acumulado")};
+                case GaugeMetric gauge -> new MBeanAttributeInfo[]{
+                        attribute("Value", "long", "Valor actual")};
+                case TimerMetric timer -> new MBeanAttributeInfo[]{
+                        attribute("Count", "long", "Muestras registradas"),
+                        attribute("P50Nanos", "long", "Percentil 50 en nanosegundos"),
+                        attribute("P99Nanos", "long", "Percentil 99 en nanosegundos"),
+                        attribute("P999Nanos", "long", "Percentil 99.9 en nanosegundos"),
+                        attribute("MaxNanos", "long", "Máximo en nanosegundos"),
+                        attribute("MeanNanos", "double", "Promedio aproximado en nanosegundos"),
+                        attribute("SlowCount", "long", "Muestras sobre el umbral de operación lenta")};
+            };
+            return new MBeanInfo(MetricMBean.class.getName(), type(metric) + " " + name, attributes, null, null, null);
+        }
+
+        private static MBeanAttributeInfo attribute(String name, String type, String description) {
+            return new MBeanAttributeInfo(name, type, description, true, false, false);
+        }
+    }
+}
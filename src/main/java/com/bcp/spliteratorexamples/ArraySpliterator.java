@@ -0,0 +1,93 @@
+package com.bcp.spliteratorexamples;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator sobre un rango de un arreglo con tamaño exacto (SIZED | SUBSIZED).
+ * trySplit() divide por la mitad mientras el rango restante supere la granularidad,
+ * así cada tarea del ForkJoinPool recibe al menos granularity elementos.
+ */
+public class ArraySpliterator<T> implements Spliterator<T> {
+
+    private final Object[] array;
+    private final int granularity;
+    private final int characteristics;
+    private int index;
+    private final int fence;
+
+    public ArraySpliterator(Object[] array, int granularity) {
+        this(array, 0, array.length, granularity, 0);
+    }
+
+    /**
+     * @param additionalCharacteristics por ejemplo IMMUTABLE o NONNULL si la fuente lo garantiza
+     */
+    public ArraySpliterator(Object[] array, int origin, int fence, int granularity, int additionalCharacteristics) {
+        Objects.checkFromToIndex(origin, fence, array.length);
+        if (granularity < 1) {
+            throw new IllegalArgumentException("La granularidad debe ser al menos 1: " + granularity);
+        }
+        this.array = array;
+        this.index = origin;
+        this.fence = fence;
+        this.granularity = granularity;
+        this.characteristics = additionalCharacteristics | ORDERED | SIZED | SUBSIZED;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        int remaining = fence - index;
+        if (remaining <= granularity) {
+            return null;
+        }
+        int mid = index + (remaining >>> 1);
+        Spliterator<T> prefix = new ArraySpliterator<>(array, index, mid, granularity, characteristics);
+        index = mid;
+        return prefix;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean tryAdvance(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        if (index < fence) {
+            action.accept((T) array[index++]);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachRemaining(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        Object[] a = array;
+        int hi = fence;
+        int i = index;
+        index = hi;
+        for (; i < hi; i++) {
+            action.accept((T) a[i]);
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+
+    @Override
+    public Comparator<? super T> getComparator() {
+        if (hasCharacteristics(SORTED)) {
+            return null;
+        }
+        throw new IllegalStateException();
+    }
+}
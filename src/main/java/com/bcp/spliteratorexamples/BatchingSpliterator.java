@@ -0,0 +1,100 @@
+package com.bcp.spliteratorexamples;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Adaptador de Iterator a Spliterator para fuentes de tamaño desconocido
+ * (listas enlazadas, cursores, lecturas perezosas).
+ *
+ * Cada trySplit() copia el siguiente lote del iterador a un arreglo y lo entrega como
+ * ArraySpliterator (SIZED | SUBSIZED), que el ForkJoinPool puede seguir dividiendo.
+ * Los lotes crecen en potencias de dos (initialBatch, 2x, 4x, ... hasta maxBatch), así las
+ * primeras tareas empiezan pronto y las siguientes amortizan el costo de copiar.
+ */
+public class BatchingSpliterator<T> implements Spliterator<T> {
+
+    public static final int DEFAULT_INITIAL_BATCH = 1 << 10;
+    public static final int DEFAULT_MAX_BATCH = 1 << 20;
+
+    /**
+     * Granularidad de los lotes: el ForkJoinPool los sigue dividiendo hasta este tamaño
+     */
+    public static final int DEFAULT_GRANULARITY = 1 << 8;
+
+    private final Iterator<? extends T> iterator;
+    private final int maxBatch;
+    private final int granularity;
+    private int batch;
+    private long estimate;
+
+    public BatchingSpliterator(Iterator<? extends T> iterator) {
+        this(iterator, Long.MAX_VALUE, DEFAULT_INITIAL_BATCH, DEFAULT_MAX_BATCH, DEFAULT_GRANULARITY);
+    }
+
+    /**
+     * @param estimatedSize tamaño estimado o Long.MAX_VALUE si se desconoce
+     * @param granularity   granularidad de los ArraySpliterator generados
+     */
+    public BatchingSpliterator(Iterator<? extends T> iterator, long estimatedSize,
+                               int initialBatch, int maxBatch, int granularity) {
+        if (Integer.bitCount(initialBatch) != 1 || Integer.bitCount(maxBatch) != 1 || initialBatch > maxBatch) {
+            throw new IllegalArgumentException("Los lotes deben ser potencias de dos con initialBatch <= maxBatch");
+        }
+        this.iterator = Objects.requireNonNull(iterator);
+        this.estimate = estimatedSize;
+        this.batch = initialBatch;
+        this.maxBatch = maxBatch;
+        this.granularity = granularity;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        Object[] buffer = new Object[batch];
+        int count = 0;
+        do {
+            buffer[count++] = iterator.next();
+        } while (count < buffer.length && iterator.hasNext());
+        if (batch < maxBatch) {
+            batch <<= 1;
+        }
+        if (estimate != Long.MAX_VALUE) {
+            estimate = Math.max(0, estimate - count);
+        }
+        return new ArraySpliterator<>(buffer, 0, count, granularity, 0);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        if (iterator.hasNext()) {
+            action.accept(iterator.next());
+            if (estimate != Long.MAX_VALUE && estimate > 0) {
+                estimate--;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        iterator.forEachRemaining(action);
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED;
+    }
+}
@@ -0,0 +1,55 @@
+package com.bcp.spliteratorexamples;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Fábricas de streams sobre catálogos con Spliterators que dividen bien en paralelo
+ */
+public final class CatalogSpliterators {
+
+    public static final int DEFAULT_GRANULARITY = 1 << 10;
+
+    private CatalogSpliterators() {
+    }
+
+    public static <T> Stream<T> stream(T[] catalog, boolean parallel) {
+        return stream(catalog, DEFAULT_GRANULARITY, parallel);
+    }
+
+    public static <T> Stream<T> stream(T[] catalog, int granularity, boolean parallel) {
+        return StreamSupport.stream(new ArraySpliterator<T>(catalog, granularity), parallel);
+    }
+
+    /**
+     * Copia una colección cualquiera (por ejemplo una LinkedList) a un arreglo y la recorre en bloques exactos
+     */
+    public static <T> Stream<T> stream(Collection<? extends T> catalog, int granularity, boolean parallel) {
+        return StreamSupport.stream(new ArraySpliterator<T>(catalog.toArray(), granularity), parallel);
+    }
+
+    public static <T> Stream<T> chunked(List<? extends List<? extends T>> chunks, boolean parallel) {
+        return chunked(chunks, DEFAULT_GRANULARITY, parallel);
+    }
+
+    public static <T> Stream<T> chunked(List<? extends List<? extends T>> chunks, int granularity, boolean parallel) {
+        return StreamSupport.stream(new ChunkedSpliterator<T>(chunks, granularity), parallel);
+    }
+
+    /**
+     * Stream paralelo sobre un Iterator de tamaño desconocido, en lotes de potencias de dos
+     */
+    public static <T> Stream<T> batching(Iterator<? extends T> iterator, boolean parallel) {
+        return StreamSupport.stream(new BatchingSpliterator<T>(iterator), parallel);
+    }
+
+    public static <T> Stream<T> batching(Iterator<? extends T> iterator, int initialBatch, int maxBatch, boolean parallel) {
+        Spliterator<T> spliterator = new BatchingSpliterator<>(iterator, Long.MAX_VALUE, initialBatch, maxBatch,
+                BatchingSpliterator.DEFAULT_GRANULARITY);
+        return StreamSupport.stream(spliterator, parallel);
+    }
+}
@@ -0,0 +1,126 @@
+package com.bcp.spliteratorexamples;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator sobre una fuente dividida en bloques (por ejemplo páginas de un catálogo).
+ * Con las sumas acumuladas de los tamaños de bloque conoce el tamaño exacto de cualquier
+ * rango, por lo que es SIZED | SUBSIZED y divide por número de elementos, no por bloques:
+ * bloques de tamaños muy distintos no desbalancean el trabajo.
+ * Cada bloque debe ser una lista de acceso aleatorio y la fuente no debe cambiar mientras se recorre.
+ */
+public class ChunkedSpliterator<T> implements Spliterator<T> {
+
+    private final List<? extends List<? extends T>> chunks;
+    /**
+     * offsets[i] = número de elementos antes del bloque i; offsets[chunks.size()] = total
+     */
+    private final long[] offsets;
+    private final int granularity;
+    private long index;
+    private final long fence;
+    private int chunk;
+
+    public ChunkedSpliterator(List<? extends List<? extends T>> chunks, int granularity) {
+        this(chunks, offsetsOf(chunks), granularity);
+    }
+
+    private ChunkedSpliterator(List<? extends List<? extends T>> chunks, long[] offsets, int granularity) {
+        this(chunks, offsets, 0, offsets[offsets.length - 1], granularity);
+    }
+
+    private ChunkedSpliterator(List<? extends List<? extends T>> chunks, long[] offsets,
+                               long origin, long fence, int granularity) {
+        if (granularity < 1) {
+            throw new IllegalArgumentException("La granularidad debe ser al menos 1: " + granularity);
+        }
+        this.chunks = chunks;
+        this.offsets = offsets;
+        this.index = origin;
+        this.fence = fence;
+        this.granularity = granularity;
+        this.chunk = chunkOf(origin);
+    }
+
+    private static long[] offsetsOf(List<? extends List<?>> chunks) {
+        long[] offsets = new long[chunks.size() + 1];
+        for (int i = 0; i < chunks.size(); i++) {
+            offsets[i + 1] = offsets[i] + chunks.get(i).size();
+        }
+        return offsets;
+    }
+
+    /**
+     * Último bloque cuyo offset es menor o igual a position (búsqueda binaria)
+     */
+    private int chunkOf(long position) {
+        int low = 0;
+        int high = offsets.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= position) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return Math.min(low, Math.max(chunks.size() - 1, 0));
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        long remaining = fence - index;
+        if (remaining <= granularity) {
+            return null;
+        }
+        long mid = index + (remaining >>> 1);
+        Spliterator<T> prefix = new ChunkedSpliterator<>(chunks, offsets, index, mid, granularity);
+        index = mid;
+        chunk = chunkOf(mid);
+        return prefix;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        if (index >= fence) {
+            return false;
+        }
+        while (index >= offsets[chunk + 1]) {
+            chunk++;
+        }
+        action.accept(chunks.get(chunk).get((int) (index - offsets[chunk])));
+        index++;
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        while (index < fence) {
+            while (index >= offsets[chunk + 1]) {
+                chunk++;
+            }
+            List<? extends T> current = chunks.get(chunk);
+            int from = (int) (index - offsets[chunk]);
+            int to = (int) (Math.min(fence, offsets[chunk + 1]) - offsets[chunk]);
+            for (int i = from; i < to; i++) {
+                action.accept(current.get(i));
+            }
+            index += to - from;
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+}
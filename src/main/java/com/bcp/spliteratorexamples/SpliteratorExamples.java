@@ -2,6 +2,7 @@ package com.bcp.spliteratorexamples;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Spliterator;
 
@@ -265,7 +266,37 @@ public class SpliteratorExamples {
         System.out.println();
 
         // ========================================
-        // 8. RESUMEN
+        // 8. SPLITERATORS PERSONALIZADOS (SIZED | SUBSIZED)
+        // ========================================
+        System.out.println("=== 8. SPLITERATORS PERSONALIZADOS (SIZED | SUBSIZED) ===");
+
+        // ArraySpliterator: divide por la mitad mientras queden más de 'granularity' elementos
+        Spliterator<Product> arraySpliterator = new ArraySpliterator<>(products.toArray(), 2);
+        System.out.println("ArraySpliterator con granularidad 2:");
+        System.out.println("  - SIZED: " + arraySpliterator.hasCharacteristics(Spliterator.SIZED));
+        System.out.println("  - SUBSIZED: " + arraySpliterator.hasCharacteristics(Spliterator.SUBSIZED));
+        Spliterator<Product> firstHalf = arraySpliterator.trySplit();
+        System.out.println("  - Después de trySplit(): " + firstHalf.estimateSize() + " + " +
+            arraySpliterator.estimateSize() + " elementos (tamaños exactos)");
+
+        // ChunkedSpliterator: bloques de tamaños distintos divididos por número de elementos
+        List<List<Product>> pages = List.of(products.subList(0, 5), products.subList(5, 6), products.subList(6, 8));
+        Spliterator<Product> chunked = new ChunkedSpliterator<>(pages, 2);
+        Spliterator<Product> chunkedPrefix = chunked.trySplit();
+        System.out.println("ChunkedSpliterator con páginas de 5, 1 y 2 productos:");
+        System.out.println("  - Después de trySplit(): " + chunkedPrefix.estimateSize() + " + " +
+            chunked.estimateSize() + " elementos");
+
+        // BatchingSpliterator: Iterator de tamaño desconocido en lotes de potencias de dos
+        LinkedList<Product> linkedCatalog = new LinkedList<>(products);
+        BigDecimal total = CatalogSpliterators.batching(linkedCatalog.iterator(), 2, 4, true)
+            .map(Product::getPrice)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        System.out.println("Suma paralela sobre el Iterator de una LinkedList (lotes de 2, 4, 4...): $" + total);
+        System.out.println();
+
+        // ========================================
+        // 9. RESUMEN
         // ========================================
         System.out.println("=== RESUMEN ===");
         System.out.println("• tryAdvance(): Procesa un elemento y avanza");
@@ -274,5 +305,6 @@ public class SpliteratorExamples {
         System.out.println("• Los Spliterators son la base de los Streams de Java");
         System.out.println("• Permiten procesamiento eficiente y paralelo de datos");
         System.out.println("• Son más eficientes que los Iterators tradicionales");
+        System.out.println("• SIZED | SUBSIZED + granularidad: divisiones balanceadas para el ForkJoinPool");
     }
 } 
\ No newline at end of file
@@ -1,69 +1,109 @@
 package com.bcp.staticinnerclass;
 
+import com.bcp.idgen.BlockIdAllocator;
+import com.bcp.idgen.IdGenerator;
+
+import java.util.Map;
+import java.util.TreeMap;
+
 /**
  * Ejemplo de clase Order con clase anidada estática ShippingMode
  * Demuestra cómo encapsular funcionalidad relacionada usando clases anidadas estáticas
  */
 public class Order {
     
-    private static int orderCounter = 0;
+    /**
+     * Ids únicos aunque se creen órdenes desde varios hilos (++orderCounter repetía ids);
+     * cada hilo toma bloques de 64 ids
+     */
+    private static final IdGenerator ORDER_IDS = new BlockIdAllocator(1, 64);
     private int orderId;
     private String customerName;
     
     public Order() {
-        this.orderId = ++orderCounter;
+        this.orderId = ORDER_IDS.nextIntId();
         this.customerName = "Cliente " + orderId;
     }
     
     public Order(String customerName) {
-        this.orderId = ++orderCounter;
+        this.orderId = ORDER_IDS.nextIntId();
         this.customerName = customerName;
     }
     
+    /**
+     * Costos de envío iniciales; el resto de descripciones usa DEFAULT_SHIPPING_COST
+     */
+    private static final Map<String, Double> INITIAL_SHIPPING_COSTS = Map.of(
+            "Fast", 15.99,
+            "Normal", 8.99,
+            "Economy", 4.99);
+    private static final double DEFAULT_SHIPPING_COST = 10.00;
+
+    /**
+     * Tabla actual de modos de envío; reloadShippingCosts la reemplaza completa,
+     * así que los lectores nunca esperan ni ven una tabla a medio cargar
+     */
+    private static volatile ShippingModeTable shippingModes =
+            new ShippingModeTable(INITIAL_SHIPPING_COSTS, DEFAULT_SHIPPING_COST);
+    
     /**
      * Método estático público para crear instancias de ShippingMode
      * Esta es la única forma de acceder a la clase privada anidada desde fuera
      */
     public static void createShippingMode(String description) {
-        new ShippingMode(description);
-        System.out.println("Modo de envío creado: " + description);
+        ShippingMode mode = getShippingMode(description);
+        System.out.println("Modo de envío creado: " + description + " - Costo: $" + mode.getCost());
     }
     
     /**
-     * Método estático que retorna una instancia de ShippingMode
+     * Método estático que retorna una instancia de ShippingMode.
+     * Los modos conocidos son instancias compartidas (flyweight) y se buscan sin distinguir
+     * mayúsculas ni crear objetos; solo una descripción desconocida crea un ShippingMode nuevo
      */
     public static ShippingMode getShippingMode(String description) {
-        return new ShippingMode(description);
+        ShippingModeTable table = shippingModes;
+        ShippingMode mode = table.find(description);
+        return mode != null ? mode : new ShippingMode(description, table.defaultCost);
+    }
+    
+    /**
+     * Costo de envío para una descripción, sin crear ningún objeto
+     */
+    public static double quoteShipping(String description) {
+        ShippingModeTable table = shippingModes;
+        ShippingMode mode = table.find(description);
+        return mode != null ? mode.getCost() : table.defaultCost;
+    }
+    
+    /**
+     * Reemplaza de forma atómica la tabla de costos de envío
+     */
+    public static void reloadShippingCosts(Map<String, Double> costs, double defaultCost) {
+        shippingModes = new ShippingModeTable(costs, defaultCost);
+    }
+    
+    /**
+     * Copia de los costos actuales por descripción
+     */
+    public static Map<String, Double> shippingCosts() {
+        return shippingModes.costs();
     }
     
     /**
      * Clase anidada estática privada para representar modos de envío
-     * Solo puede ser instanciada desde dentro de la clase Order
+     * Solo puede ser instanciada desde dentro de la clase Order.
+     * Es inmutable para poder compartir una sola instancia por modo
      */
     private static class ShippingMode {
-        private String description;
-        private double cost;
+        private final String description;
+        private final double cost;
         
         /**
-         * Constructor público de ShippingMode
+         * Constructor de ShippingMode
          */
-        public ShippingMode(String description) {
+        public ShippingMode(String description, double cost) {
             this.description = description;
-            // Asignar costo basado en la descripción
-            switch (description.toLowerCase()) {
-                case "fast":
-                    this.cost = 15.99;
-                    break;
-                case "normal":
-                    this.cost = 8.99;
-                    break;
-                case "economy":
-                    this.cost = 4.99;
-                    break;
-                default:
-                    this.cost = 10.00;
-            }
-            System.out.println("ShippingMode creado: " + description + " - Costo: $" + cost);
+            this.cost = cost;
         }
         
         public String getDescription() {
@@ -74,14 +114,6 @@ public class Order {
             return cost;
         }
         
-        public void setDescription(String description) {
-            this.description = description;
-        }
-        
-        public void setCost(double cost) {
-            this.cost = cost;
-        }
-        
         @Override
         public String toString() {
             return "ShippingMode{description='" + description + "', cost=$" + cost + "}";
@@ -90,6 +122,68 @@ public class Order {
         // otros métodos y variables de la clase ShippingMode
     }
     
+    /**
+     * Tabla inmutable de modos de envío con direccionamiento abierto.
+     * El hash se calcula sobre los caracteres normalizados y la comparación usa
+     * equalsIgnoreCase, de modo que buscar no llama a toLowerCase() ni crea objetos
+     */
+    private static final class ShippingModeTable {
+        private final ShippingMode[] slots;
+        private final int mask;
+        private final double defaultCost;
+        
+        ShippingModeTable(Map<String, Double> costs, double defaultCost) {
+            int capacity = Integer.highestOneBit(Math.max(2, costs.size() * 2) - 1) << 1;
+            this.slots = new ShippingMode[capacity];
+            this.mask = capacity - 1;
+            this.defaultCost = defaultCost;
+            for (Map.Entry<String, Double> entry : costs.entrySet()) {
+                String description = entry.getKey();
+                if (find(description) != null) {
+                    throw new IllegalArgumentException("Modo de envío duplicado: " + description);
+                }
+                int slot = foldedHash(description) & mask;
+                while (slots[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = new ShippingMode(description, entry.getValue());
+            }
+        }
+        
+        ShippingMode find(String description) {
+            int slot = foldedHash(description) & mask;
+            ShippingMode mode;
+            while ((mode = slots[slot]) != null) {
+                if (mode.getDescription().equalsIgnoreCase(description)) {
+                    return mode;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+        
+        Map<String, Double> costs() {
+            Map<String, Double> costs = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (ShippingMode mode : slots) {
+                if (mode != null) {
+                    costs.put(mode.getDescription(), mode.getCost());
+                }
+            }
+            return costs;
+        }
+        
+        /**
+         * Hash igual para dos textos que equalsIgnoreCase considera iguales
+         */
+        private static int foldedHash(String text) {
+            int hash = 0;
+            for (int i = 0; i < text.length(); i++) {
+                hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(text.charAt(i)));
+            }
+            return hash ^ (hash >>> 16);
+        }
+    }
+    
     // Getters y setters para Order
     public int getOrderId() {
         return orderId;
@@ -146,8 +240,21 @@ public class Order {
         System.out.println("   order2: " + order2);
         System.out.println();
         
-        // Ejemplo 4: Demostrar que no se puede acceder directamente a ShippingMode
-        System.out.println("4. Restricciones de acceso:");
+        // Ejemplo 4: Instancias compartidas y recarga de costos
+        System.out.println("4. Modos de envío compartidos (flyweight):");
+        System.out.println("   getShippingMode(\"Fast\") == getShippingMode(\"FAST\"): "
+            + (getShippingMode("Fast") == getShippingMode("FAST")));
+        System.out.println("   Cotización \"economy\": $" + quoteShipping("economy"));
+        System.out.println("   Cotización \"Express\" (desconocido): $" + quoteShipping("Express"));
+        Map<String, Double> costs = new TreeMap<>(shippingCosts());
+        costs.put("Express", 24.99);
+        reloadShippingCosts(costs, DEFAULT_SHIPPING_COST);
+        System.out.println("   Después de recargar con Express: $" + quoteShipping("Express"));
+        System.out.println("   Costos actuales: " + shippingCosts());
+        System.out.println();
+        
+        // Ejemplo 5: Demostrar que no se puede acceder directamente a ShippingMode
+        System.out.println("5. Restricciones de acceso:");
         System.out.println("   ❌ NO se puede hacer: new Order.ShippingMode(\"Fast\");");
         System.out.println("   ❌ ShippingMode es privada, solo accesible desde dentro de Order");
         System.out.println("   ✅ SÍ se puede hacer: Order.createShippingMode(\"Fast\");");
@@ -1,9 +1,19 @@
 package com.bcp.streamssamples;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class AlternativeToFlatMapExample {
 
@@ -50,6 +60,11 @@ public class AlternativeToFlatMapExample {
         double totalTeaWithFlatMap = calculateTeaTotalWithFlatMap(orders);
         System.out.println("Total de Tea (flatMap): $" + totalTeaWithFlatMap);
 
+        // Método 6: Motor de agregación (una pasada, estilo mapMulti)
+        System.out.println("\n=== MÉTODO 6: MOTOR DE AGREGACIÓN (OrderLineAggregator) ===");
+        double totalTeaWithAggregator = calculateTeaTotalWithAggregator(orders);
+        System.out.println("Total de Tea (OrderLineAggregator): $" + totalTeaWithAggregator);
+
         // Comparación de resultados
         System.out.println("\n=== COMPARACIÓN DE RESULTADOS ===");
         System.out.println("¿Todos los métodos dan el mismo resultado?");
@@ -57,6 +72,7 @@ public class AlternativeToFlatMapExample {
         System.out.println("Map+Collect == Reduce: " + (totalTeaWithMap == totalTeaWithReduce));
         System.out.println("Reduce == ForEach: " + (totalTeaWithReduce == totalTeaWithForEach));
         System.out.println("ForEach == FlatMap: " + (totalTeaWithForEach == totalTeaWithFlatMap));
+        System.out.println("FlatMap == OrderLineAggregator: " + (totalTeaWithFlatMap == totalTeaWithAggregator));
 
         // Ejemplo adicional: Obtener todos los productos únicos
         System.out.println("\n=== EJEMPLO ADICIONAL: PRODUCTOS ÚNICOS ===");
@@ -70,6 +86,84 @@ public class AlternativeToFlatMapExample {
         System.out.println("\nProductos únicos (streams sin flatMap):");
         List<String> uniqueProductsStreams = getUniqueProductsStreams(orders);
         uniqueProductsStreams.forEach(System.out::println);
+
+        // Solo la cantidad, aproximada y con memoria fija (HyperLogLog)
+        System.out.println("\nCantidad de productos únicos (aproximada, HyperLogLog):");
+        long approxUniqueProducts = countUniqueProductsApprox(orders);
+        System.out.println(approxUniqueProducts + " (exacto: " + uniqueProductsStreams.size() + ")");
+
+        // Varios agregados en una sola pasada, leyendo las órdenes de un archivo de a una
+        System.out.println("\n=== EJEMPLO ADICIONAL: VARIOS AGREGADOS EN UNA PASADA ===");
+        aggregateFromFile(orders);
+    }
+
+    // Método 6: OrderLineAggregator con un solo agregado
+    private static double calculateTeaTotalWithAggregator(List<Order> orders) {
+        OrderLineAggregator.Builder<Order, Product> builder = OrderLineAggregator.forIterable(Order::getItems);
+        OrderLineAggregator.Aggregate<Double> teaTotal = builder.aggregate(
+            item -> "Tea".equals(item.getName()),
+            Collectors.summingDouble(item -> item.getPrice().doubleValue()));
+        return builder.build().run(orders).get(teaTotal);
+    }
+
+    // Total de Tea, total por producto y productos únicos en una pasada sobre un archivo
+    private static void aggregateFromFile(List<Order> orders) {
+        OrderLineAggregator.Builder<String, Product> builder =
+            OrderLineAggregator.forLines(AlternativeToFlatMapExample::parseOrderLine);
+        OrderLineAggregator.Aggregate<Double> teaTotal = builder.aggregate(
+            item -> "Tea".equals(item.getName()),
+            Collectors.summingDouble(item -> item.getPrice().doubleValue()));
+        OrderLineAggregator.Aggregate<Map<String, BigDecimal>> totalsByProduct = builder.aggregate(
+            Collectors.groupingBy(Product::getName, TreeMap::new,
+                Collectors.reducing(BigDecimal.ZERO, Product::getPrice, BigDecimal::add)));
+        OrderLineAggregator.Aggregate<Set<String>> uniqueProducts = builder.aggregate(
+            Collectors.mapping(Product::getName, Collectors.toCollection(LinkedHashSet::new)));
+        OrderLineAggregator.Aggregate<HyperLogLog> approxUniqueProducts = builder.aggregate(
+            Collectors.mapping(Product::getName, HyperLogLog.approxDistinct()));
+        OrderLineAggregator<String, Product> aggregator = builder.build();
+
+        try {
+            Path file = Files.createTempFile("orders", ".txt");
+            try {
+                // Una orden por línea: "Order 1;Tea:1.99;Cookie:1.99;Cake:2.99"
+                List<String> lines = new ArrayList<>();
+                for (Order order : orders) {
+                    StringBuilder line = new StringBuilder(order.getName());
+                    order.getItems().forEach(item -> line.append(';').append(item.getName()).append(':').append(item.getPrice()));
+                    lines.add(line.toString());
+                }
+                Files.write(file, lines);
+
+                // Files.lines lee de a una línea: la memoria no crece con el número de órdenes
+                OrderLineAggregator<String, Product>.Results results;
+                try (Stream<String> orderLines = Files.lines(file)) {
+                    results = aggregator.run(orderLines);
+                }
+                System.out.println("Órdenes leídas: " + results.orderCount() + ", líneas: " + results.lineCount());
+                System.out.println("Total de Tea: $" + results.get(teaTotal));
+                System.out.println("Total por producto: " + results.get(totalsByProduct));
+                System.out.println("Productos únicos: " + results.get(uniqueProducts));
+                System.out.println("Productos únicos (aproximado): " + results.get(approxUniqueProducts).estimate());
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Entrega los productos de una línea de texto al estilo mapMulti, sin crear una lista por orden
+    private static void parseOrderLine(String line, Consumer<Product> sink) {
+        int start = line.indexOf(';') + 1;
+        while (start > 0 && start < line.length()) {
+            int end = line.indexOf(';', start);
+            if (end < 0) {
+                end = line.length();
+            }
+            int colon = line.indexOf(':', start);
+            sink.accept(new Product(line.substring(start, colon), new BigDecimal(line.substring(colon + 1, end))));
+            start = end + 1;
+        }
     }
 
     // Método 1: Bucle tradicional
@@ -167,6 +261,14 @@ public class AlternativeToFlatMapExample {
             .collect(Collectors.toList());
     }
 
+    // Cuando solo interesa cuántos hay: HyperLogLog no guarda los nombres
+    private static long countUniqueProductsApprox(List<Order> orders) {
+        return orders.stream()
+            .<CharSequence>mapMulti((order, sink) -> order.getItems().forEach(item -> sink.accept(item.getName())))
+            .collect(HyperLogLog.approxDistinct())
+            .estimate();
+    }
+
     // Método auxiliar para crear datos de ejemplo
     private static List<Order> createSampleOrders() {
         List<Order> orders = new ArrayList<>();
@@ -1,7 +1,10 @@
 package com.bcp.streamssamples;
 
+import com.bcp.collectorsamples.PriceDistribution;
+
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.DoubleSummaryStatistics;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -122,5 +125,33 @@ public class CollectorsExamples {
         list.stream()
             .collect(Collectors.minBy((p1, p2) -> p1.getPrice().compareTo(p2.getPrice())))
             .ifPresent(p -> System.out.println("  " + p.getName() + ": $" + p.getPrice()));
+        System.out.println();
+
+        // Ejemplo 8: Los k más caros / más baratos, también por grupo, sin ordenar toda la lista
+        Comparator<Product> byPrice = Comparator.comparing(Product::getPrice);
+        System.out.println("Los 3 más caros y los 2 más baratos (TopKCollectors):");
+        System.out.println("  topK(3):    " + list.stream()
+            .collect(TopKCollectors.topK(3, byPrice)).stream().map(Product::getName).toList());
+        System.out.println("  bottomK(2): " + list.stream()
+            .collect(TopKCollectors.bottomK(2, byPrice)).stream().map(Product::getName).toList());
+        System.out.println("Los 2 más caros por tipo de producto:");
+        list.stream()
+            .collect(Collectors.groupingBy(p -> {
+                if (p instanceof Drink) return "Bebida";
+                else if (p instanceof Food) return "Comida";
+                else return "Producto";
+            }, TopKCollectors.topK(2, byPrice)))
+            .forEach((type, top) -> System.out.println("  " + type + ": "
+                + top.stream().map(p -> p.getName() + " $" + p.getPrice()).toList()));
+        System.out.println();
+
+        // Ejemplo 9: Mediana y percentiles, que summarizingDouble no calcula
+        System.out.println("Distribución de precios (PriceDistribution):");
+        PriceDistribution distribution = list.stream()
+            .collect(PriceDistribution.collector(p -> p.getPrice().doubleValue()));
+        System.out.println("  Mediana: $" + distribution.median());
+        System.out.println("  p90: $" + distribution.quantile(0.90));
+        System.out.println("  Productos de $5 o menos: "
+            + String.format("%.0f%%", distribution.rank(5.0) * 100));
     }
 } 
\ No newline at end of file
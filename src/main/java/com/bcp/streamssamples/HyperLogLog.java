@@ -0,0 +1,263 @@
+package com.bcp.streamssamples;
+
+import java.util.Arrays;
+import java.util.stream.Collector;
+
+/**
+ * Conteo aproximado de elementos distintos (HyperLogLog) con memoria fija.
+ *
+ * En lugar de guardar cada nombre en un HashSet, cada valor se reduce a un hash de 64 bits:
+ * los primeros p bits eligen un registro y el registro recuerda la mayor cantidad de ceros
+ * iniciales vista en el resto del hash. Con 2^p registros de un byte el error estándar es
+ * 1.04 / sqrt(2^p): con p = 14 (16 KB) ≈ 0.81%, sea cual sea la cantidad de nombres.
+ *
+ * Dos sketches se unen tomando el máximo de cada registro, así que el Collector sirve para
+ * streams paralelos y dentro de groupingBy, y toBytes() / fromBytes() permiten guardar el
+ * sketch de cada día y unirlos después (también con distinta precisión).
+ *
+ * El estimador es el de Ertl (2017), sin tablas de corrección de sesgo y preciso tanto
+ * para pocos como para muchos elementos. El hash de los textos es estable entre
+ * ejecuciones (no depende de String.hashCode), requisito para unir sketches guardados.
+ */
+public final class HyperLogLog {
+
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 18;
+    public static final int DEFAULT_PRECISION = 14;
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 3;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        checkPrecision(precision);
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    private HyperLogLog(int precision, byte[] registers) {
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    /**
+     * Cantidad aproximada de textos distintos, con precisión 14
+     */
+    public static Collector<CharSequence, ?, HyperLogLog> approxDistinct() {
+        return approxDistinct(DEFAULT_PRECISION);
+    }
+
+    /**
+     * @param precision entre 4 y 18: 2^precision bytes de memoria y error estándar 1.04 / sqrt(2^precision)
+     */
+    public static Collector<CharSequence, ?, HyperLogLog> approxDistinct(int precision) {
+        checkPrecision(precision);
+        return Collector.of(
+                () -> new HyperLogLog(precision),
+                HyperLogLog::add,
+                HyperLogLog::union,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    private static void checkPrecision(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("La precisión debe estar entre " + MIN_PRECISION
+                    + " y " + MAX_PRECISION + ": " + precision);
+        }
+    }
+
+    public void add(CharSequence value) {
+        addHash(hash(value));
+    }
+
+    /**
+     * Agrega un valor ya reducido a un hash de 64 bits bien distribuido
+     */
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // 1 + ceros iniciales en los bits que no se usaron para el índice, como máximo 64 - p + 1
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << precision), 64 - precision) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * Une other en este sketch y lo devuelve. Si other tiene más precisión se reduce a la de
+     * este; si tiene menos, el resultado tendría que bajar de precisión y se devuelve un
+     * sketch nuevo con la precisión de other.
+     */
+    public HyperLogLog union(HyperLogLog other) {
+        if (other.precision < precision) {
+            HyperLogLog reduced = reduceTo(other.precision);
+            reduced.union(other);
+            return reduced;
+        }
+        HyperLogLog source = other.precision == precision ? other : other.reduceTo(precision);
+        for (int i = 0; i < registers.length; i++) {
+            if (source.registers[i] > registers[i]) {
+                registers[i] = source.registers[i];
+            }
+        }
+        return this;
+    }
+
+    /**
+     * El mismo sketch con menos registros: los bits del índice que sobran pasan a ser los
+     * primeros del resto del hash
+     */
+    public HyperLogLog reduceTo(int newPrecision) {
+        checkPrecision(newPrecision);
+        if (newPrecision > precision) {
+            throw new IllegalArgumentException("No se puede aumentar la precisión de " + precision + " a " + newPrecision);
+        }
+        int dropped = precision - newPrecision;
+        HyperLogLog reduced = new HyperLogLog(newPrecision);
+        int mask = (1 << dropped) - 1;
+        for (int i = 0; i < registers.length; i++) {
+            int value = registers[i];
+            if (value == 0) {
+                continue;
+            }
+            int low = i & mask;
+            // Ceros iniciales entre los bits eliminados; si todos son cero se suman a los del registro
+            int rank = low != 0 ? Integer.numberOfLeadingZeros(low) - (32 - dropped) + 1 : value + dropped;
+            int target = i >>> dropped;
+            if (rank > reduced.registers[target]) {
+                reduced.registers[target] = (byte) rank;
+            }
+        }
+        return reduced;
+    }
+
+    /**
+     * Cantidad estimada de valores distintos
+     */
+    public long estimate() {
+        int m = registers.length;
+        int q = 64 - precision;
+        int[] histogram = new int[q + 2];
+        for (byte register : registers) {
+            histogram[register]++;
+        }
+        if (histogram[0] == m) {
+            return 0;
+        }
+        double z = m * tau(1.0 - (double) histogram[q + 1] / m);
+        for (int k = q; k >= 1; k--) {
+            z = 0.5 * (z + histogram[k]);
+        }
+        z += m * sigma((double) histogram[0] / m);
+        double alpha = 0.5 / Math.log(2);
+        return Math.round(alpha * m * m / z);
+    }
+
+    private static double sigma(double x) {
+        if (x == 1.0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double y = 1.0;
+        double z = x;
+        double previous;
+        do {
+            x *= x;
+            previous = z;
+            z += x * y;
+            y += y;
+        } while (z != previous);
+        return z;
+    }
+
+    private static double tau(double x) {
+        if (x == 0.0 || x == 1.0) {
+            return 0.0;
+        }
+        double y = 1.0;
+        double z = 1.0 - x;
+        double previous;
+        do {
+            x = Math.sqrt(x);
+            previous = z;
+            y *= 0.5;
+            z -= (1.0 - x) * (1.0 - x) * y;
+        } while (z != previous);
+        return z / 3.0;
+    }
+
+    public int precision() {
+        return precision;
+    }
+
+    /**
+     * Error estándar relativo de estimate(): 1.04 / sqrt(2^precision)
+     */
+    public double relativeStandardError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    public HyperLogLog copy() {
+        return new HyperLogLog(precision, registers.clone());
+    }
+
+    /**
+     * Forma serializada: versión, precisión y un byte por registro
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[HEADER_SIZE + registers.length];
+        bytes[0] = 'H';
+        bytes[1] = FORMAT_VERSION;
+        bytes[2] = (byte) precision;
+        System.arraycopy(registers, 0, bytes, HEADER_SIZE, registers.length);
+        return bytes;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes.length < HEADER_SIZE || bytes[0] != 'H') {
+            throw new IllegalArgumentException("No es un HyperLogLog serializado");
+        }
+        if (bytes[1] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Versión de formato no soportada: " + bytes[1]);
+        }
+        int precision = bytes[2];
+        checkPrecision(precision);
+        if (bytes.length != HEADER_SIZE + (1 << precision)) {
+            throw new IllegalArgumentException("Se esperaban " + (1 << precision) + " registros y hay "
+                    + (bytes.length - HEADER_SIZE));
+        }
+        byte[] registers = Arrays.copyOfRange(bytes, HEADER_SIZE, bytes.length);
+        int maxRank = 64 - precision + 1;
+        for (byte register : registers) {
+            if (register < 0 || register > maxRank) {
+                throw new IllegalArgumentException("Registro fuera de rango: " + register);
+            }
+        }
+        return new HyperLogLog(precision, registers);
+    }
+
+    /**
+     * Hash de 64 bits estable: FNV-1a sobre los caracteres UTF-16 y la mezcla final de MurmurHash3
+     */
+    static long hash(CharSequence value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0, n = value.length(); i < n; i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return "HyperLogLog{precision=" + precision + ", estimate=" + estimate() + "}";
+    }
+}
@@ -0,0 +1,105 @@
+package com.bcp.streamssamples;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Importe de punto fijo: un long sin escala más una escala explícita
+ * (scale = 2 representa centavos, 123456 -> 1234.56).
+ * Los métodos estáticos trabajan directamente sobre long para que los
+ * pipelines no creen un BigDecimal por elemento.
+ */
+public record Money(long unscaled, int scale) implements Comparable<Money> {
+
+    public Money {
+        if (scale < 0 || scale > 18) {
+            throw new IllegalArgumentException("Escala fuera de rango: " + scale);
+        }
+    }
+
+    public static Money of(BigDecimal amount, int scale, RoundingMode roundingMode) {
+        return new Money(unscaledOf(amount, scale, roundingMode), scale);
+    }
+
+    public static Money ofCents(long cents) {
+        return new Money(cents, 2);
+    }
+
+    /**
+     * Convierte un BigDecimal a long con la escala indicada.
+     * Lanza ArithmeticException si el valor no cabe en un long o si
+     * roundingMode es UNNECESSARY y hay que redondear.
+     */
+    public static long unscaledOf(BigDecimal amount, int scale, RoundingMode roundingMode) {
+        return amount.setScale(scale, roundingMode).unscaledValue().longValueExact();
+    }
+
+    /**
+     * División entera de dividend / divisor (divisor > 0) redondeada igual que
+     * BigDecimal.setScale con el mismo RoundingMode
+     */
+    public static long divide(long dividend, long divisor, RoundingMode roundingMode) {
+        if (divisor <= 0) {
+            throw new IllegalArgumentException("El divisor debe ser positivo: " + divisor);
+        }
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        long signum = dividend < 0 ? -1 : 1;
+        long absRemainder = Math.abs(remainder);
+        int half = Long.compare(absRemainder, divisor - absRemainder);
+        boolean increment = switch (roundingMode) {
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+            case DOWN -> false;
+            case UP -> true;
+            case FLOOR -> signum < 0;
+            case CEILING -> signum > 0;
+            case HALF_UP -> half >= 0;
+            case HALF_DOWN -> half > 0;
+            case HALF_EVEN -> half > 0 || (half == 0 && (quotient & 1) != 0);
+        };
+        return increment ? quotient + signum : quotient;
+    }
+
+    /**
+     * Potencia de 10 como long, para escalas de 0 a 18
+     */
+    public static long pow10(int exponent) {
+        if (exponent < 0 || exponent > 18) {
+            throw new IllegalArgumentException("Exponente fuera de rango: " + exponent);
+        }
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+
+    public Money plus(Money other) {
+        checkScale(other);
+        return new Money(Math.addExact(unscaled, other.unscaled), scale);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkScale(other);
+        return Long.compare(unscaled, other.unscaled);
+    }
+
+    private void checkScale(Money other) {
+        if (scale != other.scale) {
+            throw new IllegalArgumentException("Escalas distintas: " + scale + " y " + other.scale);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,247 @@
+package com.bcp.streamssamples;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * Motor de agregación para estructuras anidadas orden → líneas, alternativa a flatMap.
+ *
+ * Las líneas de cada orden se entregan al estilo mapMulti (la orden empuja sus líneas a un
+ * Consumer) sin crear un stream por orden, y en una sola pasada se alimentan varios
+ * Collector a la vez, cada uno con su propio filtro: por ejemplo el total de "Tea", el total
+ * por producto y los nombres distintos.
+ *
+ * run(Iterator) consume las órdenes de a una, así que la memoria depende solo de los
+ * acumuladores y no del número de órdenes (sirve para leer órdenes de un archivo).
+ *
+ * @param <O> tipo de la orden
+ * @param <L> tipo de la línea (por ejemplo Product)
+ */
+public final class OrderLineAggregator<O, L> {
+
+    /**
+     * Referencia tipada al resultado de un Collector registrado en el Builder
+     */
+    public static final class Aggregate<R> {
+        private final Object owner;
+        private final int index;
+
+        private Aggregate(Object owner, int index) {
+            this.owner = owner;
+            this.index = index;
+        }
+    }
+
+    private final BiConsumer<? super O, ? super Consumer<L>> lines;
+    private final Predicate<? super L> filter;
+    private final Object owner;
+    // Funciones de cada Collector en arreglos, para no pedirlas por cada línea
+    private final Predicate<? super L>[] conditions;
+    private final Supplier<Object>[] suppliers;
+    private final BiConsumer<Object, L>[] accumulators;
+    private final BinaryOperator<Object>[] combiners;
+    private final Function<Object, Object>[] finishers;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private OrderLineAggregator(Builder<O, L> builder) {
+        this.lines = builder.lines;
+        this.filter = builder.filter;
+        this.owner = builder;
+        int size = builder.collectors.size();
+        this.conditions = builder.conditions.toArray(new Predicate[0]);
+        this.suppliers = new Supplier[size];
+        this.accumulators = new BiConsumer[size];
+        this.combiners = new BinaryOperator[size];
+        this.finishers = new Function[size];
+        for (int i = 0; i < size; i++) {
+            Collector<L, Object, Object> collector = builder.collectors.get(i);
+            suppliers[i] = collector.supplier();
+            accumulators[i] = collector.accumulator();
+            combiners[i] = collector.combiner();
+            finishers[i] = collector.finisher();
+        }
+    }
+
+    /**
+     * @param lines entrega las líneas de una orden al Consumer, como en Stream.mapMulti
+     */
+    public static <O, L> Builder<O, L> forLines(BiConsumer<? super O, ? super Consumer<L>> lines) {
+        return new Builder<>(lines);
+    }
+
+    /**
+     * Para órdenes que ya tienen una colección de líneas (por ejemplo Order::getItems)
+     */
+    public static <O, L> Builder<O, L> forIterable(Function<? super O, ? extends Iterable<? extends L>> lines) {
+        Objects.requireNonNull(lines);
+        return new Builder<O, L>((order, sink) -> {
+            for (L line : lines.apply(order)) {
+                sink.accept(line);
+            }
+        });
+    }
+
+    /**
+     * Consume las órdenes de a una
+     */
+    public Results run(Iterator<? extends O> orders) {
+        Accumulation accumulation = new Accumulation();
+        while (orders.hasNext()) {
+            accumulation.add(orders.next());
+        }
+        return accumulation.finish();
+    }
+
+    public Results run(Iterable<? extends O> orders) {
+        return run(orders.iterator());
+    }
+
+    /**
+     * Recorre el stream en orden (por ejemplo Files.lines(path).map(parser)); para paralelo usar collector()
+     */
+    public Results run(Stream<? extends O> orders) {
+        Accumulation accumulation = new Accumulation();
+        orders.sequential().forEachOrdered(accumulation::add);
+        return accumulation.finish();
+    }
+
+    /**
+     * El motor como Collector de órdenes, para usar con streams paralelos
+     */
+    public Collector<O, ?, Results> collector() {
+        return Collector.of(Accumulation::new, Accumulation::add, Accumulation::combine, Accumulation::finish);
+    }
+
+    /**
+     * Estado de una pasada: un contenedor por Collector
+     */
+    private final class Accumulation implements Consumer<L> {
+        private final Object[] containers = new Object[suppliers.length];
+        private long orderCount;
+        private long lineCount;
+
+        Accumulation() {
+            for (int i = 0; i < containers.length; i++) {
+                containers[i] = suppliers[i].get();
+            }
+        }
+
+        void add(O order) {
+            orderCount++;
+            lines.accept(order, this);
+        }
+
+        @Override
+        public void accept(L line) {
+            lineCount++;
+            if (!filter.test(line)) {
+                return;
+            }
+            for (int i = 0; i < containers.length; i++) {
+                if (conditions[i].test(line)) {
+                    accumulators[i].accept(containers[i], line);
+                }
+            }
+        }
+
+        Accumulation combine(Accumulation other) {
+            for (int i = 0; i < containers.length; i++) {
+                containers[i] = combiners[i].apply(containers[i], other.containers[i]);
+            }
+            orderCount += other.orderCount;
+            lineCount += other.lineCount;
+            return this;
+        }
+
+        Results finish() {
+            Object[] values = new Object[containers.length];
+            for (int i = 0; i < containers.length; i++) {
+                values[i] = finishers[i].apply(containers[i]);
+            }
+            return new Results(values, orderCount, lineCount);
+        }
+    }
+
+    /**
+     * Resultados de una pasada
+     */
+    public final class Results {
+        private final Object[] values;
+        private final long orderCount;
+        private final long lineCount;
+
+        private Results(Object[] values, long orderCount, long lineCount) {
+            this.values = values;
+            this.orderCount = orderCount;
+            this.lineCount = lineCount;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <R> R get(Aggregate<R> aggregate) {
+            if (aggregate.owner != owner || aggregate.index >= values.length) {
+                throw new IllegalArgumentException("El Aggregate no se registró antes de build() en este OrderLineAggregator");
+            }
+            return (R) values[aggregate.index];
+        }
+
+        public long orderCount() {
+            return orderCount;
+        }
+
+        /**
+         * Líneas recorridas, antes de aplicar filtros
+         */
+        public long lineCount() {
+            return lineCount;
+        }
+    }
+
+    public static final class Builder<O, L> {
+        private final BiConsumer<? super O, ? super Consumer<L>> lines;
+        private Predicate<? super L> filter = line -> true;
+        private final List<Predicate<? super L>> conditions = new ArrayList<>();
+        private final List<Collector<L, Object, Object>> collectors = new ArrayList<>();
+
+        private Builder(BiConsumer<? super O, ? super Consumer<L>> lines) {
+            this.lines = Objects.requireNonNull(lines);
+        }
+
+        /**
+         * Filtro para todas las líneas; varias llamadas se combinan con AND
+         */
+        public Builder<O, L> where(Predicate<? super L> predicate) {
+            Objects.requireNonNull(predicate);
+            Predicate<? super L> previous = filter;
+            filter = line -> previous.test(line) && predicate.test(line);
+            return this;
+        }
+
+        public <R> Aggregate<R> aggregate(Collector<? super L, ?, R> collector) {
+            return aggregate(line -> true, collector);
+        }
+
+        /**
+         * Registra un Collector que solo recibe las líneas que cumplen when
+         */
+        @SuppressWarnings("unchecked")
+        public <R> Aggregate<R> aggregate(Predicate<? super L> when, Collector<? super L, ?, R> collector) {
+            conditions.add(Objects.requireNonNull(when));
+            collectors.add((Collector<L, Object, Object>) (Collector<?, ?, ?>) Objects.requireNonNull(collector));
+            return new Aggregate<>(this, collectors.size() - 1);
+        }
+
+        public OrderLineAggregator<O, L> build() {
+            return new OrderLineAggregator<>(this);
+        }
+    }
+}
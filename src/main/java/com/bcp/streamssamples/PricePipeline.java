@@ -0,0 +1,186 @@
+package com.bcp.streamssamples;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Columna de precios en punto fijo (long) cargada una sola vez desde una lista de Product.
+ * Filtrar por umbral, aplicar descuentos y sumar se hace sobre long[] / LongStream,
+ * sin crear un BigDecimal por comparación ni por suma parcial.
+ *
+ * Los resultados coinciden numéricamente (compareTo == 0) con el camino BigDecimal
+ * equivalente: p.getPrice().compareTo(umbral) > 0, reduce(BigDecimal.ZERO, BigDecimal::add)
+ * y price.multiply(1 - descuento).setScale(scale, roundingMode).
+ */
+public final class PricePipeline {
+
+    public static final int DEFAULT_SCALE = 2;
+
+    /**
+     * Escala de los factores de descuento: 4 decimales (0.2 -> 8000 / 10000)
+     */
+    private static final int DISCOUNT_SCALE = 4;
+    private static final long DISCOUNT_ONE = Money.pow10(DISCOUNT_SCALE);
+
+    private final long[] prices;
+    private final int scale;
+    private final RoundingMode roundingMode;
+
+    private PricePipeline(long[] prices, int scale, RoundingMode roundingMode) {
+        this.prices = prices;
+        this.scale = scale;
+        this.roundingMode = roundingMode;
+    }
+
+    /**
+     * Carga los precios en centavos; los descuentos se redondean con HALF_EVEN
+     */
+    public static PricePipeline of(List<? extends Product> products) {
+        return of(products, DEFAULT_SCALE, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * Los precios se cargan sin redondeo: un precio con más decimales que scale
+     * lanza ArithmeticException en lugar de cambiar el resultado en silencio.
+     * roundingMode se aplica solo a los valores derivados (descuentos).
+     */
+    public static PricePipeline of(List<? extends Product> products, int scale, RoundingMode roundingMode) {
+        long[] prices = new long[products.size()];
+        int i = 0;
+        for (Product product : products) {
+            prices[i++] = Money.unscaledOf(product.getPrice(), scale, RoundingMode.UNNECESSARY);
+        }
+        return new PricePipeline(prices, scale, roundingMode);
+    }
+
+    public static PricePipeline ofUnscaled(long[] prices, int scale, RoundingMode roundingMode) {
+        return new PricePipeline(prices.clone(), scale, roundingMode);
+    }
+
+    public int size() {
+        return prices.length;
+    }
+
+    public int scale() {
+        return scale;
+    }
+
+    public RoundingMode roundingMode() {
+        return roundingMode;
+    }
+
+    public long price(int index) {
+        return prices[index];
+    }
+
+    /**
+     * Convierte un umbral como BigDecimal.valueOf(10) a la escala de la columna
+     */
+    public long unscaled(BigDecimal amount) {
+        return Money.unscaledOf(amount, scale, RoundingMode.UNNECESSARY);
+    }
+
+    public LongStream prices() {
+        return Arrays.stream(prices);
+    }
+
+    public LongStream above(long threshold) {
+        return prices().filter(price -> price > threshold);
+    }
+
+    public IntStream indicesAbove(long threshold) {
+        return IntStream.range(0, prices.length).filter(i -> prices[i] > threshold);
+    }
+
+    public long sum() {
+        long total = 0;
+        for (long price : prices) {
+            total = Math.addExact(total, price);
+        }
+        return total;
+    }
+
+    public long sumAbove(long threshold) {
+        long total = 0;
+        for (long price : prices) {
+            if (price > threshold) {
+                total = Math.addExact(total, price);
+            }
+        }
+        return total;
+    }
+
+    public int countAbove(long threshold) {
+        int count = 0;
+        for (long price : prices) {
+            if (price > threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Factor (1 - descuento) en escala 4; el descuento debe tener como máximo 4 decimales
+     */
+    public static long discountFactor(double discount) {
+        if (discount < 0.0 || discount > 1.0) {
+            throw new IllegalArgumentException("Descuento fuera de rango: " + discount);
+        }
+        return Money.unscaledOf(BigDecimal.ONE.subtract(BigDecimal.valueOf(discount)),
+                DISCOUNT_SCALE, RoundingMode.UNNECESSARY);
+    }
+
+    /**
+     * Precio con descuento redondeado a la escala de la columna
+     */
+    public long discounted(long price, long discountFactor) {
+        return Money.divide(Math.multiplyExact(price, discountFactor), DISCOUNT_ONE, roundingMode);
+    }
+
+    public LongStream discountedAbove(long threshold, double discount) {
+        long factor = discountFactor(discount);
+        return above(threshold).map(price -> discounted(price, factor));
+    }
+
+    public long sumDiscountedAbove(long threshold, double discount) {
+        long factor = discountFactor(discount);
+        long total = 0;
+        for (long price : prices) {
+            if (price > threshold) {
+                total = Math.addExact(total, discounted(price, factor));
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Equivalente a products.stream().filter(precio > umbral).forEach(p -> p.setDiscount(descuento)).
+     * La lista debe ser la misma (mismo orden) con la que se cargó la columna.
+     */
+    public int applyDiscountAbove(List<? extends Product> products, long threshold, double discount) {
+        if (products.size() != prices.length) {
+            throw new IllegalArgumentException("La lista no corresponde a la columna de precios");
+        }
+        int applied = 0;
+        for (int i = 0; i < prices.length; i++) {
+            if (prices[i] > threshold) {
+                products.get(i).setDiscount(discount);
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    public BigDecimal toBigDecimal(long unscaled) {
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    public Money toMoney(long unscaled) {
+        return new Money(unscaled, scale);
+    }
+}
@@ -1,5 +1,8 @@
 package com.bcp.streamssamples;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
@@ -135,6 +138,46 @@ public class ReduceExamples {
         System.out.println(summary);
         System.out.println();
 
+        // Ejemplo 11: Misma suma con precios en centavos (long), sin BigDecimal por elemento
+        System.out.println("=== EJEMPLO 11: Suma en Punto Fijo (PricePipeline) ===");
+        PricePipeline pipeline = PricePipeline.of(list);
+        long threshold = pipeline.unscaled(BigDecimal.valueOf(100));
+        BigDecimal fixedTotal = pipeline.toBigDecimal(pipeline.sum());
+        BigDecimal fixedExpensiveTotal = pipeline.toBigDecimal(pipeline.sumAbove(threshold));
+
+        System.out.println("Suma total de precios: $" + fixedTotal +
+            " (igual a ejemplo 4: " + (fixedTotal.compareTo(totalPrice) == 0) + ")");
+        System.out.println("Suma de productos caros (>$100): $" + fixedExpensiveTotal +
+            " (igual a ejemplo 9: " + (fixedExpensiveTotal.compareTo(expensiveTotal) == 0) + ")");
+        System.out.println("Suma con 20% de descuento (>$100): $" +
+            pipeline.toBigDecimal(pipeline.sumDiscountedAbove(threshold, 0.2)));
+        System.out.println();
+
+        // Ejemplo 12: Concatenación de nombres sin copiar el String acumulado en cada paso
+        System.out.println("=== EJEMPLO 12: Concatenación Lineal y Paralela (Rope) ===");
+        // Misma forma que el ejemplo 3, pero concat() respeta el orden de encuentro
+        String ropeReduce = list.stream()
+            .parallel()
+            .reduce(Rope.empty(), (rope, p) -> rope.append(p.getName()), Rope::concat)
+            .join(" ");
+        Rope names = list.stream()
+            .parallel()
+            .map(Product::getName)
+            .collect(Rope.collector());
+
+        System.out.println("Reduce paralelo con Rope:   " + ropeReduce);
+        System.out.println("Collector paralelo con Rope: " + names.join(" "));
+        System.out.println("Igual al ejemplo 2: " + ropeReduce.equals(x2.strip()));
+        StringWriter writer = new StringWriter();
+        try {
+            // writeTo() escribe segmento por segmento, sin construir el String completo
+            names.writeTo(writer, ", ", "[", "]");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.out.println("Escrito a un Writer: " + writer);
+        System.out.println();
+
         System.out.println("=== EXPLICACIÓN DE LAS TRES VARIANTES DE REDUCE ===");
         System.out.println("1. reduce(BinaryOperator<T> accumulator):");
         System.out.println("   - Devuelve Optional<T>");
@@ -157,6 +200,7 @@ public class ReduceExamples {
         System.out.println("=== CASOS DE USO COMUNES ===");
         System.out.println("• Suma de valores: reduce(0, (sum, value) -> sum + value)");
         System.out.println("• Concatenación: reduce(\"\", (result, item) -> result + item)");
+        System.out.println("  (copia todo el String en cada paso; para muchos elementos usar Rope.collector())");
         System.out.println("• Máximo/Mínimo: reduce((a, b) -> a > b ? a : b)");
         System.out.println("• Conteo: reduce(0, (count, item) -> count + 1)");
         System.out.println("• Agregación compleja: reduce(initial, accumulator, combiner)");
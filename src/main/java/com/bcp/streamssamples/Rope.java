@@ -0,0 +1,207 @@
+package com.bcp.streamssamples;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+
+/**
+ * Secuencia inmutable de segmentos de texto (por ejemplo nombres de productos) que
+ * se concatena en O(1): append() y concat() crean un nodo nuevo que comparte los
+ * anteriores en lugar de copiar caracteres como s1 + " " + s2.
+ *
+ * El texto final se genera una sola vez con join(), con la capacidad exacta,
+ * o se escribe directamente a un Writer con writeTo() sin construir el String completo.
+ *
+ * Al ser inmutable sirve como identidad de reduce(), y como concat() respeta el orden
+ * de sus argumentos el resultado en un stream paralelo sigue el orden de encuentro.
+ */
+public final class Rope {
+
+    private static final Rope EMPTY = new Rope(new CharSequence[0], 0, null, null, 0);
+
+    /**
+     * Segmentos por hoja que acumula el collector antes de crear un nodo
+     */
+    private static final int CHUNK_SIZE = 64;
+
+    // Hoja: segments[0..count); nodo interno: left + right
+    private final CharSequence[] segments;
+    private final int count;
+    private final Rope left;
+    private final Rope right;
+    private final long length;
+    private final long segmentCount;
+
+    private Rope(CharSequence[] segments, int count, Rope left, Rope right, long length) {
+        this.segments = segments;
+        this.count = count;
+        this.left = left;
+        this.right = right;
+        this.length = length;
+        this.segmentCount = left == null ? count : left.segmentCount + right.segmentCount;
+    }
+
+    public static Rope empty() {
+        return EMPTY;
+    }
+
+    public static Rope of(CharSequence segment) {
+        Objects.requireNonNull(segment);
+        return new Rope(new CharSequence[]{segment}, 1, null, null, segment.length());
+    }
+
+    private static Rope leaf(CharSequence[] segments, int count, long length) {
+        return count == 0 ? EMPTY : new Rope(segments, count, null, null, length);
+    }
+
+    public Rope append(CharSequence segment) {
+        return concat(of(segment));
+    }
+
+    public Rope concat(Rope other) {
+        if (other.segmentCount == 0) {
+            return this;
+        }
+        if (segmentCount == 0) {
+            return other;
+        }
+        return new Rope(null, 0, this, other, length + other.length);
+    }
+
+    /**
+     * Total de caracteres de los segmentos, sin contar delimitadores
+     */
+    public long length() {
+        return length;
+    }
+
+    public long segmentCount() {
+        return segmentCount;
+    }
+
+    public boolean isEmpty() {
+        return segmentCount == 0;
+    }
+
+    /**
+     * Recorre los segmentos en orden con una pila explícita: un Rope armado
+     * elemento por elemento puede tener millones de niveles
+     */
+    public void forEachSegment(Consumer<? super CharSequence> action) {
+        Deque<Rope> stack = new ArrayDeque<>();
+        stack.push(this);
+        while (!stack.isEmpty()) {
+            Rope node = stack.pop();
+            if (node.left == null) {
+                for (int i = 0; i < node.count; i++) {
+                    action.accept(node.segments[i]);
+                }
+            } else {
+                stack.push(node.right);
+                stack.push(node.left);
+            }
+        }
+    }
+
+    public String join(CharSequence delimiter) {
+        return join(delimiter, "", "");
+    }
+
+    public String join(CharSequence delimiter, CharSequence prefix, CharSequence suffix) {
+        long size = prefix.length() + suffix.length() + length
+                + Math.max(0, segmentCount - 1) * delimiter.length();
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError("El resultado tiene " + size + " caracteres; use writeTo()");
+        }
+        StringBuilder builder = new StringBuilder((int) size);
+        try {
+            writeTo(builder, delimiter, prefix, suffix);
+        } catch (IOException e) {
+            // StringBuilder no lanza IOException
+            throw new UncheckedIOException(e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Escribe los segmentos separados por delimiter a un Writer, StringBuilder u otro Appendable
+     */
+    public void writeTo(Appendable out, CharSequence delimiter) throws IOException {
+        writeTo(out, delimiter, "", "");
+    }
+
+    public void writeTo(Appendable out, CharSequence delimiter, CharSequence prefix, CharSequence suffix)
+            throws IOException {
+        out.append(prefix);
+        boolean[] first = {true};
+        try {
+            forEachSegment(segment -> {
+                try {
+                    if (!first[0]) {
+                        out.append(delimiter);
+                    }
+                    first[0] = false;
+                    out.append(segment);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.append(suffix);
+    }
+
+    @Override
+    public String toString() {
+        return join("");
+    }
+
+    /**
+     * Collector que junta segmentos en un Rope respetando el orden de encuentro.
+     * Acumula los segmentos en bloques de CHUNK_SIZE y combina resultados parciales en O(1).
+     */
+    public static Collector<CharSequence, ?, Rope> collector() {
+        return Collector.of(Accumulator::new, Accumulator::add, Accumulator::combine, Accumulator::finish);
+    }
+
+    private static final class Accumulator {
+        private Rope rope = EMPTY;
+        private CharSequence[] chunk = new CharSequence[CHUNK_SIZE];
+        private int count;
+        private long chunkLength;
+
+        void add(CharSequence segment) {
+            Objects.requireNonNull(segment);
+            if (count == chunk.length) {
+                flush();
+            }
+            chunk[count++] = segment;
+            chunkLength += segment.length();
+        }
+
+        Accumulator combine(Accumulator other) {
+            flush();
+            rope = rope.concat(other.finish());
+            return this;
+        }
+
+        Rope finish() {
+            flush();
+            return rope;
+        }
+
+        private void flush() {
+            if (count > 0) {
+                rope = rope.concat(leaf(chunk, count, chunkLength));
+                chunk = new CharSequence[CHUNK_SIZE];
+                count = 0;
+                chunkLength = 0;
+            }
+        }
+    }
+}
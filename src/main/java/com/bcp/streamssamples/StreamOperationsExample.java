@@ -2,6 +2,7 @@ package com.bcp.streamssamples;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -62,6 +63,10 @@ public class StreamOperationsExample {
                 .sorted((p1, p2) -> p2.getPrice().compareTo(p1.getPrice())) // Orden descendente
                 .limit(3)
                 .forEach(System.out::println);
+        System.out.println("Top 3 sin ordenar toda la lista (TopKCollectors.topK, heap de 3):");
+        products.stream()
+                .collect(TopKCollectors.topK(3, Comparator.comparing(Product::getPrice)))
+                .forEach(System.out::println);
 
         // Ejemplo 6: skip - Saltar elementos
         System.out.println("\n=== SKIP ===");
@@ -1,5 +1,8 @@
 package com.bcp.streamssamples;
 
+import com.bcp.metrics.LatencyRegistry;
+import com.bcp.metrics.LatencyTimer;
+
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
@@ -67,23 +70,31 @@ public class StreamVsLoopExample {
         List<Product> listSequential = new ArrayList<>(list);
         List<Product> listParallel = new ArrayList<>(list);
         
-        // Stream secuencial
-        long startTime = System.nanoTime();
-        listSequential.stream()
-            .filter(p -> p.getPrice().compareTo(BigDecimal.valueOf(10)) > 0)
-            .forEach(p -> p.setDiscount(0.2));
-        long sequentialTime = System.nanoTime() - startTime;
-        
-        // Stream paralelo
-        startTime = System.nanoTime();
-        listParallel.stream().parallel()
-            .filter(p -> p.getPrice().compareTo(BigDecimal.valueOf(10)) > 0)
-            .forEach(p -> p.setDiscount(0.2));
-        long parallelTime = System.nanoTime() - startTime;
+        // Cada versión se mide 1000 veces (setDiscount es idempotente): percentiles en lugar de una medición
+        LatencyRegistry latency = new LatencyRegistry();
+        LatencyTimer sequentialTimer = latency.timer("stream secuencial");
+        LatencyTimer parallelTimer = latency.timer("stream paralelo");
+        for (int i = 0; i < 1000; i++) {
+            // Stream secuencial
+            long startTime = sequentialTimer.start();
+            listSequential.stream()
+                .filter(p -> p.getPrice().compareTo(BigDecimal.valueOf(10)) > 0)
+                .forEach(p -> p.setDiscount(0.2));
+            sequentialTimer.stop(startTime);
+            
+            // Stream paralelo
+            startTime = parallelTimer.start();
+            listParallel.stream().parallel()
+                .filter(p -> p.getPrice().compareTo(BigDecimal.valueOf(10)) > 0)
+                .forEach(p -> p.setDiscount(0.2));
+            parallelTimer.stop(startTime);
+        }
         
-        System.out.println("Tiempo stream secuencial: " + sequentialTime + " nanosegundos");
-        System.out.println("Tiempo stream paralelo: " + parallelTime + " nanosegundos");
-        System.out.println("Mejora: " + String.format("%.2f", (double)sequentialTime/parallelTime) + "x");
+        System.out.print(latency.report());
+        System.out.println("Mejora (p50): " + String.format("%.2f",
+            (double) sequentialTimer.snapshot().p50() / parallelTimer.snapshot().p50()) + "x");
+        System.out.println("Nota: con 6 productos el paralelo paga más en coordinar que en calcular;");
+        System.out.println("      ver StreamVsLoopBenchmark en el módulo benchmarks (JMH).");
         
         // Ejemplo 4: Ventajas de los streams
         System.out.println("\n=== VENTAJAS DE LOS STREAMS ===");
@@ -0,0 +1,193 @@
+package com.bcp.streamssamples;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Collectors para los k mayores / menores elementos sin ordenar todo el stream.
+ *
+ * topK(k, comparator) equivale a sorted(comparator.reversed()).limit(k), pero mantiene un heap
+ * acotado de k elementos: O(n log k) en tiempo y O(k) en memoria. Los empates se resuelven por
+ * orden de encuentro, igual que el sort estable, también en streams paralelos: el combiner sabe
+ * que los elementos del acumulador derecho vinieron después que los del izquierdo.
+ */
+public final class TopKCollectors {
+
+    private TopKCollectors() {
+    }
+
+    /**
+     * Los k mayores según comparator, de mayor a menor
+     */
+    public static <T> Collector<T, ?, List<T>> topK(int k, Comparator<? super T> comparator) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k no puede ser negativo: " + k);
+        }
+        Objects.requireNonNull(comparator);
+        return Collector.of(
+                () -> new BoundedHeap<T>(k, comparator),
+                BoundedHeap::add,
+                BoundedHeap::combine,
+                BoundedHeap::toSortedList);
+    }
+
+    /**
+     * Los k menores según comparator, de menor a mayor; equivale a sorted(comparator).limit(k)
+     */
+    public static <T> Collector<T, ?, List<T>> bottomK(int k, Comparator<? super T> comparator) {
+        return topK(k, reverse(comparator));
+    }
+
+    /**
+     * groupingBy(classifier, topK(k, comparator)): los k mayores de cada grupo
+     */
+    public static <T, K> Collector<T, ?, Map<K, List<T>>> topKPerGroup(
+            Function<? super T, ? extends K> classifier, int k, Comparator<? super T> comparator) {
+        return Collectors.groupingBy(classifier, topK(k, comparator));
+    }
+
+    public static <T, K> Collector<T, ?, Map<K, List<T>>> bottomKPerGroup(
+            Function<? super T, ? extends K> classifier, int k, Comparator<? super T> comparator) {
+        return Collectors.groupingBy(classifier, bottomK(k, comparator));
+    }
+
+    /**
+     * Comparator.reversed() no se puede llamar sobre un Comparator<? super T> y obtener Comparator<T>
+     */
+    private static <T> Comparator<T> reverse(Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator);
+        return (a, b) -> comparator.compare(b, a);
+    }
+
+    /**
+     * Min-heap de los k mejores elementos vistos: la raíz es el peor, el que sale primero.
+     * Cada elemento guarda su número de encuentro para desempatar (el anterior es mejor).
+     */
+    private static final class BoundedHeap<T> {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final int k;
+        private final Comparator<? super T> comparator;
+        private Object[] values;
+        private long[] sequences;
+        private int size;
+        // Elementos vistos (no solo los guardados): numera los encuentros
+        private long count;
+
+        BoundedHeap(int k, Comparator<? super T> comparator) {
+            this.k = k;
+            this.comparator = comparator;
+            int capacity = Math.min(k, INITIAL_CAPACITY);
+            this.values = new Object[capacity];
+            this.sequences = new long[capacity];
+        }
+
+        void add(T value) {
+            offer(value, count++);
+        }
+
+        BoundedHeap<T> combine(BoundedHeap<T> right) {
+            // Los elementos de right se encontraron después de todos los de this
+            long offset = count;
+            for (int i = 0; i < right.size; i++) {
+                offer(right.valueAt(i), right.sequences[i] + offset);
+            }
+            count += right.count;
+            return this;
+        }
+
+        private void offer(T value, long sequence) {
+            if (size < k) {
+                if (size == values.length) {
+                    int capacity = (int) Math.min(k, size * 2L);
+                    values = Arrays.copyOf(values, capacity);
+                    sequences = Arrays.copyOf(sequences, capacity);
+                }
+                values[size] = value;
+                sequences[size] = sequence;
+                siftUp(size++);
+            } else if (k > 0 && compare(value, sequence, valueAt(0), sequences[0]) > 0) {
+                // Caso común con k << n: el nuevo no supera al peor guardado y se descarta en O(1)
+                values[0] = value;
+                sequences[0] = sequence;
+                siftDown(0);
+            }
+        }
+
+        /**
+         * Positivo si (a, seqA) es mejor que (b, seqB)
+         */
+        private int compare(T a, long seqA, T b, long seqB) {
+            int result = comparator.compare(a, b);
+            return result != 0 ? result : Long.compare(seqB, seqA);
+        }
+
+        private int compareAt(int i, int j) {
+            return compare(valueAt(i), sequences[i], valueAt(j), sequences[j]);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (compareAt(index, parent) >= 0) {
+                    break;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int left = 2 * index + 1;
+                if (left >= size) {
+                    break;
+                }
+                int worst = left;
+                int right = left + 1;
+                if (right < size && compareAt(right, left) < 0) {
+                    worst = right;
+                }
+                if (compareAt(worst, index) >= 0) {
+                    break;
+                }
+                swap(index, worst);
+                index = worst;
+            }
+        }
+
+        private void swap(int i, int j) {
+            Object value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+            long sequence = sequences[i];
+            sequences[i] = sequences[j];
+            sequences[j] = sequence;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T valueAt(int index) {
+            return (T) values[index];
+        }
+
+        List<T> toSortedList() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (i, j) -> compareAt(j, i));
+            List<T> result = new ArrayList<>(size);
+            for (Integer index : order) {
+                result.add(valueAt(index));
+            }
+            return result;
+        }
+    }
+}
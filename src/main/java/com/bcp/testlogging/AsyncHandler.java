@@ -0,0 +1,343 @@
+package com.bcp.testlogging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+
+/**
+ * Handler asíncrono: publish() solo deja el LogRecord en una cola acotada sin locks y un hilo
+ * de fondo lo formatea y lo escribe.
+ *
+ * ConsoleHandler formatea, escribe y hace flush de cada registro bajo un lock en el hilo que
+ * loguea, así que cada logger.info(...) paga el formato, la E/S y la espera por el lock si
+ * hay varios hilos. Con AsyncHandler el hilo que loguea solo verifica el nivel, obtiene la
+ * clase y el método que loguean (eso depende de su stack) y encola. El hilo de fondo toma
+ * lotes de hasta BATCH_SIZE registros, los formatea en un solo buffer y hace una escritura y
+ * un flush por lote.
+ *
+ * Si la cola se llena manda la OverflowPolicy. Los descartes se cuentan en droppedCount() y
+ * se informan en la salida con un registro WARNING. close() escribe lo pendiente y detiene
+ * el hilo; LogManager cierra los handlers de los loggers al terminar la JVM, así que no se
+ * pierde lo encolado. Un publish() concurrente con close() que encola después del último
+ * vaciado cuenta como descarte. Los parámetros del mensaje se formatean en el hilo de fondo,
+ * así que deben ser inmutables.
+ *
+ * Se puede configurar en logging.properties como ConsoleHandler (escribe en System.err):
+ * com.bcp.testlogging.AsyncHandler.level, .capacity y .policy.
+ */
+public class AsyncHandler extends Handler {
+
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final int BATCH_SIZE = 256;
+
+    // Espera máxima del hilo de fondo sin registros; un publish() lo despierta antes
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    // Espera de un productor con BLOCK o de flush() mientras el hilo de fondo avanza
+    private static final long WAIT_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * Qué hace publish() cuando la cola está llena
+     */
+    public enum OverflowPolicy {
+        /** Espera a que haya lugar: no se pierde nada, pero el hilo que loguea se frena al ritmo de la E/S */
+        BLOCK,
+        /** Descarta el registro más antiguo de la cola para encolar el nuevo */
+        DROP_OLDEST,
+        /** Descarta el registro nuevo */
+        DROP_AND_COUNT
+    }
+
+    private final RingBuffer<LogRecord> queue;
+    private final OverflowPolicy policy;
+    private final OutputStream out;
+    private final boolean closeStream;
+    private final Thread writerThread;
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean inferCaller = true;
+    private volatile boolean closed;
+    // close() ya vació la cola: lo que se encole después no se va a escribir
+    private volatile boolean drained;
+    // El hilo de fondo está por dormir: publish() debe despertarlo
+    private volatile boolean sleeping;
+    // Posición de la cola hasta la que todo se escribió (o se descartó) y se hizo flush
+    private volatile long completed;
+
+    // Solo los usa el hilo de fondo
+    private Writer writer;
+    private final StringBuilder buffer = new StringBuilder(BATCH_SIZE * 128);
+    private char[] chars = new char[BATCH_SIZE * 128];
+    private long reportedDrops;
+
+    /**
+     * Escribe en System.err con la configuración de LogManager, como ConsoleHandler:
+     * nivel INFO, capacidad DEFAULT_CAPACITY y política BLOCK por defecto
+     */
+    public AsyncHandler() {
+        this(System.err, false, intProperty("capacity", DEFAULT_CAPACITY),
+                policyProperty("policy", OverflowPolicy.BLOCK));
+        setLevel(levelProperty("level", Level.INFO));
+    }
+
+    /**
+     * @param out destino; se cierra en close()
+     * @param capacity registros que puede haber en la cola, se redondea a potencia de 2
+     */
+    public AsyncHandler(OutputStream out, int capacity, OverflowPolicy policy) {
+        this(out, true, capacity, policy);
+    }
+
+    private AsyncHandler(OutputStream out, boolean closeStream, int capacity, OverflowPolicy policy) {
+        this.out = Objects.requireNonNull(out);
+        this.closeStream = closeStream;
+        this.queue = new RingBuffer<>(capacity);
+        this.policy = Objects.requireNonNull(policy);
+        setFormatter(new SimpleFormatter());
+        this.writerThread = new Thread(this::run, "async-log-handler");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (closed || !isLoggable(record)) {
+            return;
+        }
+        if (inferCaller) {
+            // Fuerza a LogRecord a buscar la clase y el método en el stack de este hilo
+            record.getSourceClassName();
+        }
+        if (!queue.offer(record)) {
+            overflow(record);
+        }
+        if (drained) {
+            // Pasó el chequeo de closed pero encoló después del último vaciado de close()
+            while (queue.poll() != null) {
+                dropped.increment();
+            }
+            return;
+        }
+        if (sleeping) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    private void overflow(LogRecord record) {
+        switch (policy) {
+            case BLOCK -> {
+                while (!queue.offer(record)) {
+                    if (closed) {
+                        dropped.increment();
+                        return;
+                    }
+                    LockSupport.unpark(writerThread);
+                    LockSupport.parkNanos(WAIT_PARK_NANOS);
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(record)) {
+                    if (queue.poll() != null) {
+                        dropped.increment();
+                    }
+                }
+            }
+            case DROP_AND_COUNT -> dropped.increment();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            boolean stopping = closed;
+            int written = writeBatch();
+            if (written == BATCH_SIZE) {
+                continue;
+            }
+            if (stopping) {
+                return;
+            }
+            sleeping = true;
+            if (queue.isEmpty() && !closed) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            sleeping = false;
+        }
+    }
+
+    /**
+     * Formatea hasta BATCH_SIZE registros en el buffer, los escribe y hace flush
+     */
+    private int writeBatch() {
+        buffer.setLength(0);
+        long drops = dropped.sum();
+        if (drops != reportedDrops) {
+            LogRecord warning = new LogRecord(Level.WARNING,
+                    "AsyncHandler descartó " + (drops - reportedDrops) + " registros (cola llena)");
+            warning.setLoggerName(AsyncHandler.class.getName());
+            warning.setSourceClassName(AsyncHandler.class.getName());
+            warning.setSourceMethodName("publish");
+            format(warning);
+            reportedDrops = drops;
+        }
+        int count = 0;
+        LogRecord record;
+        while (count < BATCH_SIZE && (record = queue.poll()) != null) {
+            format(record);
+            count++;
+        }
+        long position = queue.headPosition();
+        if (buffer.length() > 0) {
+            try {
+                if (writer == null) {
+                    writer = newWriter();
+                }
+                int length = buffer.length();
+                if (chars.length < length) {
+                    chars = new char[Math.max(length, chars.length * 2)];
+                }
+                buffer.getChars(0, length, chars, 0);
+                writer.write(chars, 0, length);
+                writer.flush();
+            } catch (IOException | RuntimeException e) {
+                reportError(null, e, ErrorManager.WRITE_FAILURE);
+            }
+        }
+        completed = position;
+        return count;
+    }
+
+    private void format(LogRecord record) {
+        try {
+            buffer.append(getFormatter().format(record));
+        } catch (RuntimeException e) {
+            reportError(null, e, ErrorManager.FORMAT_FAILURE);
+        }
+    }
+
+    private Writer newWriter() throws UnsupportedEncodingException {
+        String encoding = getEncoding();
+        return encoding == null
+                ? new OutputStreamWriter(out, Charset.defaultCharset())
+                : new OutputStreamWriter(out, encoding);
+    }
+
+    /**
+     * Espera a que se escriba todo lo encolado antes de la llamada
+     */
+    @Override
+    public void flush() {
+        long target = queue.tailPosition();
+        while (completed < target && writerThread.isAlive()) {
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(WAIT_PARK_NANOS);
+        }
+    }
+
+    /**
+     * Deja de aceptar registros, escribe los pendientes y cierra el destino
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Un publish() que pasó el chequeo de closed antes del cierre pudo encolar después.
+        // Se vacía, se marca drained y se vacía otra vez: lo que llegue después lo descarta y
+        // lo cuenta el propio publish()
+        while (writeBatch() > 0) {
+            // sigue hasta vaciar la cola
+        }
+        drained = true;
+        while (writeBatch() > 0) {
+            // idem
+        }
+        try {
+            if (closeStream) {
+                out.close();
+            } else {
+                out.flush();
+            }
+        } catch (IOException e) {
+            reportError(null, e, ErrorManager.CLOSE_FAILURE);
+        }
+    }
+
+    /**
+     * Con false el hilo que loguea no recorre su stack; el formatter muestra el nombre del
+     * logger en lugar de la clase y el método
+     */
+    public void setInferCaller(boolean inferCaller) {
+        this.inferCaller = inferCaller;
+    }
+
+    /**
+     * Registros descartados por la OverflowPolicy desde que se creó el handler
+     */
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Registros encolados que el hilo de fondo todavía no escribió
+     */
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    public int capacity() {
+        return queue.capacity();
+    }
+
+    public OverflowPolicy overflowPolicy() {
+        return policy;
+    }
+
+    private static String property(String name) {
+        return LogManager.getLogManager().getProperty(AsyncHandler.class.getName() + "." + name);
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        String value = property(name);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static OverflowPolicy policyProperty(String name, OverflowPolicy defaultValue) {
+        String value = property(name);
+        try {
+            return value == null ? defaultValue : OverflowPolicy.valueOf(value.trim());
+        } catch (IllegalArgumentException e) {
+            return defaultValue;
+        }
+    }
+
+    private static Level levelProperty(String name, Level defaultValue) {
+        String value = property(name);
+        try {
+            return value == null ? defaultValue : Level.parse(value.trim());
+        } catch (IllegalArgumentException e) {
+            return defaultValue;
+        }
+    }
+}
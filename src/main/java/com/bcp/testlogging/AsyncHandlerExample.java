@@ -0,0 +1,127 @@
+package com.bcp.testlogging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+import java.util.logging.StreamHandler;
+
+/**
+ * Logging asíncrono con AsyncHandler: el hilo que loguea solo encola y un hilo de fondo
+ * formatea y escribe por lotes
+ */
+public class AsyncHandlerExample {
+
+    private static final int THREADS = 4;
+    private static final int MESSAGES_PER_THREAD = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== 1. AsyncHandler en la consola ===");
+        Logger logger = Logger.getLogger("com.bcp.testlogging.async");
+        logger.setUseParentHandlers(false);
+        AsyncHandler console = new AsyncHandler();
+        logger.addHandler(console);
+        logger.info("Aplicación iniciada correctamente");
+        logger.log(Level.WARNING, "Recursos del sistema bajos: {0}% de memoria libre", 12);
+        // flush() espera a que el hilo de fondo escriba lo encolado
+        console.flush();
+        logger.removeHandler(console);
+        console.close();
+        System.out.println();
+
+        System.out.println("=== 2. Tiempo en los hilos que loguean (" + THREADS + " hilos, archivo) ===");
+        Path file = Files.createTempFile("async-handler", ".log");
+        try {
+            // Como ConsoleHandler: formato, escritura y flush de cada registro bajo el lock del handler
+            StreamHandler sync = new StreamHandler(Files.newOutputStream(file), new SimpleFormatter()) {
+                @Override
+                public synchronized void publish(LogRecord record) {
+                    super.publish(record);
+                    flush();
+                }
+            };
+            long syncMillis = logFromThreads(sync);
+            sync.close();
+            System.out.println("StreamHandler con flush por registro: " + syncMillis + " ms");
+
+            AsyncHandler async = new AsyncHandler(Files.newOutputStream(file), AsyncHandler.DEFAULT_CAPACITY,
+                AsyncHandler.OverflowPolicy.BLOCK);
+            long asyncMillis = logFromThreads(async);
+            long start = System.nanoTime();
+            async.close();
+            System.out.println("AsyncHandler (BLOCK): " + asyncMillis + " ms en los hilos, "
+                + (System.nanoTime() - start) / 1_000_000 + " ms más para vaciar la cola en close()");
+            System.out.println("Líneas en el archivo: " + Files.readAllLines(file).size() + " (2 por registro)");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        System.out.println();
+
+        System.out.println("=== 3. Cola llena con un destino lento ===");
+        for (AsyncHandler.OverflowPolicy policy : AsyncHandler.OverflowPolicy.values()) {
+            AsyncHandler handler = new AsyncHandler(new SlowOutputStream(), 64, policy);
+            long millis = logFromThreads(handler, 2_000);
+            handler.close();
+            System.out.println(policy + ": " + millis + " ms en los hilos, descartados: " + handler.droppedCount());
+        }
+    }
+
+    private static long logFromThreads(Handler handler) throws InterruptedException {
+        return logFromThreads(handler, MESSAGES_PER_THREAD);
+    }
+
+    /**
+     * THREADS hilos loguean messages mensajes cada uno; devuelve cuánto tardaron
+     */
+    private static long logFromThreads(Handler handler, int messages) throws InterruptedException {
+        Logger logger = Logger.getLogger("com.bcp.testlogging.async.bench");
+        logger.setUseParentHandlers(false);
+        logger.addHandler(handler);
+        long start = System.nanoTime();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int id = t;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < messages; i++) {
+                    logger.log(Level.INFO, "Hilo {0}: pedido {1} procesado", new Object[]{id, i});
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        logger.removeHandler(handler);
+        return millis;
+    }
+
+    /**
+     * Destino que tarda 1 ms por escritura, como un disco o una red saturados
+     */
+    private static final class SlowOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.bcp.testlogging;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.ErrorManager;
+import java.util.logging.Level;
+
+/**
+ * Escribe cada evento en un formato binario compacto: el template y los campos tal cual, sin
+ * reemplazar los {campo} ni escribir números como texto. Cada registro es:
+ * - largo del resto del registro (varint, largo << 2)
+ * - diferencia de timestamp con el registro anterior (varint zigzag) y valor del nivel (varint)
+ * - logger, hilo y template (string, ver abajo)
+ * - cantidad de campos (varint) y por campo: nombre (string), tipo (1 byte) y valor: long en
+ *   varint zigzag, double en 8 bytes, boolean en 1 byte, texto como string sin diccionario
+ *
+ * Un string empieza con un varint cuyos 2 bits bajos dicen qué sigue: LITERAL (largo + UTF-8),
+ * DEFINE (largo + UTF-8, y el texto toma el id siguiente del diccionario) o REFERENCE (id).
+ * Loggers, hilos, templates y nombres de campo se repiten en casi todos los registros, así que
+ * después de la primera vez ocupan 1 o 2 bytes. Como el diccionario y el timestamp anterior
+ * dependen del orden en el archivo, el evento se codifica bajo el lock del sink (en el buffer
+ * del hilo que loguea, igual que JsonLinesSink).
+ *
+ * readTo() decodifica un archivo y pasa cada evento a otro sink, por ejemplo JsonLinesSink
+ * para leerlo.
+ */
+public final class BinaryLogSink implements LogSink {
+
+    static final int LITERAL = 0;
+    static final int DEFINE = 1;
+    static final int REFERENCE = 2;
+
+    /**
+     * Tope del diccionario, por si se loguean templates armados en tiempo de ejecución
+     */
+    static final int MAX_DICTIONARY = 4096;
+
+    private final OutputStream out;
+    private final ErrorManager errorManager = new ErrorManager();
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private long lastTimestamp;
+
+    /**
+     * @param out destino; se le agrega un buffer de 64 KB y se cierra en close()
+     */
+    public BinaryLogSink(OutputStream out) {
+        this.out = new BufferedOutputStream(Objects.requireNonNull(out), 1 << 16);
+    }
+
+    @Override
+    public synchronized void write(LogEvent event) {
+        Utf8Buffer buffer = event.buffer();
+        buffer.reset();
+        int record = buffer.beginSized();
+        long delta = event.timestamp() - lastTimestamp;
+        lastTimestamp = event.timestamp();
+        buffer.writeVarLong((delta << 1) ^ (delta >> 63));
+        buffer.writeVarLong(event.level().intValue() & 0xFFFFFFFFL);
+        writeString(buffer, event.loggerName());
+        writeString(buffer, event.threadName());
+        writeString(buffer, event.template());
+        buffer.writeVarLong(event.fieldCount());
+        for (int i = 0; i < event.fieldCount(); i++) {
+            writeString(buffer, event.key(i));
+            byte kind = event.kind(i);
+            buffer.writeByte(kind);
+            switch (kind) {
+                case LogEvent.LONG -> {
+                    long value = event.longValue(i);
+                    buffer.writeVarLong((value << 1) ^ (value >> 63));
+                }
+                case LogEvent.DOUBLE -> buffer.writeLong(event.longValue(i));
+                case LogEvent.BOOLEAN -> buffer.writeByte(event.booleanValue(i) ? 1 : 0);
+                default -> buffer.writeSizedUtf8(event.text(i), LITERAL);
+            }
+        }
+        buffer.endSized(record, 0);
+        try {
+            buffer.writeTo(out);
+        } catch (IOException e) {
+            errorManager.error(null, e, ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+    private void writeString(Utf8Buffer buffer, String text) {
+        Integer id = dictionary.get(text);
+        if (id != null) {
+            buffer.writeVarLong(((long) id << 2) | REFERENCE);
+        } else if (dictionary.size() < MAX_DICTIONARY) {
+            dictionary.put(text, dictionary.size());
+            buffer.writeSizedUtf8(text, DEFINE);
+        } else {
+            buffer.writeSizedUtf8(text, LITERAL);
+        }
+    }
+
+    /**
+     * Lee los registros de in hasta el final y escribe cada uno en target; devuelve cuántos leyó
+     */
+    public static long readTo(InputStream in, LogSink target) throws IOException {
+        InputStream input = new BufferedInputStream(in);
+        Reader reader = new Reader();
+        LogEvent event = new LogEvent();
+        long timestamp = 0;
+        long count = 0;
+        while (true) {
+            long header = readHeader(input);
+            if (header < 0) {
+                return count;
+            }
+            reader.fill(input, (int) (header >>> 2));
+            timestamp += reader.zigzag();
+            Level level = Level.parse(Integer.toString((int) reader.varLong()));
+            String loggerName = reader.text();
+            String threadName = reader.text();
+            String template = reader.text();
+            event.restore(level, loggerName, timestamp, threadName, template);
+            long fields = reader.varLong();
+            for (long i = 0; i < fields; i++) {
+                String key = reader.text();
+                switch (reader.bytes[reader.position++]) {
+                    case LogEvent.LONG -> event.with(key, reader.zigzag());
+                    case LogEvent.DOUBLE -> event.with(key, Double.longBitsToDouble(reader.fixedLong()));
+                    case LogEvent.BOOLEAN -> event.with(key, reader.bytes[reader.position++] != 0);
+                    case LogEvent.TEXT -> event.with(key, (CharSequence) reader.text());
+                    default -> throw new IOException("Tipo de campo desconocido en el registro " + count);
+                }
+            }
+            target.write(event);
+            count++;
+        }
+    }
+
+    /**
+     * Varint del largo de un registro, o -1 si el stream terminó justo antes
+     */
+    private static long readHeader(InputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.read();
+            if (b < 0) {
+                if (shift == 0) {
+                    return -1;
+                }
+                throw new EOFException("Registro incompleto");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static final class Reader {
+        private byte[] bytes = new byte[512];
+        private int position;
+        private final List<String> dictionary = new ArrayList<>();
+
+        void fill(InputStream in, int size) throws IOException {
+            if (size > bytes.length) {
+                bytes = new byte[Math.max(size, bytes.length * 2)];
+            }
+            if (in.readNBytes(bytes, 0, size) < size) {
+                throw new EOFException("Registro incompleto");
+            }
+            position = 0;
+        }
+
+        long varLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        long zigzag() {
+            long value = varLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        long fixedLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (bytes[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        String text() throws IOException {
+            long header = varLong();
+            int tag = (int) (header & 3);
+            if (tag == REFERENCE) {
+                int id = (int) (header >>> 2);
+                if (id >= dictionary.size()) {
+                    throw new IOException("Referencia a un string no definido: " + id);
+                }
+                return dictionary.get(id);
+            }
+            int size = (int) (header >>> 2);
+            String text = new String(bytes, position, size, StandardCharsets.UTF_8);
+            position += size;
+            if (tag == DEFINE) {
+                dictionary.add(text);
+            }
+            return text;
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            errorManager.error(null, e, ErrorManager.FLUSH_FAILURE);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            errorManager.error(null, e, ErrorManager.CLOSE_FAILURE);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.bcp.testlogging;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.logging.ErrorManager;
+
+/**
+ * Escribe cada evento como una línea JSON (JSON lines), por ejemplo:
+ * {"ts":1740787200000,"level":"WARNING","logger":"app","thread":"main","msg":"Operación lenta detectada: 250ms","ms":250}
+ *
+ * msg es el template con los {campo} reemplazados y después van los campos con su tipo
+ * (número, booleano o string). El evento se codifica en UTF-8 en el buffer del hilo que
+ * loguea y solo la copia al stream se hace bajo el lock del sink. Los errores de E/S no se
+ * propagan al que loguea: van al ErrorManager, como en los Handler de java.util.logging.
+ */
+public final class JsonLinesSink implements LogSink {
+
+    private final OutputStream out;
+    private final ErrorManager errorManager = new ErrorManager();
+
+    /**
+     * @param out destino; se le agrega un buffer de 64 KB y se cierra en close()
+     */
+    public JsonLinesSink(OutputStream out) {
+        this.out = new BufferedOutputStream(Objects.requireNonNull(out), 1 << 16);
+    }
+
+    @Override
+    public void write(LogEvent event) {
+        Utf8Buffer buffer = event.buffer();
+        buffer.reset();
+        encode(event, buffer);
+        synchronized (this) {
+            try {
+                buffer.writeTo(out);
+            } catch (IOException e) {
+                errorManager.error(null, e, ErrorManager.WRITE_FAILURE);
+            }
+        }
+    }
+
+    static void encode(LogEvent event, Utf8Buffer buffer) {
+        buffer.writeAscii("{\"ts\":");
+        buffer.writeDecimal(event.timestamp());
+        buffer.writeAscii(",\"level\":");
+        buffer.writeJsonString(event.level().getName());
+        buffer.writeAscii(",\"logger\":");
+        buffer.writeJsonString(event.loggerName());
+        buffer.writeAscii(",\"thread\":");
+        buffer.writeJsonString(event.threadName());
+        buffer.writeAscii(",\"msg\":\"");
+        writeMessage(event, buffer);
+        buffer.writeByte('"');
+        for (int i = 0; i < event.fieldCount(); i++) {
+            buffer.writeByte(',');
+            buffer.writeJsonString(event.key(i));
+            buffer.writeByte(':');
+            switch (event.kind(i)) {
+                case LogEvent.LONG -> buffer.writeDecimal(event.longValue(i));
+                case LogEvent.DOUBLE -> {
+                    double value = event.doubleValue(i);
+                    if (Double.isFinite(value)) {
+                        buffer.writeDecimal(value);
+                    } else {
+                        // JSON no tiene NaN ni infinitos
+                        buffer.writeByte('"');
+                        buffer.writeDecimal(value);
+                        buffer.writeByte('"');
+                    }
+                }
+                case LogEvent.BOOLEAN -> buffer.writeAscii(event.booleanValue(i) ? "true" : "false");
+                default -> buffer.writeJsonString(event.text(i));
+            }
+        }
+        buffer.writeAscii("}\n");
+    }
+
+    /**
+     * El template con cada {campo} reemplazado por su valor, escapado para JSON
+     */
+    private static void writeMessage(LogEvent event, Utf8Buffer buffer) {
+        String template = event.template();
+        int length = template.length();
+        int from = 0;
+        int open = template.indexOf('{');
+        while (open >= 0) {
+            int close = template.indexOf('}', open + 1);
+            if (close < 0) {
+                break;
+            }
+            int field = event.indexOf(template, open + 1, close);
+            if (field < 0) {
+                // No es un campo: se deja el texto y se sigue buscando desde la llave siguiente
+                open = template.indexOf('{', open + 1);
+                continue;
+            }
+            buffer.writeJsonEscaped(template, from, open);
+            switch (event.kind(field)) {
+                case LogEvent.LONG -> buffer.writeDecimal(event.longValue(field));
+                case LogEvent.DOUBLE -> buffer.writeDecimal(event.doubleValue(field));
+                case LogEvent.BOOLEAN -> buffer.writeAscii(event.booleanValue(field) ? "true" : "false");
+                default -> {
+                    CharSequence text = event.text(field);
+                    buffer.writeJsonEscaped(text, 0, text.length());
+                }
+            }
+            from = close + 1;
+            open = template.indexOf('{', from);
+        }
+        buffer.writeJsonEscaped(template, from, length);
+    }
+
+    @Override
+    public synchronized void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            errorManager.error(null, e, ErrorManager.FLUSH_FAILURE);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            errorManager.error(null, e, ErrorManager.CLOSE_FAILURE);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.bcp.testlogging;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+
+/**
+ * Evento de log estructurado en construcción: campos con nombre (primitivos o texto) y un
+ * template constante cuyo {campo} se reemplaza por el valor al escribir.
+ *
+ * StructuredLogger.atInfo() y los demás devuelven el evento del hilo actual, que se reutiliza
+ * en cada llamada (los valores van a arreglos de primitivos, sin boxing), o DISABLED si el
+ * nivel no está habilitado, cuyos métodos no hacen nada. Por eso un evento no se guarda ni
+ * se pasa a otro hilo: se usa en una sola expresión que termina en log(template).
+ *
+ * El evento queda ocupado desde begin() hasta que log() termina. Si en ese tramo se loguea
+ * con el mismo hilo (por ejemplo desde el toString() de un with(key, Object)), ese log usa
+ * un LogEvent nuevo y no pisa el que se está armando.
+ */
+public final class LogEvent {
+
+    static final byte LONG = 1;
+    static final byte DOUBLE = 2;
+    static final byte BOOLEAN = 3;
+    static final byte TEXT = 4;
+
+    /**
+     * Evento de un nivel deshabilitado: no guarda nada ni escribe
+     */
+    static final LogEvent DISABLED = new LogEvent();
+
+    private Level level;
+    private String loggerName;
+    private LogSink sink;
+    private long timestamp;
+    private String threadName;
+    private String template;
+
+    private int fieldCount;
+    private String[] keys = new String[8];
+    private byte[] kinds = new byte[8];
+    private long[] numbers = new long[8];
+    private CharSequence[] texts = new CharSequence[8];
+
+    // Entre begin() y el final de log(): otro log del mismo hilo no puede reutilizarlo
+    boolean inUse;
+    private final Utf8Buffer buffer = new Utf8Buffer();
+
+    LogEvent() {
+    }
+
+    LogEvent begin(Level level, String loggerName, LogSink sink) {
+        this.level = level;
+        this.loggerName = loggerName;
+        this.sink = sink;
+        clearFields();
+        inUse = true;
+        return this;
+    }
+
+    public LogEvent with(String key, long value) {
+        if (this != DISABLED) {
+            add(key, LONG).numbers[fieldCount - 1] = value;
+        }
+        return this;
+    }
+
+    public LogEvent with(String key, double value) {
+        if (this != DISABLED) {
+            add(key, DOUBLE).numbers[fieldCount - 1] = Double.doubleToRawLongBits(value);
+        }
+        return this;
+    }
+
+    public LogEvent with(String key, boolean value) {
+        if (this != DISABLED) {
+            add(key, BOOLEAN).numbers[fieldCount - 1] = value ? 1 : 0;
+        }
+        return this;
+    }
+
+    /**
+     * El texto se copia al escribir: no se crea un String
+     */
+    public LogEvent with(String key, CharSequence value) {
+        if (this != DISABLED) {
+            add(key, TEXT).texts[fieldCount - 1] = value == null ? "null" : value;
+        }
+        return this;
+    }
+
+    /**
+     * Cualquier objeto, escrito con toString() (eso sí puede asignar memoria). Si toString()
+     * lanza una excepción el campo queda con el nombre de la excepción, como hace
+     * Formatter.formatMessage: un log no debe romper al que loguea
+     */
+    public LogEvent with(String key, Object value) {
+        if (this != DISABLED) {
+            String text;
+            try {
+                text = String.valueOf(value);
+            } catch (RuntimeException e) {
+                text = "<toString() falló: " + e.getClass().getName() + ">";
+            }
+            add(key, TEXT).texts[fieldCount - 1] = text;
+        }
+        return this;
+    }
+
+    private LogEvent add(String key, byte kind) {
+        if (fieldCount == keys.length) {
+            int size = fieldCount * 2;
+            keys = Arrays.copyOf(keys, size);
+            kinds = Arrays.copyOf(kinds, size);
+            numbers = Arrays.copyOf(numbers, size);
+            texts = Arrays.copyOf(texts, size);
+        }
+        keys[fieldCount] = key;
+        kinds[fieldCount] = kind;
+        fieldCount++;
+        return this;
+    }
+
+    /**
+     * Escribe el evento con template como mensaje, por ejemplo
+     * "Operación lenta detectada: {ms} ms"; un {campo} sin valor queda tal cual
+     */
+    public void log(String template) {
+        if (this == DISABLED) {
+            return;
+        }
+        this.template = template;
+        this.timestamp = System.currentTimeMillis();
+        this.threadName = Thread.currentThread().getName();
+        try {
+            sink.write(this);
+        } finally {
+            clearFields();
+            inUse = false;
+        }
+    }
+
+    private void clearFields() {
+        Arrays.fill(texts, 0, fieldCount, null);
+        fieldCount = 0;
+    }
+
+    Level level() {
+        return level;
+    }
+
+    String loggerName() {
+        return loggerName;
+    }
+
+    long timestamp() {
+        return timestamp;
+    }
+
+    String threadName() {
+        return threadName;
+    }
+
+    String template() {
+        return template;
+    }
+
+    int fieldCount() {
+        return fieldCount;
+    }
+
+    String key(int i) {
+        return keys[i];
+    }
+
+    byte kind(int i) {
+        return kinds[i];
+    }
+
+    long longValue(int i) {
+        return numbers[i];
+    }
+
+    double doubleValue(int i) {
+        return Double.longBitsToDouble(numbers[i]);
+    }
+
+    boolean booleanValue(int i) {
+        return numbers[i] != 0;
+    }
+
+    CharSequence text(int i) {
+        return texts[i];
+    }
+
+    /**
+     * Buffer del hilo donde el sink codifica el evento
+     */
+    Utf8Buffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Índice del campo llamado como template[start, end), o -1
+     */
+    int indexOf(String template, int start, int end) {
+        int length = end - start;
+        for (int i = 0; i < fieldCount; i++) {
+            String key = keys[i];
+            if (key.length() == length && template.regionMatches(start, key, 0, length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Para decodificar un registro binario: cabecera del evento; los campos se agregan con with
+     */
+    void restore(Level level, String loggerName, long timestamp, String threadName, String template) {
+        this.level = level;
+        this.loggerName = loggerName;
+        this.timestamp = timestamp;
+        this.threadName = threadName;
+        this.template = template;
+        clearFields();
+    }
+}
@@ -0,0 +1,265 @@
+package com.bcp.testlogging;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decide si un mensaje de un punto de log se escribe o se suprime. Se crea uno por punto de
+ * log (un campo static final junto al logger) y se pasa a ThrottledLogger:
+ * - every(n): uno de cada n
+ * - sampled(p): cada mensaje con probabilidad p
+ * - rateLimited(porSegundo, ráfaga): token bucket
+ * - deduplicated(ventana): un mensaje idéntico (texto y parámetros) una vez por ventana
+ *
+ * Ninguno usa locks: a lo sumo un getAndIncrement o un CAS sobre un long. Los totales de
+ * escritos y suprimidos van a LongAdder para no agregar contención entre hilos.
+ */
+public abstract class LogLimiter {
+
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+    // Suprimidos ya informados en un mensaje escrito (ver suppressedSinceLast)
+    private final AtomicLong reported = new AtomicLong();
+
+    LogLimiter() {
+    }
+
+    /**
+     * Uno de cada n mensajes: el primero, el n+1, el 2n+1...
+     */
+    public static LogLimiter every(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n debe ser al menos 1: " + n);
+        }
+        return new EveryN(n);
+    }
+
+    /**
+     * Cada mensaje se escribe con probabilidad p, sin estado compartido entre hilos
+     */
+    public static LogLimiter sampled(double probability) {
+        if (!(probability > 0 && probability <= 1)) {
+            throw new IllegalArgumentException("La probabilidad debe estar en (0, 1]: " + probability);
+        }
+        return new Sampled(probability);
+    }
+
+    /**
+     * Hasta permitsPerSecond mensajes por segundo en promedio, con ráfagas de hasta burst
+     */
+    public static LogLimiter rateLimited(double permitsPerSecond, int burst) {
+        if (!(permitsPerSecond > 0) || burst < 1) {
+            throw new IllegalArgumentException("Tasa y ráfaga deben ser positivas: " + permitsPerSecond + ", " + burst);
+        }
+        return new RateLimited(permitsPerSecond, burst);
+    }
+
+    /**
+     * Un mensaje idéntico se escribe una vez por window; recuerda hasta 1024 mensajes distintos
+     */
+    public static LogLimiter deduplicated(Duration window) {
+        return deduplicated(window, 1024);
+    }
+
+    /**
+     * @param slots cuántos mensajes distintos recuerda (se redondea a potencia de 2); dos
+     *              mensajes que caen en el mismo slot se reemplazan entre sí
+     */
+    public static LogLimiter deduplicated(Duration window, int slots) {
+        Objects.requireNonNull(window);
+        if (window.isNegative() || window.isZero() || slots < 1) {
+            throw new IllegalArgumentException("Ventana y slots deben ser positivos: " + window + ", " + slots);
+        }
+        return new Deduplicated(window.toNanos(), slots);
+    }
+
+    /**
+     * Registra la decisión para el mensaje (msg con sus parámetros) y devuelve true si se escribe
+     */
+    final boolean tryAcquire(String msg, Object[] params) {
+        if (allow(msg, params)) {
+            passed.increment();
+            return true;
+        }
+        suppressed.increment();
+        return false;
+    }
+
+    abstract boolean allow(String msg, Object[] params);
+
+    /**
+     * Suprimidos desde el último mensaje escrito que los informó; lo llama ThrottledLogger al
+     * escribir. Con varios hilos escribiendo a la vez el total se reparte entre ellos.
+     */
+    long suppressedSinceLast(String msg, Object[] params) {
+        long total = suppressed.sum();
+        while (true) {
+            long previous = reported.get();
+            if (total <= previous) {
+                return 0;
+            }
+            if (reported.compareAndSet(previous, total)) {
+                return total - previous;
+            }
+        }
+    }
+
+    public long passedCount() {
+        return passed.sum();
+    }
+
+    public long suppressedCount() {
+        return suppressed.sum();
+    }
+
+    private static final class EveryN extends LogLimiter {
+        private final int n;
+        private final AtomicLong calls = new AtomicLong();
+
+        EveryN(int n) {
+            this.n = n;
+        }
+
+        @Override
+        boolean allow(String msg, Object[] params) {
+            return calls.getAndIncrement() % n == 0;
+        }
+
+        @Override
+        public String toString() {
+            return "every(" + n + ")";
+        }
+    }
+
+    private static final class Sampled extends LogLimiter {
+        private final double probability;
+
+        Sampled(double probability) {
+            this.probability = probability;
+        }
+
+        @Override
+        boolean allow(String msg, Object[] params) {
+            return ThreadLocalRandom.current().nextDouble() < probability;
+        }
+
+        @Override
+        public String toString() {
+            return "sampled(" + probability + ")";
+        }
+    }
+
+    /**
+     * Token bucket guardado como un solo long (GCRA): el instante teórico en que el balde vuelve
+     * a estar lleno. Cada mensaje lo corre un intervalo; si queda más de burst intervalos en el
+     * futuro no hay tokens. Equivale a reponer un token por intervalo sin un hilo que lo haga.
+     */
+    private static final class RateLimited extends LogLimiter {
+        private final long intervalNanos;
+        private final long toleranceNanos;
+        private final AtomicLong fullAt;
+
+        RateLimited(double permitsPerSecond, int burst) {
+            this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+            this.toleranceNanos = intervalNanos * (burst - 1);
+            this.fullAt = new AtomicLong(System.nanoTime());
+        }
+
+        @Override
+        boolean allow(String msg, Object[] params) {
+            long now = System.nanoTime();
+            while (true) {
+                long current = fullAt.get();
+                long start = current - now > 0 ? current : now;
+                if (start - now > toleranceNanos) {
+                    return false;
+                }
+                if (fullAt.compareAndSet(current, start + intervalNanos)) {
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "rateLimited(" + 1_000_000_000.0 / intervalNanos + "/s, " + (toleranceNanos / intervalNanos + 1) + ")";
+        }
+    }
+
+    /**
+     * Tabla sin locks indexada por el hash del mensaje. Cada slot es un long con 24 bits del
+     * hash (para distinguir mensajes del mismo slot) y 40 bits con el fin de la ventana en ms
+     * desde la creación (~34 años), y se actualiza con CAS. Por slot se cuentan los suprimidos
+     * para informarlos cuando el mismo mensaje vuelve a escribirse.
+     */
+    private static final class Deduplicated extends LogLimiter {
+        private static final long TIME_MASK = (1L << 40) - 1;
+
+        private final long windowMillis;
+        private final long originNanos = System.nanoTime();
+        private final int mask;
+        private final AtomicLongArray entries;
+        private final AtomicLongArray suppressedBySlot;
+
+        Deduplicated(long windowNanos, int slots) {
+            this.windowMillis = Math.max(1, windowNanos / 1_000_000);
+            int size = Integer.highestOneBit(Math.min(slots, 1 << 30) * 2 - 1);
+            this.mask = size - 1;
+            this.entries = new AtomicLongArray(size);
+            this.suppressedBySlot = new AtomicLongArray(size);
+        }
+
+        @Override
+        boolean allow(String msg, Object[] params) {
+            long hash = hash(msg, params);
+            int slot = (int) hash & mask;
+            long fingerprint = (hash >>> 40) << 40;
+            // +1 para que 0 (slot vacío) nunca sea una ventana vigente
+            long now = (System.nanoTime() - originNanos) / 1_000_000 + 1;
+            long next = fingerprint | ((now + windowMillis) & TIME_MASK);
+            while (true) {
+                long entry = entries.get(slot);
+                if ((entry & ~TIME_MASK) == fingerprint && (entry & TIME_MASK) > now) {
+                    suppressedBySlot.incrementAndGet(slot);
+                    return false;
+                }
+                if (entries.compareAndSet(slot, entry, next)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Solo los repetidos de este mismo mensaje (si no lo reemplazó otro en el slot)
+         */
+        @Override
+        long suppressedSinceLast(String msg, Object[] params) {
+            return suppressedBySlot.getAndSet((int) hash(msg, params) & mask, 0);
+        }
+
+        private static long hash(String msg, Object[] params) {
+            long h = msg.hashCode();
+            if (params != null) {
+                for (Object param : params) {
+                    h = h * 0x9E3779B97F4A7C15L + Objects.hashCode(param);
+                }
+            }
+            // Mezcla final de MurmurHash3 para repartir los bits en índice y fingerprint
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            h *= 0xC4CEB9FE1A85EC53L;
+            h ^= h >>> 33;
+            return h;
+        }
+
+        @Override
+        public String toString() {
+            return "deduplicated(" + windowMillis + "ms, " + entries.length() + ")";
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.bcp.testlogging;
+
+/**
+ * Destino de los eventos de StructuredLogger. write() se llama en el hilo que loguea con el
+ * evento de ese hilo: el sink lo codifica en event.buffer() y lo escribe; no debe guardar
+ * el evento, que se reutiliza en la próxima llamada.
+ */
+public interface LogSink extends AutoCloseable {
+
+    void write(LogEvent event);
+
+    void flush();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,111 @@
+package com.bcp.testlogging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cola acotada sin locks para varios productores y consumidores (algoritmo de Dmitry Vyukov).
+ *
+ * Cada posición tiene un número de secuencia que dice si está libre para escribir la vuelta
+ * actual o lista para leerse; productores y consumidores reservan una posición con un CAS
+ * sobre tail o head y publican con una escritura volátil de la secuencia. offer y poll nunca
+ * bloquean: con la cola llena offer devuelve false y con la cola vacía poll devuelve null.
+ *
+ * @param <E> tipo de los elementos
+ */
+final class RingBuffer<E> {
+
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    // Próxima posición a escribir y próxima a leer; crecen siempre, el índice es posición & mask
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param capacity se redondea a potencia de 2
+     */
+    RingBuffer(int capacity) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacidad fuera de rango: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // La posición todavía tiene el elemento de la vuelta anterior: cola llena
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E element = (E) elements[index];
+                    elements[index] = null;
+                    sequences.set(index, position + elements.length);
+                    return element;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                // Vacía, o un productor reservó la posición y todavía no publicó
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return head.get() >= tail.get();
+    }
+
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, elements.length));
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Posiciones reservadas por los productores hasta ahora
+     */
+    long tailPosition() {
+        return tail.get();
+    }
+
+    /**
+     * Posiciones consumidas hasta ahora
+     */
+    long headPosition() {
+        return head.get();
+    }
+}
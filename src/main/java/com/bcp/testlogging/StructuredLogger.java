@@ -0,0 +1,102 @@
+package com.bcp.testlogging;
+
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Logging estructurado sin asignar memoria: el nivel se verifica antes de hacer nada y el
+ * mensaje es un template constante con campos con nombre, en lugar de concatenar Strings.
+ *
+ * <pre>
+ * log.atInfo().with("user", username).log("Intento de autenticación para usuario: {user}");
+ * log.atFine().with("ms", duration).log("Operación completada en tiempo normal: {ms}ms");
+ * </pre>
+ *
+ * Con el nivel deshabilitado atFine() devuelve un evento vacío y no se crea nada (with no
+ * hace boxing de los primitivos). Habilitado, cada hilo reutiliza su LogEvent y su buffer y
+ * el LogSink codifica el evento en JSON lines o binario sin Strings intermedios. Si el evento
+ * del hilo todavía se está armando (un with(key, Object) cuyo toString() loguea), el log
+ * anidado usa un LogEvent nuevo.
+ *
+ * Los niveles son los de java.util.logging: se decide con el Logger del mismo nombre, así que
+ * setLevel() y logging.properties funcionan como siempre.
+ */
+public final class StructuredLogger {
+
+    // Un evento por hilo; con hilos virtuales cada uno crea el suyo la primera vez que loguea
+    private static final ThreadLocal<LogEvent> EVENTS = ThreadLocal.withInitial(LogEvent::new);
+
+    private final Logger logger;
+    private final String name;
+    private final LogSink sink;
+
+    private StructuredLogger(Logger logger, LogSink sink) {
+        this.logger = logger;
+        this.name = logger.getName();
+        this.sink = sink;
+    }
+
+    public static StructuredLogger getLogger(String name, LogSink sink) {
+        return new StructuredLogger(Logger.getLogger(name), Objects.requireNonNull(sink));
+    }
+
+    public static StructuredLogger getLogger(Class<?> type, LogSink sink) {
+        return getLogger(type.getName(), sink);
+    }
+
+    public LogEvent at(Level level) {
+        if (!logger.isLoggable(level)) {
+            return LogEvent.DISABLED;
+        }
+        LogEvent event = EVENTS.get();
+        if (event.inUse) {
+            // Log anidado mientras se arma otro evento en este hilo
+            event = new LogEvent();
+        }
+        return event.begin(level, name, sink);
+    }
+
+    public LogEvent atSevere() {
+        return at(Level.SEVERE);
+    }
+
+    public LogEvent atWarning() {
+        return at(Level.WARNING);
+    }
+
+    public LogEvent atInfo() {
+        return at(Level.INFO);
+    }
+
+    public LogEvent atConfig() {
+        return at(Level.CONFIG);
+    }
+
+    public LogEvent atFine() {
+        return at(Level.FINE);
+    }
+
+    public LogEvent atFiner() {
+        return at(Level.FINER);
+    }
+
+    public LogEvent atFinest() {
+        return at(Level.FINEST);
+    }
+
+    public boolean isLoggable(Level level) {
+        return logger.isLoggable(level);
+    }
+
+    /**
+     * Logger de java.util.logging que decide el nivel
+     */
+    public Logger getLogger() {
+        return logger;
+    }
+
+    public LogSink getSink() {
+        return sink;
+    }
+}
@@ -0,0 +1,121 @@
+package com.bcp.testlogging;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Los mensajes de Test.java con StructuredLogger: template constante y campos, el nivel se
+ * verifica antes de armar nada y la salida es JSON lines o binaria
+ */
+public class StructuredLoggingExample {
+
+    private static final int CALLS = 1_000_000;
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== 1. Mensajes de Test.java como eventos estructurados (JSON lines) ===");
+        JsonLinesSink console = new JsonLinesSink(new NonClosingOutputStream(System.out));
+        StructuredLogger log = StructuredLogger.getLogger(StructuredLoggingExample.class, console);
+        String username = "usuario123";
+        long duration = 230;
+        log.atInfo().with("user", username).log("Intento de autenticación para usuario: {user}");
+        log.atInfo().with("user", username).with("success", true).log("Autenticación exitosa para usuario: {user}");
+        log.atInfo().with("rows", 150).with("query", "SELECT * FROM users").log("Consulta ejecutada exitosamente - {rows} registros encontrados");
+        log.atWarning().with("ms", duration).with("thresholdMs", 100).log("Operación lenta detectada: {ms}ms");
+        // FINE está deshabilitado (nivel INFO heredado de la raíz): no se escribe ni se arma nada
+        log.atFine().with("ms", duration).log("Operación completada en tiempo normal: {ms}ms");
+        console.flush();
+        System.out.println();
+
+        System.out.println("=== 2. Memoria asignada por llamada (" + CALLS + " llamadas) ===");
+        Logger julLogger = Logger.getLogger("com.bcp.testlogging.structured.bench");
+        julLogger.setUseParentHandlers(false);
+        julLogger.setLevel(Level.INFO);
+        try (JsonLinesSink json = new JsonLinesSink(OutputStream.nullOutputStream());
+             BinaryLogSink binary = new BinaryLogSink(OutputStream.nullOutputStream())) {
+            StructuredLogger jsonLog = StructuredLogger.getLogger(julLogger.getName(), json);
+            StructuredLogger binaryLog = StructuredLogger.getLogger(julLogger.getName(), binary);
+            // Vuelta de calentamiento para que el JIT elimine lo que pueda
+            for (int round = 0; round < 2; round++) {
+                boolean print = round == 1;
+                report(print, "concatenación con FINE deshabilitado", () -> {
+                    for (int i = 0; i < CALLS; i++) {
+                        julLogger.fine("Operación completada en tiempo normal: " + i + "ms");
+                    }
+                });
+                report(print, "StructuredLogger con FINE deshabilitado", () -> {
+                    for (int i = 0; i < CALLS; i++) {
+                        jsonLog.atFine().with("ms", i).log("Operación completada en tiempo normal: {ms}ms");
+                    }
+                });
+                report(print, "StructuredLogger INFO a JSON lines", () -> {
+                    for (int i = 0; i < CALLS; i++) {
+                        jsonLog.atInfo().with("user", username).with("ms", i).log("Pedido de {user} en {ms}ms");
+                    }
+                });
+                report(print, "StructuredLogger INFO a binario", () -> {
+                    for (int i = 0; i < CALLS; i++) {
+                        binaryLog.atInfo().with("user", username).with("ms", i).log("Pedido de {user} en {ms}ms");
+                    }
+                });
+            }
+        }
+        System.out.println();
+
+        System.out.println("=== 3. Tamaño JSON lines contra binario (10000 eventos) ===");
+        ByteArrayOutputStream jsonBytes = new ByteArrayOutputStream();
+        ByteArrayOutputStream binaryBytes = new ByteArrayOutputStream();
+        try (JsonLinesSink json = new JsonLinesSink(jsonBytes); BinaryLogSink binary = new BinaryLogSink(binaryBytes)) {
+            StructuredLogger jsonLog = StructuredLogger.getLogger("com.bcp.testlogging.orders", json);
+            StructuredLogger binaryLog = StructuredLogger.getLogger("com.bcp.testlogging.orders", binary);
+            for (int i = 0; i < 10_000; i++) {
+                jsonLog.atInfo().with("order", i).with("total", i * 1.5).log("Pedido {order} procesado: {total}");
+                binaryLog.atInfo().with("order", i).with("total", i * 1.5).log("Pedido {order} procesado: {total}");
+            }
+        }
+        System.out.println("JSON lines: " + jsonBytes.size() + " bytes, binario: " + binaryBytes.size() + " bytes");
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        try (JsonLinesSink json = new JsonLinesSink(decoded)) {
+            long count = BinaryLogSink.readTo(new ByteArrayInputStream(binaryBytes.toByteArray()), json);
+            System.out.println("Decodificados del binario: " + count);
+        }
+        System.out.print("Primer evento decodificado: " + decoded.toString().lines().findFirst().orElse("") + "\n");
+    }
+
+    /**
+     * Ejecuta task y muestra los bytes asignados por llamada en este hilo
+     */
+    private static void report(boolean print, String name, Runnable task) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        task.run();
+        long bytes = threads.getCurrentThreadAllocatedBytes() - before;
+        if (print) {
+            System.out.printf("%-42s %8.2f bytes por llamada%n", name, (double) bytes / CALLS);
+        }
+    }
+
+    /**
+     * System.out no se cierra al cerrar el sink
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
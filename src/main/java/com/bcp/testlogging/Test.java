@@ -1,9 +1,15 @@
 package com.bcp.testlogging;
 
+import com.bcp.metrics.LatencyRegistry;
+import com.bcp.metrics.LatencyTimer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.*;
 
 public class Test {
     private static Logger logger = Logger.getLogger(com.bcp.testlogging.Test.class.getName());
+    private static LatencyRegistry latency = new LatencyRegistry(logger);
 
     public static void main(String[] args) {
         System.out.println("=== JAVA LOGGING API - EJEMPLO COMPLETO ===");
@@ -124,7 +130,9 @@ public class Test {
 
         // Ejemplo: Logging de rendimiento
         System.out.println("Ejemplo: Logging de rendimiento");
-        long startTime = System.currentTimeMillis();
+        // Si pasa de 100 ms el timer escribe el WARNING con la duración y los percentiles
+        LatencyTimer operation = latency.timer("test.operacionCostosa", Duration.ofMillis(100));
+        long startTime = operation.start();
         
         // Simular operación costosa
         try {
@@ -133,13 +141,11 @@ public class Test {
             logger.log(Level.SEVERE, "Operación interrumpida", e);
         }
         
-        long endTime = System.currentTimeMillis();
-        long duration = endTime - startTime;
+        long nanos = operation.stop(startTime);
         
-        if (duration > 100) {
-            logger.warning("Operación lenta detectada: " + duration + "ms");
-        } else {
-            logger.fine("Operación completada en tiempo normal: " + duration + "ms");
+        // Mismo umbral que el timer: o escribió el WARNING o la operación fue normal
+        if (nanos <= operation.slowThreshold().toNanos()) {
+            logger.fine("Operación completada en tiempo normal: " + TimeUnit.NANOSECONDS.toMillis(nanos) + "ms");
         }
         System.out.println();
 
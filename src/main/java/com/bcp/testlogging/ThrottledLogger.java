@@ -0,0 +1,103 @@
+package com.bcp.testlogging;
+
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Envuelve un Logger de java.util.logging para loguear en loops calientes: cada llamada recibe
+ * el LogLimiter de su punto de log, que decide si el mensaje se escribe. El mensaje que se
+ * escribe lleva al final cuántos se suprimieron desde el anterior, por ejemplo
+ * "Item 4211 procesado [99 mensajes suprimidos]".
+ *
+ * <pre>
+ * private static final ThrottledLogger LOG = ThrottledLogger.of(Logger.getLogger(Orders.class.getName()));
+ * private static final LogLimiter PER_ITEM = LogLimiter.rateLimited(10, 20);
+ * ...
+ * LOG.info(PER_ITEM, "Item {0} procesado", item.id());
+ * </pre>
+ *
+ * El nivel se verifica antes de consultar el limiter, así que un nivel deshabilitado no
+ * consume tokens ni cuenta como suprimido. Solo los mensajes que se escriben crean el
+ * LogRecord y buscan en el stack la clase y el método que loguean.
+ */
+public final class ThrottledLogger {
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private final Logger logger;
+
+    private ThrottledLogger(Logger logger) {
+        this.logger = logger;
+    }
+
+    public static ThrottledLogger of(Logger logger) {
+        return new ThrottledLogger(Objects.requireNonNull(logger));
+    }
+
+    public Logger getLogger() {
+        return logger;
+    }
+
+    public void log(LogLimiter limiter, Level level, String msg) {
+        if (logger.isLoggable(level) && limiter.tryAcquire(msg, null)) {
+            publish(limiter, level, msg, null, null);
+        }
+    }
+
+    public void log(LogLimiter limiter, Level level, String msg, Object param) {
+        if (logger.isLoggable(level)) {
+            Object[] params = {param};
+            if (limiter.tryAcquire(msg, params)) {
+                publish(limiter, level, msg, params, null);
+            }
+        }
+    }
+
+    public void log(LogLimiter limiter, Level level, String msg, Object... params) {
+        if (logger.isLoggable(level) && limiter.tryAcquire(msg, params)) {
+            publish(limiter, level, msg, params, null);
+        }
+    }
+
+    public void log(LogLimiter limiter, Level level, String msg, Throwable thrown) {
+        if (logger.isLoggable(level) && limiter.tryAcquire(msg, null)) {
+            publish(limiter, level, msg, null, thrown);
+        }
+    }
+
+    public void severe(LogLimiter limiter, String msg, Object... params) {
+        log(limiter, Level.SEVERE, msg, params);
+    }
+
+    public void warning(LogLimiter limiter, String msg, Object... params) {
+        log(limiter, Level.WARNING, msg, params);
+    }
+
+    public void info(LogLimiter limiter, String msg, Object... params) {
+        log(limiter, Level.INFO, msg, params);
+    }
+
+    public void fine(LogLimiter limiter, String msg, Object... params) {
+        log(limiter, Level.FINE, msg, params);
+    }
+
+    private void publish(LogLimiter limiter, Level level, String msg, Object[] params, Throwable thrown) {
+        long skipped = limiter.suppressedSinceLast(msg, params);
+        // Sin comillas ni llaves: MessageFormat no las toca si el mensaje tiene parámetros
+        LogRecord record = new LogRecord(level, skipped == 0 ? msg : msg + " [" + skipped + " mensajes suprimidos]");
+        record.setLoggerName(logger.getName());
+        record.setResourceBundle(logger.getResourceBundle());
+        record.setParameters(params);
+        record.setThrown(thrown);
+        // LogRecord tomaría a ThrottledLogger como el que loguea
+        WALKER.walk(frames -> frames.dropWhile(frame -> frame.getClassName().equals(ThrottledLogger.class.getName()))
+                .findFirst())
+                .ifPresent(frame -> {
+                    record.setSourceClassName(frame.getClassName());
+                    record.setSourceMethodName(frame.getMethodName());
+                });
+        logger.log(record);
+    }
+}
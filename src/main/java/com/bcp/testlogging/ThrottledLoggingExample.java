@@ -0,0 +1,111 @@
+package com.bcp.testlogging;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+
+/**
+ * Un loop de pedidos que loguea por item, como las operaciones de base de datos y
+ * autenticación de Test.java, con cada LogLimiter: cuántos mensajes se escriben y cuántos se
+ * suprimen
+ */
+public class ThrottledLoggingExample {
+
+    private static final int ITEMS = 200_000;
+
+    private static final LogLimiter EVERY_1000 = LogLimiter.every(1000);
+    private static final LogLimiter SAMPLED = LogLimiter.sampled(0.001);
+    private static final LogLimiter RATE_LIMITED = LogLimiter.rateLimited(20, 5);
+    private static final LogLimiter DEDUPLICATED = LogLimiter.deduplicated(Duration.ofMillis(200));
+
+    public static void main(String[] args) throws InterruptedException {
+        Logger logger = Logger.getLogger(ThrottledLoggingExample.class.getName());
+        logger.setUseParentHandlers(false);
+        CollectingHandler handler = new CollectingHandler();
+        logger.addHandler(handler);
+        ThrottledLogger log = ThrottledLogger.of(logger);
+
+        System.out.println("=== 1. Uno de cada 1000 ===");
+        for (int i = 0; i < ITEMS; i++) {
+            log.info(EVERY_1000, "Item {0} procesado", i);
+        }
+        handler.report(EVERY_1000);
+
+        System.out.println("=== 2. Muestreo con probabilidad 0.001 ===");
+        for (int i = 0; i < ITEMS; i++) {
+            log.info(SAMPLED, "Item {0} procesado", i);
+        }
+        handler.report(SAMPLED);
+
+        System.out.println("=== 3. Token bucket: 20 por segundo, ráfagas de 5, 4 hilos durante 1 segundo ===");
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        long rateEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        for (int t = 0; t < 4; t++) {
+            int worker = t;
+            pool.execute(() -> {
+                for (int i = 0; System.nanoTime() < rateEnd; i++) {
+                    log.warning(RATE_LIMITED, "Operación lenta detectada en worker {0}: item {1}", worker, i);
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(5, TimeUnit.SECONDS);
+        handler.report(RATE_LIMITED);
+
+        System.out.println("=== 4. Deduplicación: el mismo error una vez cada 200 ms durante 1 segundo ===");
+        long dedupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (System.nanoTime() < dedupEnd) {
+            log.log(DEDUPLICATED, Level.SEVERE, "Error de conexión con {0}", "db-primary");
+            log.log(DEDUPLICATED, Level.SEVERE, "Error de conexión con {0}", "db-replica");
+            Thread.sleep(1);
+        }
+        handler.report(DEDUPLICATED);
+
+        System.out.println("=== 5. Nivel deshabilitado: no consume el limiter ===");
+        LogLimiter fine = LogLimiter.every(10);
+        for (int i = 0; i < 1000; i++) {
+            log.fine(fine, "Item {0} procesado", i);
+        }
+        System.out.println("Escritos: " + fine.passedCount() + ", suprimidos: " + fine.suppressedCount());
+    }
+
+    /**
+     * Guarda los registros escritos para mostrar cuántos hubo y los primeros
+     */
+    private static final class CollectingHandler extends Handler {
+        private final List<String> lines = new ArrayList<>();
+        private final SimpleFormatter formatter = new SimpleFormatter();
+
+        @Override
+        public synchronized void publish(LogRecord record) {
+            lines.add(record.getSourceMethodName() + ": " + formatter.formatMessage(record));
+        }
+
+        synchronized void report(LogLimiter limiter) {
+            System.out.println(limiter + " -> escritos: " + limiter.passedCount()
+                    + ", suprimidos: " + limiter.suppressedCount());
+            lines.stream().limit(3).forEach(line -> System.out.println("  " + line));
+            if (lines.size() > 3) {
+                System.out.println("  ... (" + (lines.size() - 3) + " más)");
+            }
+            System.out.println();
+            lines.clear();
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
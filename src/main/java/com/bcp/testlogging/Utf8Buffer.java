@@ -0,0 +1,225 @@
+package com.bcp.testlogging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Buffer de bytes reutilizable donde los sinks codifican un evento (UTF-8, JSON o binario)
+ * sin crear Strings intermedios. Cada hilo tiene el suyo dentro de su LogEvent.
+ */
+final class Utf8Buffer {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+
+    private byte[] bytes = new byte[512];
+    private int length;
+    // Solo para doubles: StringBuilder.append(double) escribe los dígitos sin crear un String
+    private final StringBuilder digits = new StringBuilder(32);
+
+    void reset() {
+        length = 0;
+    }
+
+    int length() {
+        return length;
+    }
+
+    byte[] array() {
+        return bytes;
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, length);
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(length + extra, bytes.length * 2));
+        }
+    }
+
+    void writeByte(int b) {
+        ensure(1);
+        bytes[length++] = (byte) b;
+    }
+
+    /**
+     * Texto ASCII fijo (nombres de campos del formato, true / false)
+     */
+    void writeAscii(String text) {
+        int n = text.length();
+        ensure(n);
+        for (int i = 0; i < n; i++) {
+            bytes[length++] = (byte) text.charAt(i);
+        }
+    }
+
+    void writeUtf8(CharSequence text, int start, int end) {
+        ensure((end - start) * 3);
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes[length++] = (byte) c;
+            } else {
+                i = writeUtf8Char(text, i, end, c);
+            }
+        }
+    }
+
+    /**
+     * Codifica un carácter no ASCII (o un par surrogate) y devuelve el último índice usado
+     */
+    private int writeUtf8Char(CharSequence text, int i, int end, char c) {
+        if (c < 0x800) {
+            bytes[length++] = (byte) (0xC0 | (c >> 6));
+            bytes[length++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+            int codePoint = Character.toCodePoint(c, text.charAt(i + 1));
+            ensure(1);
+            bytes[length++] = (byte) (0xF0 | (codePoint >> 18));
+            bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            bytes[length++] = (byte) (0x80 | (codePoint & 0x3F));
+            return i + 1;
+        } else if (Character.isSurrogate(c)) {
+            bytes[length++] = '?';
+        } else {
+            bytes[length++] = (byte) (0xE0 | (c >> 12));
+            bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            bytes[length++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return i;
+    }
+
+    /**
+     * Contenido de un string JSON (sin las comillas) con los caracteres de control escapados
+     */
+    void writeJsonEscaped(CharSequence text, int start, int end) {
+        ensure((end - start) * 3);
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\' && c < 0x80) {
+                bytes[length++] = (byte) c;
+            } else if (c >= 0x80) {
+                i = writeUtf8Char(text, i, end, c);
+            } else {
+                ensure(6);
+                bytes[length++] = '\\';
+                switch (c) {
+                    case '"' -> bytes[length++] = '"';
+                    case '\\' -> bytes[length++] = '\\';
+                    case '\n' -> bytes[length++] = 'n';
+                    case '\r' -> bytes[length++] = 'r';
+                    case '\t' -> bytes[length++] = 't';
+                    default -> {
+                        bytes[length++] = 'u';
+                        bytes[length++] = '0';
+                        bytes[length++] = '0';
+                        bytes[length++] = HEX[c >> 4];
+                        bytes[length++] = HEX[c & 0xF];
+                    }
+                }
+                ensure((end - i) * 3);
+            }
+        }
+    }
+
+    void writeJsonString(CharSequence text) {
+        writeByte('"');
+        writeJsonEscaped(text, 0, text.length());
+        writeByte('"');
+    }
+
+    /**
+     * Dígitos decimales de value sin pasar por Long.toString
+     */
+    void writeDecimal(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeAscii("-9223372036854775808");
+            return;
+        }
+        ensure(20);
+        if (value < 0) {
+            bytes[length++] = '-';
+            value = -value;
+        }
+        int start = length;
+        do {
+            bytes[length++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        for (int i = start, j = length - 1; i < j; i++, j--) {
+            byte tmp = bytes[i];
+            bytes[i] = bytes[j];
+            bytes[j] = tmp;
+        }
+    }
+
+    /**
+     * Representación más corta de value (como Double.toString); NaN e infinitos van como texto
+     */
+    void writeDecimal(double value) {
+        digits.setLength(0);
+        digits.append(value);
+        writeUtf8(digits, 0, digits.length());
+    }
+
+    /**
+     * Entero sin signo en base 128: 1 byte hasta 127, 2 hasta 16383
+     */
+    void writeVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    void writeLong(long value) {
+        ensure(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            bytes[length++] = (byte) (value >>> shift);
+        }
+    }
+
+    /**
+     * Reserva un byte para un largo que se conoce después de escribir el contenido (ver endSized)
+     */
+    int beginSized() {
+        ensure(1);
+        return length++;
+    }
+
+    /**
+     * Escribe en la posición reservada el varint (largo del contenido << 2) | tag, corriendo el
+     * contenido si el varint ocupa más de un byte
+     */
+    void endSized(int at, int tag) {
+        int size = length - at - 1;
+        long header = ((long) size << 2) | tag;
+        if (header < 0x80) {
+            bytes[at] = (byte) header;
+            return;
+        }
+        int prefix = 1;
+        for (long rest = header >>> 7; rest != 0; rest >>>= 7) {
+            prefix++;
+        }
+        ensure(prefix - 1);
+        System.arraycopy(bytes, at + 1, bytes, at + prefix, size);
+        length = at;
+        writeVarLong(header);
+        length = at + prefix + size;
+    }
+
+    /**
+     * Texto en UTF-8 precedido por el varint (largo en bytes << 2) | tag
+     */
+    void writeSizedUtf8(CharSequence text, int tag) {
+        int at = beginSized();
+        writeUtf8(text, 0, text.length());
+        endSized(at, tag);
+    }
+}
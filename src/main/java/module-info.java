@@ -1,3 +1,5 @@
 module com.bcp.testlogging {
     requires java.logging;
-} 
\ No newline at end of file
+    requires java.management;
+    requires jdk.management;
+}